@@ -0,0 +1,97 @@
+package com.market_map.market_map.benchmark;
+
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.service.StoreCatalogSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 상점 카탈로그
+ * 같은 상점 수에는 항상 같은 데이터가 만들어지도록 고정된 시드를 사용한다.
+ * 스프링 컨텍스트와 저장소 없이 카탈로그 캐시가 만드는 것과 같은 스냅샷을 합성 데이터로 직접 생성한다 (상점마다 대표 이미지 1개).
+ */
+public final class StoreCatalogFixture {
+
+    /**
+     * 지도 이미지 크기 (/assets/images/map.png)
+     */
+    public static final int MAP_WIDTH = 3000;
+
+    public static final int MAP_HEIGHT = 3679;
+
+    private static final String[] NAME_PREFIXES = {
+            "관문", "시장", "행복", "우리", "새벽", "싱싱", "할매", "대박", "원조", "청년", "365", "GM"
+    };
+
+    private static final String[] NAME_ITEMS = {
+            "식품", "정육점", "수산", "과일", "채소", "떡집", "반찬", "김밥", "분식", "건어물",
+            "방앗간", "옷가게", "신발", "그릇", "약국", "꽃집", "Cafe", "Mart"
+    };
+
+    private static final String[] DESCRIPTIONS = {
+            "매일 새벽 직접 들여오는 신선한 상품", "3대째 이어온 전통의 맛", "포장 및 택배 가능",
+            "카드 결제 가능, 주차 지원", "제철 식재료 전문", ""
+    };
+
+    private final List<Store> stores;
+
+    private final StoreCatalogSnapshot snapshot;
+
+    private StoreCatalogFixture(List<Store> stores) {
+        this.stores = stores;
+
+        Map<Long, Integer> imageCounts = new HashMap<>(stores.size() * 2);
+        Map<Long, String> mainImageUrls = new HashMap<>(stores.size() * 2);
+        for (Store store : stores) {
+            imageCounts.put(store.getStoreId(), 1);
+            mainImageUrls.put(store.getStoreId(), String.format("/uploads/cas/%02x/%02x/store-%d.jpg",
+                    store.getStoreId() & 0xFF, (store.getStoreId() >> 8) & 0xFF, store.getStoreId()));
+        }
+        this.snapshot = StoreCatalogSnapshot.of(1L, stores, imageCounts, mainImageUrls);
+    }
+
+    /**
+     * 합성 카탈로그 생성
+     * @param storeCount 상점 수
+     * @return 카탈로그
+     */
+    public static StoreCatalogFixture create(int storeCount) {
+        Random random = new Random(42);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Store> stores = new ArrayList<>(storeCount);
+
+        for (int i = 1; i <= storeCount; i++) {
+            int zone = 1 + random.nextInt(5);
+            String name = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]
+                    + NAME_ITEMS[random.nextInt(NAME_ITEMS.length)]
+                    + (random.nextInt(4) == 0 ? " " + i : "");
+
+            Store store = new Store(name, String.format("%d-%05d", zone, i), zone,
+                    random.nextInt(MAP_WIDTH - 20) + 10, random.nextInt(MAP_HEIGHT - 20) + 10);
+            store.setStoreId((long) i);
+            store.setPhoneNumber(String.format("02-%03d-%04d", 200 + random.nextInt(800), random.nextInt(10000)));
+            store.setAddress("관문상가시장 " + zone + "구역");
+            store.setDetailAddress(i + "호");
+            store.setBusinessHours("09:00-21:00");
+            store.setDescription(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]);
+            store.setMarkerRadius(8 + random.nextInt(8));
+            store.setCreatedAt(createdAt.plusMinutes(i));
+            store.setUpdatedAt(createdAt.plusMinutes(i));
+            stores.add(store);
+        }
+        return new StoreCatalogFixture(stores);
+    }
+
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    public StoreCatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,156 @@
+package com.market_map.market_map.benchmark;
+
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.service.StoreCatalogSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoreService 검색과 좌표 조회 비용
+ * StoreService의 조회 메서드는 현재 카탈로그 스냅샷의 인덱스에 그대로 위임하므로, 같은 인덱스를 스냅샷에서 직접 호출한다.
+ * 좌표 조회는 미리 만든 좌표 1024개를 돌아가며 사용해 같은 칸만 반복 조회하지 않도록 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreQueryBenchmark {
+
+    private static final int POINT_COUNT = 1024;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int storeCount;
+
+    private StoreCatalogSnapshot snapshot;
+
+    private final int[] xs = new int[POINT_COUNT];
+
+    private final int[] ys = new int[POINT_COUNT];
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = StoreCatalogFixture.create(storeCount).getSnapshot();
+
+        Random random = new Random(7);
+        for (int i = 0; i < POINT_COUNT; i++) {
+            xs[i] = random.nextInt(StoreCatalogFixture.MAP_WIDTH);
+            ys[i] = random.nextInt(StoreCatalogFixture.MAP_HEIGHT);
+        }
+    }
+
+    private int nextPoint() {
+        next = (next + 1) & (POINT_COUNT - 1);
+        return next;
+    }
+
+    /**
+     * 한 글자 검색 (결과가 많은 경우)
+     */
+    @Benchmark
+    public List<Store> searchSingleSyllable() {
+        return snapshot.getKeywordIndex().search("김");
+    }
+
+    /**
+     * 상점명 단어 검색
+     */
+    @Benchmark
+    public List<Store> searchWord() {
+        return snapshot.getKeywordIndex().search("정육점");
+    }
+
+    /**
+     * 일치하는 상점이 없는 검색
+     */
+    @Benchmark
+    public List<Store> searchNoMatch() {
+        return snapshot.getKeywordIndex().search("없는상점이름");
+    }
+
+    /**
+     * 상점명 검색
+     */
+    @Benchmark
+    public List<Store> searchByName() {
+        return snapshot.getKeywordIndex().searchByName("행복");
+    }
+
+    /**
+     * 전화번호 검색 (숫자만 비교)
+     */
+    @Benchmark
+    public List<Store> searchByPhone() {
+        return snapshot.getKeywordIndex().searchByPhone("1234");
+    }
+
+    /**
+     * 초성 자동완성
+     */
+    @Benchmark
+    public List<Store> suggestChoseong() {
+        return snapshot.getTypeaheadIndex().suggest("ㅅㅅ", 10);
+    }
+
+    /**
+     * 상점 코드 조회
+     */
+    @Benchmark
+    public Optional<Store> storeByCode() {
+        return snapshot.getStoreByCode("3-00042");
+    }
+
+    /**
+     * 가장 가까운 상점
+     */
+    @Benchmark
+    public Optional<Store> nearestStore() {
+        int i = nextPoint();
+        return snapshot.getSpatialIndex().findNearest(xs[i], ys[i]);
+    }
+
+    /**
+     * 가까운 상점 10개
+     */
+    @Benchmark
+    public List<Store> nearestStores() {
+        int i = nextPoint();
+        return snapshot.getSpatialIndex().findNearest(xs[i], ys[i], 10);
+    }
+
+    /**
+     * 반경 100 범위 상점
+     */
+    @Benchmark
+    public List<Store> storesWithinRadius() {
+        int i = nextPoint();
+        return snapshot.getSpatialIndex().findWithinBox(xs[i], ys[i], 100);
+    }
+
+    /**
+     * 마커 클릭 판정
+     */
+    @Benchmark
+    public Optional<Store> storeAt() {
+        int i = nextPoint();
+        return snapshot.getSpatialIndex().hitTest(xs[i], ys[i], 12);
+    }
+}
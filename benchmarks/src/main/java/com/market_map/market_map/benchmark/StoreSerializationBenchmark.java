@@ -0,0 +1,119 @@
+package com.market_map.market_map.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.service.StoreCatalogSnapshot;
+import com.market_map.market_map.util.PreparedPayload;
+import com.market_map.market_map.util.StoreJsonWriter;
+import com.market_map.market_map.util.StoreListPayloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상점 목록 응답 직렬화 비용
+ * 상점 목록은 컨트롤러와 같은 StoreListPayloads를 호출한다 (카탈로그 버전별 캐시는 거치지 않음).
+ * gsonToJson은 스트리밍 직렬화기(StoreJsonWriter) 도입 전 방식과의 비교 기준이며, StoreController와 같은 설정의 Gson을 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreSerializationBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int storeCount;
+
+    private StoreCatalogSnapshot snapshot;
+
+    private List<Store> stores;
+
+    private final Gson gson = new GsonBuilder()
+            .setDateFormat("yyyy-MM-dd HH:mm:ss")
+            .registerTypeAdapter(LocalDateTime.class, (JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) ->
+                    new JsonPrimitive(src.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
+            .create();
+
+    // 응답 스트림 대신 바이트를 버리는 출력 (직렬화 비용만 측정)
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = StoreCatalogFixture.create(storeCount).getSnapshot();
+        stores = snapshot.getStores();
+    }
+
+    /**
+     * 상점 목록 응답 본문 생성 - 직렬화, gzip 압축, ETag 계산 (/api/stores/list, 캐시 미스 시)
+     */
+    @Benchmark
+    public PreparedPayload storeList() {
+        return StoreListPayloads.build(stores, null, false);
+    }
+
+    /**
+     * 대표 이미지 URL을 포함한 상점 목록 응답 본문 생성 (/api/stores/list?includeMainImage=true, 캐시 미스 시)
+     */
+    @Benchmark
+    public PreparedPayload storeListWithMainImage() {
+        return StoreListPayloads.build(stores, snapshot.getMainImageUrls(), false);
+    }
+
+    /**
+     * 바이너리 상점 목록 응답 본문 생성 (Accept: application/vnd.market-map.store-list, 캐시 미스 시)
+     */
+    @Benchmark
+    public PreparedPayload storeListBinary() {
+        return StoreListPayloads.build(stores, null, true);
+    }
+
+    /**
+     * 스트리밍 직렬화기로 상점 요약 목록을 출력 스트림에 직접 쓰기 (검색/위치 응답)
+     */
+    @Benchmark
+    public void streamingWriter() throws IOException {
+        try (StoreJsonWriter writer = StoreJsonWriter.open(discard)) {
+            writer.writeStoreSummaries(stores);
+        }
+    }
+
+    /**
+     * Gson으로 List&lt;Store&gt; 직접 직렬화 (StoreJsonWriter 도입 전 검색 응답 등)
+     */
+    @Benchmark
+    public String gsonToJson() {
+        return gson.toJson(stores);
+    }
+
+    /**
+     * 키워드 검색 응답 전체 (검색 + 응답 스트림으로 결과 직렬화, 검색 로그 기록 제외)
+     */
+    @Benchmark
+    public void searchResponse() throws IOException {
+        List<Store> result = snapshot.getKeywordIndex().search("식품");
+        try (StoreJsonWriter writer = StoreJsonWriter.open(discard)) {
+            writer.writeStoreSummaries(result);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.market_map.market_map.benchmark;
+
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.service.StoreService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StoreService.validateStore 비용 (상점 생성/수정 시 호출, 실패하면 예외 발생)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateStoreBenchmark {
+
+    private StoreService storeService;
+
+    private Store validStore;
+
+    private Store invalidStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        storeService = new StoreService();
+
+        validStore = new Store("관문식품", "1-00001", 1, 1200, 900);
+        invalidStore = new Store("관문식품", "1-00002", 9, 1200, 900);
+    }
+
+    /**
+     * 모든 검사를 통과하는 상점
+     */
+    @Benchmark
+    public void valid() {
+        storeService.validateStore(validStore);
+    }
+
+    /**
+     * 구역 번호 오류로 예외가 발생하는 상점
+     */
+    @Benchmark
+    public Object invalid() {
+        try {
+            storeService.validateStore(invalidStore);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
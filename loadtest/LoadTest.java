@@ -0,0 +1,398 @@
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지도 방문자/관리자 부하 테스트 (닫힌 루프: 동시 사용자 수만큼 요청을 계속 보냄)
+ * 요청 구성은 트래픽 구성 파일(기본값: loadtest/traffic-mix.txt)의 가중치에 따라 무작위로 고른다.
+ *
+ * 플랫폼 스레드와 가상 스레드 비교 방법:
+ *   loadtest/run.sh 가 내장 DB(loadtest 프로필)로 서버를 두 번 띄워 아래 명령을 각각 실행한다.
+ *   java loadtest/LoadTest.java --label platform --concurrency 1000 --duration 60
+ *   java loadtest/LoadTest.java --label virtual --concurrency 1000 --duration 60
+ *
+ * 옵션: --url 서버 주소, --concurrency 동시 사용자 수, --duration 측정 시간(초),
+ *       --warmup 준비 시간(초, 측정에서 제외), --mix 트래픽 구성 파일, --label 결과 이름,
+ *       --stores 상점 수(상점 ID 범위), --admin-user/--admin-password 관리자 계정 (/api/admin 요청용)
+ */
+public class LoadTest {
+
+    private static final int MAP_WIDTH = 3000;
+
+    private static final int MAP_HEIGHT = 3679;
+
+    // LoadTestDataSeeder의 상점명 조각
+    private static final String[] KEYWORDS = {
+            "관문", "시장", "행복", "우리", "새벽", "싱싱", "할매", "대박", "원조", "청년", "365", "GM",
+            "식품", "정육점", "수산", "과일", "채소", "떡집", "반찬", "김밥", "분식", "건어물",
+            "방앗간", "옷가게", "신발", "그릇", "약국", "꽃집", "Cafe", "Mart", "ㅅㅍ", "ㄱㅂ"
+    };
+
+    // 응답 시간 히스토그램 구간 상한 (ms)
+    private static final long[] HISTOGRAM_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int storeCount = Integer.parseInt(options.getOrDefault("stores", "5000"));
+        String label = options.getOrDefault("label", "run");
+        List<Endpoint> mix = readMix(Path.of(options.getOrDefault("mix", "loadtest/traffic-mix.txt")));
+
+        // 클라이언트 쪽 스레드가 병목이 되지 않도록 사용자마다 가상 스레드 하나
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .cookieHandler(new CookieManager())
+                .executor(workers)
+                .build();
+
+        if (mix.stream().anyMatch(Endpoint::isAdmin)) {
+            login(client, baseUrl, options.getOrDefault("admin-user", "loadtest"),
+                    options.getOrDefault("admin-password", "loadtest"));
+        }
+        Traffic traffic = new Traffic(baseUrl, mix, storeCount, sampleJpeg());
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + Duration.ofSeconds(warmupSeconds).toNanos();
+        long stopAt = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        System.out.printf("[%s] %s, 동시 사용자 %d명, 준비 %d초 + 측정 %d초, 요청 종류 %d개%n",
+                label, baseUrl, concurrency, warmupSeconds, durationSeconds, mix.size());
+
+        List<Future<Recorder[]>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(workers.submit(() -> runUser(client, traffic, measureFrom, stopAt)));
+        }
+
+        Recorder[] totals = new Recorder[mix.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = new Recorder();
+        }
+        for (Future<Recorder[]> result : results) {
+            Recorder[] user = result.get();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i].addAll(user[i]);
+            }
+        }
+        workers.close();
+
+        Recorder overall = new Recorder();
+        System.out.printf("%n[%s] %-48s %9s %7s %9s %8s %8s %8s %8s%n", label, "요청", "건수", "오류", "req/s",
+                "p50", "p90", "p99", "최대");
+        for (int i = 0; i < totals.length; i++) {
+            printRow(label, mix.get(i).toString(), totals[i], durationSeconds);
+            overall.addAll(totals[i]);
+        }
+        printRow(label, "전체", overall, durationSeconds);
+        printHistogram(label, overall);
+    }
+
+    /**
+     * 한 사용자의 요청 반복
+     * @return 요청 종류별 측정 구간 기록
+     */
+    private static Recorder[] runUser(HttpClient client, Traffic traffic, long measureFrom, long stopAt) {
+        Recorder[] recorders = new Recorder[traffic.mix.size()];
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new Recorder();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= stopAt) {
+                break;
+            }
+            int index = traffic.pick(random);
+            HttpRequest request = traffic.request(index, random);
+
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                // 상점이 없는 좌표의 404 등은 정상 응답으로 봄
+                int status = response.statusCode();
+                ok = status < 500 && status != 401 && status != 403;
+            } catch (Exception e) {
+                ok = false;
+            }
+
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received <= stopAt) {
+                recorders[index].record(received - sent, ok);
+            }
+        }
+        return recorders;
+    }
+
+    /**
+     * 관리자 로그인 (세션 쿠키는 클라이언트의 CookieManager에 저장)
+     */
+    private static void login(HttpClient client, String baseUrl, String username, String password) throws Exception {
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() >= 400 || location.contains("error")) {
+            throw new IllegalStateException("관리자 로그인 실패: " + response.statusCode() + " " + location);
+        }
+    }
+
+    private static void printRow(String label, String name, Recorder recorder, int durationSeconds) {
+        long[] sorted = recorder.sorted();
+        System.out.printf("[%s] %-48s %9d %7d %9.1f %8.1f %8.1f %8.1f %8.1f%n", label, name,
+                sorted.length, recorder.errors, sorted.length / (double) durationSeconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static void printHistogram(String label, Recorder recorder) {
+        long[] sorted = recorder.sorted();
+        if (sorted.length == 0) {
+            return;
+        }
+        System.out.printf("%n[%s] 응답 시간 분포 (성공 %d건)%n", label, sorted.length);
+        int from = 0;
+        for (int i = 0; i <= HISTOGRAM_BOUNDS_MS.length; i++) {
+            int to = i < HISTOGRAM_BOUNDS_MS.length
+                    ? upperIndex(sorted, HISTOGRAM_BOUNDS_MS[i] * 1_000_000L)
+                    : sorted.length;
+            double share = (to - from) * 100.0 / sorted.length;
+            String range = i == 0 ? "< " + HISTOGRAM_BOUNDS_MS[0] + "ms"
+                    : i < HISTOGRAM_BOUNDS_MS.length ? HISTOGRAM_BOUNDS_MS[i - 1] + "-" + HISTOGRAM_BOUNDS_MS[i] + "ms"
+                    : ">= " + HISTOGRAM_BOUNDS_MS[HISTOGRAM_BOUNDS_MS.length - 1] + "ms";
+            System.out.printf("[%s] %14s %9d %6.2f%% %s%n", label, range, to - from, share,
+                    "#".repeat((int) Math.round(share / 2)));
+            from = to;
+        }
+    }
+
+    // 정렬된 배열에서 bound 미만인 값의 개수
+    private static int upperIndex(long[] sorted, long bound) {
+        int index = Arrays.binarySearch(sorted, bound);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == bound) {
+            index--;
+        }
+        return index;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * 트래픽 구성 파일 읽기 (한 줄: 가중치 메서드 경로, #은 주석)
+     */
+    private static List<Endpoint> readMix(Path file) throws IOException {
+        List<Endpoint> mix = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] fields = trimmed.split("\\s+");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("트래픽 구성 형식 오류: " + line);
+            }
+            mix.add(new Endpoint(Integer.parseInt(fields[0]), fields[1].toUpperCase(), fields[2]));
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("트래픽 구성이 비어 있습니다: " + file);
+        }
+        return mix;
+    }
+
+    /**
+     * 업로드용 작은 JPEG (요청마다 끝에 임의 바이트를 붙여 내용 주소 저장소에서 새 파일이 되게 함)
+     */
+    private static byte[] sampleJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 255 / image.getWidth()) << 16 | (y * 255 / image.getHeight()) << 8 | 0x80);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * 트래픽 구성 항목
+     * 경로 템플릿: {storeId} {x} {y} {keyword} {prefix} {page}
+     */
+    private static final class Endpoint {
+
+        private final int weight;
+
+        private final String method;
+
+        private final String path;
+
+        private Endpoint(int weight, String method, String path) {
+            this.weight = weight;
+            this.method = method;
+            this.path = path;
+        }
+
+        private boolean isAdmin() {
+            return path.startsWith("/api/admin/");
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    /**
+     * 가중치에 따른 요청 선택과 요청 생성
+     */
+    private static final class Traffic {
+
+        private final String baseUrl;
+
+        private final List<Endpoint> mix;
+
+        private final int[] cumulativeWeights;
+
+        private final int storeCount;
+
+        private final byte[] image;
+
+        private Traffic(String baseUrl, List<Endpoint> mix, int storeCount, byte[] image) {
+            this.baseUrl = baseUrl;
+            this.mix = mix;
+            this.storeCount = Math.max(1, storeCount);
+            this.image = image;
+            this.cumulativeWeights = new int[mix.size()];
+            int total = 0;
+            for (int i = 0; i < mix.size(); i++) {
+                total += mix.get(i).weight;
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        private int pick(ThreadLocalRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return i;
+                }
+            }
+            return cumulativeWeights.length - 1;
+        }
+
+        private HttpRequest request(int index, ThreadLocalRandom random) {
+            Endpoint endpoint = mix.get(index);
+            String keyword = KEYWORDS[random.nextInt(KEYWORDS.length)];
+            String path = endpoint.path
+                    .replace("{storeId}", String.valueOf(1 + random.nextInt(storeCount)))
+                    .replace("{x}", String.valueOf(random.nextInt(MAP_WIDTH)))
+                    .replace("{y}", String.valueOf(random.nextInt(MAP_HEIGHT)))
+                    .replace("{keyword}", URLEncoder.encode(keyword, StandardCharsets.UTF_8))
+                    .replace("{prefix}", URLEncoder.encode(keyword.substring(0, Math.min(2, keyword.length())), StandardCharsets.UTF_8))
+                    .replace("{page}", String.valueOf(random.nextInt(Math.max(1, storeCount / 20))));
+
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept-Encoding", "gzip");
+            if (endpoint.method.equals("GET")) {
+                return builder.GET().build();
+            }
+
+            // 쓰기 요청은 이미지 업로드 본문 전송
+            byte[] body = Arrays.copyOf(image, image.length + 8);
+            for (int i = image.length; i < body.length; i++) {
+                body[i] = (byte) random.nextInt(256);
+            }
+            return builder.header("Content-Type", "image/jpeg")
+                    .method(endpoint.method, HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        }
+    }
+
+    /**
+     * 요청 종류별 응답 시간 기록 (사용자 스레드마다 따로 두고 마지막에 합침)
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[256];
+
+        private int count;
+
+        private long errors;
+
+        private void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        private void addAll(Recorder other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        private long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# 내장 DB(loadtest 프로필)로 서버를 띄워 플랫폼 스레드/가상 스레드 모드를 차례로 측정한다.
+# 의존성이 로컬 Maven 저장소에 있으면 네트워크 없이 실행된다.
+#
+# 사용법: loadtest/run.sh [모드...]   (기본값: platform virtual)
+# 환경 변수: STORES(상점 수), CONCURRENCY(동시 사용자 수), DURATION(측정 초), WARMUP(준비 초),
+#            PORT(서버 포트), MIX(트래픽 구성 파일), SKIP_BUILD=1(빌드 생략)
+# 결과: target/loadtest/result-<모드>.txt, 서버 로그: target/loadtest/server-<모드>.out
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+STORES=${STORES:-5000}
+CONCURRENCY=${CONCURRENCY:-500}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+PORT=${PORT:-18080}
+MIX=${MIX:-loadtest/traffic-mix.txt}
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(platform virtual)
+fi
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+    ./mvnw -B -o -q -Ploadtest -DskipTests package
+fi
+WAR=$(ls target/market-map-*.war | head -n 1)
+# 실행 결과와 서버 로그는 빌드 산출물과 함께 target/loadtest에 남긴다 (저장소에 커밋하지 않음)
+OUT=target/loadtest
+mkdir -p "$OUT"
+
+# 압축을 푼 WAR로 실행해야 웹 루트(servletContext.getRealPath)가 생겨 업로드 이미지를 저장/제공할 수 있다
+WEBAPP=target/loadtest-webapp
+rm -rf "$WEBAPP"
+mkdir -p "$WEBAPP"
+(cd "$WEBAPP" && jar xf "../$(basename "$WAR")")
+
+for mode in "${MODES[@]}"; do
+    case "$mode" in
+        platform) virtual=false ;;
+        virtual) virtual=true ;;
+        *) echo "알 수 없는 모드: $mode (platform 또는 virtual)" >&2; exit 1 ;;
+    esac
+
+    echo "=== $mode: 서버 시작 (상점 ${STORES}개) ==="
+    java -cp "$WEBAPP" org.springframework.boot.loader.launch.WarLauncher \
+        --spring.profiles.active=loadtest \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --app.loadtest.stores="$STORES" \
+        > "$OUT/server-$mode.out" 2>&1 &
+    server=$!
+    trap 'kill $server 2>/dev/null || true' EXIT
+
+    # 테스트 데이터 적재(ApplicationRunner)가 끝나야 readiness가 UP이 된다
+    for _ in $(seq 1 300); do
+        if curl -fs -o /dev/null "http://localhost:$PORT/actuator/health/readiness"; then
+            break
+        fi
+        if ! kill -0 "$server" 2>/dev/null; then
+            echo "서버가 종료되었습니다. $OUT/server-$mode.out 참고" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    java loadtest/LoadTest.java \
+        --url "http://localhost:$PORT" \
+        --label "$mode" \
+        --stores "$STORES" \
+        --concurrency "$CONCURRENCY" \
+        --duration "$DURATION" \
+        --warmup "$WARMUP" \
+        --mix "$MIX" | tee "$OUT/result-$mode.txt"
+
+    kill "$server"
+    wait "$server" 2>/dev/null || true
+    trap - EXIT
+done
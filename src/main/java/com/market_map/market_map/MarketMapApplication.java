@@ -2,8 +2,10 @@ package com.market_map.market_map;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MarketMapApplication {
 
 	public static void main(String[] args) {
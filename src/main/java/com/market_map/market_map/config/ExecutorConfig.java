@@ -0,0 +1,23 @@
+package com.market_map.market_map.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 작업 실행기 설정
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    /**
+     * 이미지 저장용 실행기 (작업마다 가상 스레드 하나, 디스크 I/O 대기 중에는 캐리어 스레드를 점유하지 않음)
+     * @return 실행기
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService imageTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -0,0 +1,240 @@
+package com.market_map.market_map.config;
+
+import com.market_map.market_map.service.ImageStorageService;
+import com.market_map.market_map.service.SearchLogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 데이터 적재 (loadtest 프로필 전용)
+ * 내장 DB에 지도, 관리자 계정, 상점, 상점 이미지, 검색 로그와 일 단위 검색어 집계를 만든다.
+ * 같은 설정이면 항상 같은 데이터가 만들어지도록 고정된 시드를 사용한다.
+ * 카탈로그 캐시와 검색어 통계가 적재되기 전(ApplicationReadyEvent 이전)에 실행된다.
+ * 빈 DB에 ID 없이 넣으므로 지도/관리자는 1번, 상점은 1번부터 순서대로 번호가 매겨진다.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int MAP_WIDTH = 3000;
+
+    private static final int MAP_HEIGHT = 3679;
+
+    private static final String[] NAME_PREFIXES = {
+            "관문", "시장", "행복", "우리", "새벽", "싱싱", "할매", "대박", "원조", "청년", "365", "GM"
+    };
+
+    private static final String[] NAME_ITEMS = {
+            "식품", "정육점", "수산", "과일", "채소", "떡집", "반찬", "김밥", "분식", "건어물",
+            "방앗간", "옷가게", "신발", "그릇", "약국", "꽃집", "Cafe", "Mart"
+    };
+
+    private static final String[] DESCRIPTIONS = {
+            "매일 새벽 직접 들여오는 신선한 상품", "3대째 이어온 전통의 맛", "포장 및 택배 가능",
+            "카드 결제 가능, 주차 지원", "제철 식재료 전문", ""
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Value("${app.loadtest.stores:5000}")
+    private int storeCount;
+
+    @Value("${app.loadtest.images-per-store:3}")
+    private int imagesPerStore;
+
+    @Value("${app.loadtest.search-logs:100000}")
+    private int searchLogCount;
+
+    @Value("${app.loadtest.search-log-days:30}")
+    private int searchLogDays;
+
+    @Value("${app.loadtest.admin-username:loadtest}")
+    private String adminUsername;
+
+    @Value("${app.loadtest.admin-password:loadtest}")
+    private String adminPassword;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long started = System.currentTimeMillis();
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        jdbcTemplate.update("INSERT INTO market_maps (map_name, map_image_url, map_width, map_height, is_active, created_at) "
+                + "VALUES ('관문상가시장 안내도', '/assets/images/map.png', ?, ?, TRUE, ?)",
+                MAP_WIDTH, MAP_HEIGHT, Timestamp.valueOf(now));
+
+        // SecurityConfig는 평문 비밀번호를 비교
+        jdbcTemplate.update("INSERT INTO admin (username, password, email, name, created_at, updated_at) "
+                + "VALUES (?, ?, 'loadtest@market-map.com', '부하테스트', ?, ?)",
+                adminUsername, adminPassword, Timestamp.valueOf(now), Timestamp.valueOf(now));
+
+        List<String> storeNames = seedStores(random, now);
+        int imageCount = seedImages(now);
+        seedSearchLogs(random, storeNames, now);
+
+        logger.info("부하 테스트 데이터 적재 완료 - 상점 {}개, 이미지 {}개, 검색 로그 {}건 ({}ms)",
+                storeCount, imageCount, searchLogCount, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 상점 적재
+     * @return 상점명 목록 (검색 로그 키워드용)
+     */
+    private List<String> seedStores(Random random, LocalDateTime now) {
+        List<String> names = new ArrayList<>(storeCount);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= storeCount; i++) {
+            int zone = 1 + random.nextInt(5);
+            String name = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)]
+                    + NAME_ITEMS[random.nextInt(NAME_ITEMS.length)]
+                    + (random.nextInt(4) == 0 ? " " + i : "");
+            names.add(name);
+
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(storeCount - i));
+            batch.add(new Object[] {
+                    name, String.format("%d-%05d", zone, i), zone,
+                    String.format("02-%03d-%04d", 200 + random.nextInt(800), random.nextInt(10000)),
+                    "관문상가시장 " + zone + "구역", i + "호",
+                    random.nextInt(MAP_WIDTH - 20) + 10, random.nextInt(MAP_HEIGHT - 20) + 10, 8 + random.nextInt(8),
+                    "09:00-21:00", DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)], createdAt, createdAt
+            });
+            if (batch.size() == BATCH_SIZE || i == storeCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO stores (store_name, store_code, zone_number, phone_number, "
+                        + "address, detail_address, map_id, x_coordinate, y_coordinate, marker_radius, business_hours, "
+                        + "description, is_active, created_by, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 1, ?, ?, ?, ?, ?, TRUE, 1, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return names;
+    }
+
+    /**
+     * 상점 이미지 적재 (모든 행이 내용 주소 저장소의 같은 JPEG 하나를 가리킴)
+     * @return 이미지 수
+     */
+    private int seedImages(LocalDateTime now) throws IOException {
+        if (imagesPerStore <= 0) {
+            return 0;
+        }
+        String imageUrl = imageStorageService.store(new ByteArrayInputStream(sampleJpeg()));
+        Timestamp uploadedAt = Timestamp.valueOf(now);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int count = 0;
+        for (long storeId = 1; storeId <= storeCount; storeId++) {
+            for (int order = 0; order < imagesPerStore; order++) {
+                batch.add(new Object[] {storeId, imageUrl, imageUrl, imageUrl, imageUrl,
+                        order == 0 ? "MAIN" : "SUB", order, uploadedAt});
+                count++;
+                if (batch.size() == BATCH_SIZE) {
+                    insertImages(batch);
+                }
+            }
+        }
+        insertImages(batch);
+        return count;
+    }
+
+    private void insertImages(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO store_images (store_id, image_url, thumbnail_url, popup_url, full_url, "
+                + "image_type, display_order, is_active, uploaded_at) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, ?)", batch);
+        batch.clear();
+    }
+
+    /**
+     * 검색 로그와 일 단위 검색어 집계 적재 (앞쪽 상점명일수록 자주 검색되도록 치우친 분포)
+     */
+    private void seedSearchLogs(Random random, List<String> storeNames, LocalDateTime now) {
+        if (searchLogCount <= 0 || storeNames.isEmpty()) {
+            return;
+        }
+        Map<String, Long> dailyCounts = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < searchLogCount; i++) {
+            int rank = (int) Math.min(storeNames.size() - 1, Math.floor(Math.pow(random.nextDouble(), 3) * storeNames.size()));
+            String name = storeNames.get(rank);
+            String keyword = name.length() > 2 && random.nextBoolean() ? name.substring(0, 2) : name;
+            LocalDateTime searchedAt = now.minusSeconds(random.nextInt(searchLogDays * 24 * 3600));
+
+            batch.add(new Object[] {keyword, SearchLogService.TYPE_KEYWORD, 1 + random.nextInt(20), Timestamp.valueOf(searchedAt)});
+            dailyCounts.merge(searchedAt.toLocalDate() + "\t" + keyword, 1L, Long::sum);
+            if (batch.size() == BATCH_SIZE) {
+                insertSearchLogs(batch);
+            }
+        }
+        insertSearchLogs(batch);
+
+        List<Object[]> rollups = new ArrayList<>(dailyCounts.size());
+        dailyCounts.forEach((key, count) -> {
+            String[] parts = key.split("\t", 2);
+            rollups.add(new Object[] {Timestamp.valueOf(LocalDate.parse(parts[0]).atStartOfDay()),
+                    SearchLogService.TYPE_KEYWORD, parts[1], count});
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO search_keyword_rollups (granularity, bucket_start, search_type, "
+                + "search_keyword, search_count) VALUES ('DAY', ?, ?, ?, ?)", rollups);
+    }
+
+    private void insertSearchLogs(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO search_logs (search_keyword, search_type, result_count, searched_at) "
+                + "VALUES (?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    /**
+     * 상점 사진 대신 쓸 720x480 JPEG 생성
+     */
+    private static byte[] sampleJpeg() throws IOException {
+        BufferedImage image = new BufferedImage(720, 480, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int y = 0; y < image.getHeight(); y += 16) {
+                graphics.setColor(new Color(60 + y / 4, 120, 200 - y / 4));
+                graphics.fillRect(0, y, image.getWidth(), 16);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.market_map.market_map.config;
+
+import com.market_map.market_map.service.SearchLogService;
+import com.market_map.market_map.service.StaticFileService;
+import com.market_map.market_map.service.StoreCatalogCache;
+import com.market_map.market_map.service.StoreCatalogSnapshot;
+import com.market_map.market_map.service.StoreEventBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 애플리케이션 지표 설정
+ * 요청/저장소/커넥션 풀 지표는 Actuator가 자동으로 수집하고, 여기서는 메모리 캐시와 큐 상태를 등록한다.
+ * 시간 측정이 필요한 작업(업로드, 파생 이미지, 로그 저장)은 각 서비스에서 직접 기록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 상점 카탈로그 지표 (스냅샷 크기/버전, 응답 캐시 재사용률)
+     * @param storeCatalogCache 카탈로그 캐시
+     * @return 지표 등록기
+     */
+    @Bean
+    public MeterBinder storeCatalogMetrics(StoreCatalogCache storeCatalogCache) {
+        return registry -> {
+            Gauge.builder("market_map.catalog.stores", storeCatalogCache,
+                            cache -> cache.peekSnapshot().map(StoreCatalogSnapshot::size).orElse(0))
+                    .description("카탈로그 스냅샷의 활성 상점 수")
+                    .register(registry);
+            Gauge.builder("market_map.catalog.version", storeCatalogCache,
+                            cache -> cache.peekSnapshot().map(StoreCatalogSnapshot::getVersion).orElse(0L))
+                    .description("카탈로그 스냅샷 버전")
+                    .register(registry);
+            FunctionCounter.builder("market_map.catalog.derived", storeCatalogCache, StoreCatalogCache::getDerivedHitCount)
+                    .description("버전별 응답 캐시 조회 수")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("market_map.catalog.derived", storeCatalogCache, StoreCatalogCache::getDerivedMissCount)
+                    .description("버전별 응답 캐시 조회 수")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 정적 파일 지표 (열린 파일 캐시 재사용률)
+     * @param staticFileService 정적 파일 서비스
+     * @return 지표 등록기
+     */
+    @Bean
+    public MeterBinder staticFileMetrics(StaticFileService staticFileService) {
+        return registry -> {
+            Gauge.builder("market_map.static_files.handles", staticFileService, StaticFileService::getCachedHandleCount)
+                    .description("캐시된 파일 채널 수")
+                    .register(registry);
+            FunctionCounter.builder("market_map.static_files.opens", staticFileService, StaticFileService::getHandleHitCount)
+                    .description("파일 열기 요청 수")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("market_map.static_files.opens", staticFileService, StaticFileService::getHandleMissCount)
+                    .description("파일 열기 요청 수")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 상점 변경 알림 지표 (연결된 구독자 수, 전송이 밀려 끊은 구독자 수)
+     * @param storeEventBroadcaster 상점 변경 알림 서비스
+     * @return 지표 등록기
+     */
+    @Bean
+    public MeterBinder storeEventMetrics(StoreEventBroadcaster storeEventBroadcaster) {
+        return registry -> {
+            Gauge.builder("market_map.store_events.subscribers", storeEventBroadcaster, StoreEventBroadcaster::getSubscriberCount)
+                    .description("연결된 상점 변경 알림 구독자 수")
+                    .register(registry);
+            FunctionCounter.builder("market_map.store_events.dropped", storeEventBroadcaster, StoreEventBroadcaster::getDroppedCount)
+                    .description("전송이 밀려 연결을 끊은 구독자 수")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 검색 로그 지표 (저장 대기 중인 로그 수)
+     * @param searchLogService 검색 로그 서비스
+     * @return 지표 등록기
+     */
+    @Bean
+    public MeterBinder searchLogMetrics(SearchLogService searchLogService) {
+        return registry -> Gauge.builder("market_map.search_log.pending", searchLogService, SearchLogService::getPendingCount)
+                .description("저장 대기 중인 검색 로그 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.market_map.market_map.config;
+
+import com.market_map.market_map.util.StoreJsonWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StoreJsonWriter.Content 응답 변환기
+ * 컨트롤러가 돌려준 내용을 문자열로 만들지 않고 응답 출력 스트림에 바로 직렬화한다 (쓰기 전용).
+ */
+public class StoreJsonHttpMessageConverter extends AbstractHttpMessageConverter<StoreJsonWriter.Content> {
+
+    public StoreJsonHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StoreJsonWriter.Content.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StoreJsonWriter.Content readInternal(Class<? extends StoreJsonWriter.Content> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("상점 JSON 변환기는 요청 본문을 읽지 않습니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StoreJsonWriter.Content content, HttpOutputMessage outputMessage) throws IOException {
+        try (StoreJsonWriter writer = StoreJsonWriter.open(outputMessage.getBody())) {
+            content.writeTo(writer);
+        }
+    }
+}
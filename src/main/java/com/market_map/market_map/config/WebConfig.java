@@ -1,10 +1,12 @@
 package com.market_map.market_map.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * Web MVC 설정
@@ -19,10 +21,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:src/main/webapp/assets/")
                 .setCachePeriod(3600);
         
-        // uploads 폴더 정적 리소스 핸들러
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:src/main/webapp/uploads/")
-                .setCachePeriod(0); // 캐시 비활성화
+        // /uploads/**, /assets/images/**는 StaticFileController에서 전송 (sendfile, Range, 압축 파일 지원)
         
         // static 폴더 정적 리소스 핸들러 (기본)
         registry.addResourceHandler("/static/**")
@@ -34,4 +33,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/public/")
                 .setCachePeriod(3600);
     }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 상점/이미지 JSON은 응답 스트림에 바로 직렬화 (StoreJsonWriter)
+        converters.add(0, new StoreJsonHttpMessageConverter());
+    }
 }
@@ -3,10 +3,18 @@ package com.market_map.market_map.controller;
 import com.market_map.market_map.entity.Store;
 import com.market_map.market_map.entity.StoreImage;
 import com.market_map.market_map.service.AdminService;
+import com.market_map.market_map.service.ImageDerivativeService;
+import com.market_map.market_map.service.ImageStorageService;
+import com.market_map.market_map.service.SearchStatisticsService;
 import com.market_map.market_map.service.StoreService;
+import com.market_map.market_map.util.SpaceSavingSketch;
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.Expose;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,14 +29,14 @@ import java.time.format.DateTimeFormatter;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * 관리자 관련 컨트롤러
@@ -45,10 +53,36 @@ public class AdminController {
     @Autowired
     private StoreService storeService;
     
+    @Autowired
+    private SearchStatisticsService searchStatisticsService;
+    
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+    
+    @Autowired
+    private ImageStorageService imageStorageService;
+    
+    @Autowired
+    @Qualifier("imageTaskExecutor")
+    private ExecutorService imageTaskExecutor;
+    
     private final Gson gson = new GsonBuilder()
             .setDateFormat("yyyy-MM-dd HH:mm:ss")
             .registerTypeAdapter(LocalDateTime.class, (com.google.gson.JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) -> 
                 new com.google.gson.JsonPrimitive(src.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
+            // @Expose(serialize = false) 필드 제외 (지연 로딩 연관 엔티티는 Hibernate 프록시라 직렬화할 수 없음)
+            .addSerializationExclusionStrategy(new ExclusionStrategy() {
+                @Override
+                public boolean shouldSkipField(FieldAttributes f) {
+                    Expose expose = f.getAnnotation(Expose.class);
+                    return expose != null && !expose.serialize();
+                }
+                
+                @Override
+                public boolean shouldSkipClass(Class<?> clazz) {
+                    return false;
+                }
+            })
             .create();
     
     /**
@@ -268,17 +302,7 @@ public class AdminController {
             // 이미지 업로드 처리
             if (images != null && images.length > 0) {
                 logger.info("이미지 업로드 처리 시작: {}개", images.length);
-                for (int i = 0; i < images.length; i++) {
-                    MultipartFile image = images[i];
-                    if (!image.isEmpty()) {
-                        String imageUrl = uploadImage(image, createdStore.getStoreId(), request);
-                        if (imageUrl != null) {
-                            StoreImage.ImageType imageType = (i == 0) ? 
-                                StoreImage.ImageType.MAIN : StoreImage.ImageType.SUB;
-                            storeService.addStoreImage(createdStore.getStoreId(), imageUrl, imageType);
-                        }
-                    }
-                }
+                saveStoreImages(createdStore.getStoreId(), images);
             }
             
             logger.info("=== Store 생성 완료 ===");
@@ -367,7 +391,7 @@ public class AdminController {
             logger.info("세션 확인 성공 - 사용자: {}", auth.getName());
             
             // 기존 Store 조회
-            Store existingStore = storeService.getStoreById(storeId)
+            Store existingStore = storeService.getStoreForUpdate(storeId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상점입니다."));
             
             // Store 객체 업데이트
@@ -391,17 +415,7 @@ public class AdminController {
             // 이미지 업로드 처리
             if (images != null && images.length > 0) {
                 logger.info("이미지 업로드 처리 시작: {}개", images.length);
-                for (int i = 0; i < images.length; i++) {
-                    MultipartFile image = images[i];
-                    if (!image.isEmpty()) {
-                        String imageUrl = uploadImage(image, storeId, request);
-                        if (imageUrl != null) {
-                            StoreImage.ImageType imageType = (i == 0) ? 
-                                StoreImage.ImageType.MAIN : StoreImage.ImageType.SUB;
-                            storeService.addStoreImage(storeId, imageUrl, imageType);
-                        }
-                    }
-                }
+                saveStoreImages(storeId, images);
             }
             
             logger.info("=== Store 수정 완료 ===");
@@ -466,6 +480,190 @@ public class AdminController {
         }
     }
     
+    /**
+     * 상점 이미지 업로드 (요청 본문이 이미지 바이트 그대로인 스트리밍 업로드)
+     * multipart로 받으면 컨테이너가 파트를 임시 파일에 한 번 쓰고 다시 복사하므로,
+     * 본문을 읽으면서 바로 저장소에 쓰고 해시와 형식 검사를 함께 처리한다.
+     * @param storeId 상점 ID
+     * @param type 이미지 타입 (MAIN, SUB)
+     * @param request HTTP 요청 (본문: 이미지 바이트)
+     * @return 업로드 결과 JSON
+     */
+    @PostMapping(value = "/stores/{storeId}/images",
+            consumes = {"image/*", "application/octet-stream"})
+    public ResponseEntity<String> uploadStoreImage(
+            @PathVariable Long storeId,
+            @RequestParam(value = "type", defaultValue = "SUB") String type,
+            HttpServletRequest request) {
+        try {
+            org.springframework.security.core.Authentication auth = 
+                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+            
+            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "로그인이 필요합니다.");
+                return ResponseEntity.status(401).body(gson.toJson(error));
+            }
+            
+            if (storeService.getStoreById(storeId).isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "존재하지 않는 상점입니다.");
+                return ResponseEntity.status(404).body(gson.toJson(error));
+            }
+            
+            // 길이를 알 수 있으면 본문을 읽기 전에 거절
+            if (request.getContentLengthLong() > imageStorageService.getMaxImageBytes()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "이미지 크기가 너무 큽니다.");
+                return ResponseEntity.status(413).body(gson.toJson(error));
+            }
+            
+            StoreImage.ImageType imageType = "MAIN".equalsIgnoreCase(type) ? 
+                StoreImage.ImageType.MAIN : StoreImage.ImageType.SUB;
+            String imageUrl = imageStorageService.store(request.getInputStream());
+            StoreImage savedImage = storeService.addStoreImage(storeId, imageUrl, imageType);
+            generateImageDerivatives(savedImage);
+            
+            Map<String, Object> image = new HashMap<>();
+            image.put("imageId", savedImage.getImageId());
+            image.put("imageUrl", savedImage.getImageUrl());
+            image.put("imageType", savedImage.getImageType());
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("message", "이미지가 업로드되었습니다.");
+            result.put("image", image);
+            
+            return ResponseEntity.ok(gson.toJson(result));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(gson.toJson(error));
+        } catch (Exception e) {
+            logger.error("이미지 업로드 오류: {}", e.getMessage(), e);
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", "이미지 업로드 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
+    /**
+     * 상점 이미지 파일만 저장 (요청 본문이 이미지 바이트 그대로인 스트리밍 업로드, 이미지 정보는 등록하지 않음)
+     * 관리자 화면은 여러 파일을 이 경로로 동시에 올린 뒤 /stores/{storeId}/images/batch로 한 번에 등록한다.
+     * @param storeId 상점 ID
+     * @param request HTTP 요청 (본문: 이미지 바이트)
+     * @return 저장된 이미지 URL JSON
+     */
+    @PostMapping(value = "/stores/{storeId}/images/files",
+            consumes = {"image/*", "application/octet-stream"})
+    public ResponseEntity<String> uploadStoreImageFile(@PathVariable Long storeId, HttpServletRequest request) {
+        try {
+            org.springframework.security.core.Authentication auth = 
+                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+            
+            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "로그인이 필요합니다.");
+                return ResponseEntity.status(401).body(gson.toJson(error));
+            }
+            
+            // 길이를 알 수 있으면 본문을 읽기 전에 거절
+            if (request.getContentLengthLong() > imageStorageService.getMaxImageBytes()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "이미지 크기가 너무 큽니다.");
+                return ResponseEntity.status(413).body(gson.toJson(error));
+            }
+            
+            String imageUrl = imageStorageService.store(request.getInputStream());
+            logger.info("이미지 저장 완료 - storeId: {}, url: {}", storeId, imageUrl);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("imageUrl", imageUrl);
+            return ResponseEntity.ok(gson.toJson(result));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(gson.toJson(error));
+        } catch (Exception e) {
+            logger.error("이미지 저장 오류: {}", e.getMessage(), e);
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", "이미지 저장 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
+    /**
+     * 저장된 이미지 파일들을 상점 이미지로 한 번에 등록 (첫 번째가 대표 이미지)
+     * 상점 조회, 행 저장, 카탈로그 갱신이 이미지 수와 관계없이 한 번만 일어난다.
+     * @param storeId 상점 ID
+     * @param imageUrls /stores/{storeId}/images/files가 돌려준 이미지 URL 목록 (등록 순서)
+     * @return 등록 결과 JSON
+     */
+    @PostMapping("/stores/{storeId}/images/batch")
+    public ResponseEntity<String> registerStoreImages(
+            @PathVariable Long storeId,
+            @RequestParam("imageUrls") List<String> imageUrls) {
+        try {
+            org.springframework.security.core.Authentication auth = 
+                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+            
+            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "로그인이 필요합니다.");
+                return ResponseEntity.status(401).body(gson.toJson(error));
+            }
+            
+            for (String imageUrl : imageUrls) {
+                if (!imageStorageService.isStored(imageUrl)) {
+                    Map<String, String> error = new HashMap<>();
+                    error.put("success", "false");
+                    error.put("message", "저장되지 않은 이미지입니다: " + imageUrl);
+                    return ResponseEntity.badRequest().body(gson.toJson(error));
+                }
+            }
+            
+            List<StoreImage> savedImages = storeService.addStoreImages(storeId, imageUrls);
+            savedImages.forEach(this::generateImageDerivatives);
+            
+            List<Map<String, Object>> images = new ArrayList<>();
+            for (StoreImage savedImage : savedImages) {
+                Map<String, Object> image = new HashMap<>();
+                image.put("imageId", savedImage.getImageId());
+                image.put("imageUrl", savedImage.getImageUrl());
+                image.put("imageType", savedImage.getImageType());
+                images.add(image);
+            }
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("message", "이미지 " + images.size() + "개가 등록되었습니다.");
+            result.put("images", images);
+            return ResponseEntity.ok(gson.toJson(result));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(404).body(gson.toJson(error));
+        } catch (Exception e) {
+            logger.error("이미지 등록 오류: {}", e.getMessage(), e);
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", "이미지 등록 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
     /**
      * 상점 이미지 삭제
      * @param imageId 이미지 ID
@@ -499,6 +697,54 @@ public class AdminController {
         }
     }
     
+    /**
+     * 검색 통계 조회 (집계 기간, 인기 검색어, 검색 타입별 횟수)
+     * @param limit 인기 검색어 최대 개수 (기본값: 20, 최대 100)
+     * @return 검색 통계 JSON
+     */
+    @GetMapping("/statistics/search")
+    public ResponseEntity<String> getSearchStatistics(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            org.springframework.security.core.Authentication auth = 
+                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+            
+            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("success", "false");
+                error.put("message", "로그인이 필요합니다.");
+                return ResponseEntity.status(401).body(gson.toJson(error));
+            }
+            
+            List<Map<String, Object>> popularKeywords = new ArrayList<>();
+            for (SpaceSavingSketch.Entry entry : searchStatisticsService.getPopularKeywords(Math.max(1, Math.min(limit, 100)))) {
+                Map<String, Object> keyword = new LinkedHashMap<>();
+                keyword.put("keyword", entry.getItem());
+                keyword.put("count", entry.getCount());
+                // 추정치가 실제보다 클 수 있는 최대 값
+                keyword.put("maxOvercount", entry.getError());
+                popularKeywords.add(keyword);
+            }
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            // 인기 검색어와 검색 횟수는 최근 windowDays 일(windowStart 이후) 기준
+            result.put("windowDays", searchStatisticsService.getWindowDays());
+            result.put("windowStart", searchStatisticsService.getWindowStart().toString());
+            result.put("totalSearches", searchStatisticsService.getTotalSearches());
+            result.put("searchTypes", searchStatisticsService.getSearchTypeCounts());
+            result.put("popularKeywords", popularKeywords);
+            
+            return ResponseEntity.ok(gson.toJson(result));
+        } catch (Exception e) {
+            logger.error("검색 통계 조회 중 오류 발생", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("success", "false");
+            error.put("message", "검색 통계를 불러오는 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
     /**
      * 비밀번호 변경
      * @param oldPassword 기존 비밀번호
@@ -583,35 +829,58 @@ public class AdminController {
     }
     
     /**
-     * 이미지 업로드 처리
+     * 여러 이미지를 동시에 저장한 뒤 이미지 정보를 한 번에 등록 (첫 번째로 저장된 이미지가 대표 이미지)
+     * 파일 저장은 가상 스레드에서 병렬로 처리하므로 전체 시간은 가장 느린 이미지 하나와 비슷하다.
+     * @param storeId 상점 ID
+     * @param images 업로드된 이미지 파일들
+     * @return 등록된 이미지 목록
+     */
+    private List<StoreImage> saveStoreImages(Long storeId, MultipartFile[] images) throws InterruptedException {
+        List<Future<String>> uploads = new ArrayList<>();
+        for (MultipartFile image : images) {
+            if (!image.isEmpty()) {
+                uploads.add(imageTaskExecutor.submit(() -> uploadImage(image, storeId)));
+            }
+        }
+        
+        List<String> imageUrls = new ArrayList<>();
+        for (Future<String> upload : uploads) {
+            try {
+                String imageUrl = upload.get();
+                if (imageUrl != null) {
+                    imageUrls.add(imageUrl);
+                }
+            } catch (ExecutionException e) {
+                logger.error("이미지 업로드 오류: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+        
+        List<StoreImage> savedImages = storeService.addStoreImages(storeId, imageUrls);
+        savedImages.forEach(this::generateImageDerivatives);
+        return savedImages;
+    }
+    
+    /**
+     * 업로드된 이미지의 썸네일/팝업/전체 화면 파생본 생성 예약 (응답을 기다리게 하지 않음)
+     * @param image 저장된 이미지
+     */
+    private void generateImageDerivatives(StoreImage image) {
+        Path original = imageStorageService.resolve(image.getImageUrl());
+        imageDerivativeService.generateAsync(image.getImageId(), original, image.getImageUrl());
+    }
+    
+    /**
+     * 이미지 업로드 처리 (내용 해시 기준으로 저장하므로 같은 파일은 한 번만 저장됨)
      * @param image 업로드할 이미지 파일
      * @param storeId 상점 ID
-     * @param request HTTP 요청
      * @return 업로드된 이미지 URL
      */
-    private String uploadImage(MultipartFile image, Long storeId, HttpServletRequest request) {
+    private String uploadImage(MultipartFile image, Long storeId) {
         try {
-            // 업로드 디렉토리 생성 (/uploads/stores)
-            String uploadDir = request.getServletContext().getRealPath("") + File.separator + "uploads" + File.separator + "stores";
-            File uploadPath = new File(uploadDir);
-            if (!uploadPath.exists()) {
-                uploadPath.mkdirs();
-            }
-            
-            // 파일명 생성
-            String originalFilename = image.getOriginalFilename();
-            String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            String fileName = "store_" + storeId + "_" + 
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) + 
-                "_" + UUID.randomUUID().toString().substring(0, 8) + fileExtension;
-            
-            // 파일 저장
-            Path filePath = Paths.get(uploadPath.getAbsolutePath(), fileName);
-            Files.copy(image.getInputStream(), filePath);
-            
-            // 웹 경로 반환 (/uploads/stores/)
-            return "/uploads/stores/" + fileName;
-        } catch (IOException e) {
+            String imageUrl = imageStorageService.store(image);
+            logger.info("이미지 저장 완료 - storeId: {}, url: {}", storeId, imageUrl);
+            return imageUrl;
+        } catch (IOException | IllegalArgumentException e) {
             logger.error("이미지 업로드 오류: {}", e.getMessage(), e);
             return null;
         }
@@ -0,0 +1,68 @@
+package com.market_map.market_map.controller;
+
+import com.market_map.market_map.service.MapTileService;
+import com.market_map.market_map.util.PreparedPayload;
+import com.google.gson.Gson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 지도 정보 REST API 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/maps")
+public class MapController {
+
+    @Autowired
+    private MapTileService mapTileService;
+
+    private final Gson gson = new Gson();
+
+    // 지도가 다시 등록되면 바뀌므로 항상 ETag로 재검증
+    private static final CacheControl MAP_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    // 타일 정보 -> 응답 본문 (지도가 다시 등록되면 새로 생성)
+    private volatile Map.Entry<MapTileService.TileSet, PreparedPayload> cachedPayload;
+
+    /**
+     * 활성 지도 타일 정보 조회
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 지도 크기, 줌 레벨별 타일 수, 타일 URL 템플릿 JSON
+     */
+    @GetMapping("/active")
+    public ResponseEntity<byte[]> getActiveMap(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            Optional<MapTileService.TileSet> tileSet = mapTileService.getActiveTileSet();
+            if (tileSet.isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "지도 타일이 아직 준비되지 않았습니다.");
+                return ResponseEntity.status(404)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+            }
+
+            Map.Entry<MapTileService.TileSet, PreparedPayload> cached = cachedPayload;
+            if (cached == null || cached.getKey() != tileSet.get()) {
+                cached = Map.entry(tileSet.get(), PreparedPayload.json(gson.toJson(tileSet.get())));
+                cachedPayload = cached;
+            }
+            return cached.getValue().toResponseEntity(acceptEncoding, MAP_CACHE_CONTROL);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "지도 정보 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
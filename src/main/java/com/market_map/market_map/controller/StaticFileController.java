@@ -0,0 +1,238 @@
+package com.market_map.market_map.controller;
+
+import com.market_map.market_map.service.ImageStorageService;
+import com.market_map.market_map.service.MapTileService;
+import com.market_map.market_map.service.StaticFileService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 이미지와 지도 이미지 전송 컨트롤러
+ * Tomcat이 sendfile을 지원하면 파일 전송을 커넥터에 맡겨 요청 스레드가 파일 내용을 복사하지 않게 하고,
+ * 지원하지 않으면 캐시된 FileChannel에서 transferTo로 전송한다.
+ * 단일 Range 요청, ETag/Last-Modified 조건부 요청, 미리 압축된 .br/.gz 파일을 지원한다.
+ */
+@Controller
+public class StaticFileController {
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 만족할 수 없는 Range 요청 표시
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    // 내용 주소 이미지와 지도 타일은 경로가 같으면 내용도 같으므로 영구 캐시
+    private static final CacheControl IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private static final CacheControl ASSET_CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
+    // 기존 업로드 경로는 파일이 바뀔 수 있으므로 ETag로 재검증
+    private static final CacheControl REVALIDATE_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    @Autowired
+    private StaticFileService staticFileService;
+
+    @Value("${app.static-files.sendfile-threshold:49152}")
+    private long sendfileThreshold;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * 정적 파일 전송
+     * @param request HTTP 요청
+     * @param response HTTP 응답
+     * @throws IOException 전송 실패 시
+     */
+    @GetMapping({"/uploads/**", "/assets/images/**"})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        Optional<Path> resolved = staticFileService.resolve(path);
+        if (resolved.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file = resolved.get();
+
+        // 부분 요청은 원본 바이트 기준이므로 압축 파일을 쓰지 않음
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        Optional<StaticFileService.Encoding> encoding = rangeHeader == null
+                ? staticFileService.findPrecompressed(file, request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                : Optional.empty();
+        Path source = encoding.map(e -> StaticFileService.variantPath(file, e)).orElse(file);
+
+        try (StaticFileService.OpenFile openFile = staticFileService.open(source)) {
+            long length = openFile.getSize();
+            long lastModified = openFile.getLastModified();
+            String eTag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length)
+                    + encoding.map(e -> "-" + e.getToken()).orElse("") + "\"";
+
+            String contentType = request.getServletContext().getMimeType(file.getFileName().toString());
+            response.setContentType(contentType != null ? contentType : "application/octet-stream");
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlFor(path).getHeaderValue());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (encoding.isPresent()) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.get().getToken());
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+
+            if (isNotModified(request, eTag, lastModified)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+
+            long start = 0;
+            long end = length;
+            if (rangeHeader != null && ifRangeMatches(request, eTag, lastModified)) {
+                long[] range = parseRange(rangeHeader, length);
+                if (range == UNSATISFIABLE) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                if (range != null) {
+                    start = range[0];
+                    end = range[1];
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+                }
+            }
+
+            response.setContentLengthLong(end - start);
+            if ("HEAD".equals(request.getMethod()) || end == start) {
+                return;
+            }
+
+            if (end - start >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                request.setAttribute(SENDFILE_FILENAME, source.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end);
+                return;
+            }
+
+            FileChannel channel = openFile.getChannel();
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Range 헤더 해석 (단일 범위만 지원, 여러 범위는 무시하고 전체 전송)
+     * @return [시작, 끝(미포함)], 지원하지 않는 형식이면 null, 범위를 벗어나면 UNSATISFIABLE
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 마지막 n바이트
+                long suffixLength = Long.parseLong(last);
+                if (suffixLength <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[] {Math.max(0, length - suffixLength), length};
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length : Math.min(Long.parseLong(last) + 1, length);
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            if (end <= start) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(eTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = headerDate(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // 약한 ETag는 부분 요청에 사용할 수 없음
+            return ifRange.equals(eTag);
+        }
+        long date = headerDate(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long headerDate(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static CacheControl cacheControlFor(String path) {
+        if (path.startsWith(ImageStorageService.URL_PREFIX) || path.startsWith(MapTileService.URL_PREFIX)) {
+            return IMMUTABLE_CACHE_CONTROL;
+        }
+        if (path.startsWith("/assets/")) {
+            return ASSET_CACHE_CONTROL;
+        }
+        return REVALIDATE_CACHE_CONTROL;
+    }
+}
@@ -1,16 +1,35 @@
 package com.market_map.market_map.controller;
 
 import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.entity.StoreImage;
+import com.market_map.market_map.index.TypeaheadIndex;
+import com.market_map.market_map.service.SearchLogService;
+import com.market_map.market_map.service.SearchStatisticsService;
+import com.market_map.market_map.service.StoreCatalogSnapshot;
+import com.market_map.market_map.service.StoreEventBroadcaster;
 import com.market_map.market_map.service.StoreService;
+import com.market_map.market_map.util.PreparedPayload;
+import com.market_map.market_map.util.SpaceSavingSketch;
+import com.market_map.market_map.util.StoreJsonWriter;
+import com.market_map.market_map.util.StoreListBinaryFormat;
+import com.market_map.market_map.util.StoreListPayloads;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,48 +44,134 @@ public class StoreController {
     @Autowired
     private StoreService storeService;
     
+    @Autowired
+    private SearchLogService searchLogService;
+    
+    @Autowired
+    private SearchStatisticsService searchStatisticsService;
+    
+    @Autowired
+    private StoreEventBroadcaster storeEventBroadcaster;
+    
     private final Gson gson = new GsonBuilder()
             .setDateFormat("yyyy-MM-dd HH:mm:ss")
             .registerTypeAdapter(LocalDateTime.class, (com.google.gson.JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) -> 
                 new com.google.gson.JsonPrimitive(src.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
             .create();
     
+    // 이미지 일괄 조회 최대 상점 수
+    private static final int MAX_IMAGE_BATCH_SIZE = 500;
+    
+    // 직렬화 버퍼 초기 크기 산정용 항목당 예상 바이트 수
+    private static final int IMAGE_JSON_SIZE_HINT = 600;
+    
+    // 카탈로그 응답 캐시 정책 (항상 ETag로 재검증)
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+    
     /**
      * 전체 상점 목록 조회
+     * 지도 표시에 필요한 요약 필드만 응답하며, 상세 정보는 /api/stores/{id}로 조회한다.
+     * 카탈로그 버전별로 한 번만 직렬화/압축한 본문을 ETag와 함께 응답한다.
+     * Accept에 application/vnd.market-map.store-list가 있으면 같은 내용을 열 단위 바이너리 형식으로 응답한다.
      * @param zone 구역 번호 (선택사항)
-     * @return 상점 목록 JSON
+     * @param includeMainImage 상점마다 대표 이미지 URL(mainImageUrl) 포함 여부 (기본값: false)
+     * @param accept Accept 헤더
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 상점 요약 목록 JSON 또는 바이너리 (If-None-Match 일치 시 304)
      */
     @GetMapping(value = {"", "/", "/list"})
-    public ResponseEntity<String> getAllStores(@RequestParam(required = false) Integer zone) {
+    public ResponseEntity<byte[]> getAllStores(
+            @RequestParam(required = false) Integer zone,
+            @RequestParam(defaultValue = "false") boolean includeMainImage,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            List<Store> stores;
+            StoreCatalogSnapshot snapshot = storeService.getCatalogSnapshot();
+            boolean binary = acceptsBinaryStoreList(accept);
+            String format = binary ? ":bin" : "";
+            String suffix = (includeMainImage ? ":main" : "") + format;
+            PreparedPayload payload;
             
-            if (zone != null) {
-                stores = storeService.getStoresByZone(zone);
+            if (zone == null) {
+                payload = snapshot.derive("list" + suffix,
+                        s -> StoreListPayloads.build(s.getStores(), includeMainImage ? s.getMainImageUrls() : null, binary));
+            } else if (snapshot.getStoresByZone(zone).isEmpty()) {
+                // 존재하지 않는 구역은 빈 목록 하나로 공유 (구역 번호별 캐시 증가 방지)
+                payload = snapshot.derive("list:zone:empty" + format,
+                        s -> StoreListPayloads.build(List.of(), null, binary));
             } else {
-                stores = storeService.getAllStores();
+                payload = snapshot.derive("list:zone:" + zone + suffix,
+                        s -> StoreListPayloads.build(s.getStoresByZone(zone), includeMainImage ? s.getMainImageUrls() : null, binary));
             }
             
-            return ResponseEntity.ok(gson.toJson(stores));
+            return payload.toResponseEntity(acceptEncoding, CATALOG_CACHE_CONTROL, HttpHeaders.ACCEPT);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "상점 목록을 불러오는 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    /**
+     * 상점 변경분 조회 (변경분 동기화)
+     * 클라이언트는 응답의 version을 보관했다가 다음 요청의 since로 보내고, upserts는 상점 ID 기준으로 덮어쓰며 deletes는 목록에서 지운다.
+     * full이 true이면 변경분을 계산할 수 없으므로 전체 상점 목록을 다시 받는다.
+     * @param since 마지막으로 받은 버전 (선택사항, 없으면 full)
+     * @param includeMainImage 상점마다 대표 이미지 URL(mainImageUrl) 포함 여부 (기본값: false)
+     * @return 상점 변경분 JSON
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getStoreChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "false") boolean includeMainImage) {
+        try {
+            StoreService.StoreChanges changes = storeService.getStoreChanges(since);
+            Map<Long, String> mainImageUrls = includeMainImage ? changes.getMainImageUrls() : null;
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body((StoreJsonWriter.Content) writer -> writer.writeStoreChanges(changes.getVersion(), changes.isFull(),
+                        changes.getUpserts(), changes.getDeletes(), mainImageUrls));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "상점 변경분 조회 중 오류가 발생했습니다: " + e.getMessage());
             return ResponseEntity.status(500).body(gson.toJson(error));
         }
     }
     
+    /**
+     * 상점 변경 알림 구독 (Server-Sent Events)
+     * 상점이 생성/수정/삭제되면 store-change 이벤트({"type":..,"storeId":..})를 보내며, 화면은 /api/stores/changes로 변경분을 받는다.
+     * @return 이벤트 스트림 (구독자가 너무 많으면 503)
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeStoreEvents() {
+        SseEmitter emitter = storeEventBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            // 프록시(nginx)가 이벤트를 모아 보내지 않도록
+            .header("X-Accel-Buffering", "no")
+            .body(emitter);
+    }
+    
     /**
      * 상점 ID로 조회
      * @param id 상점 ID
      * @return 상점 정보 JSON
      */
     @GetMapping("/{id}")
-    public ResponseEntity<String> getStoreById(@PathVariable Long id) {
+    public ResponseEntity<?> getStoreById(@PathVariable Long id) {
         try {
             Optional<Store> storeOpt = storeService.getStoreById(id);
             
             if (storeOpt.isPresent()) {
-                return ResponseEntity.ok(gson.toJson(storeOpt.get()));
+                return ResponseEntity.ok(storeJson(storeOpt.get()));
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "상점을 찾을 수 없습니다.");
@@ -85,12 +190,12 @@ public class StoreController {
      * @return 상점 정보 JSON
      */
     @GetMapping("/code/{code}")
-    public ResponseEntity<String> getStoreByCode(@PathVariable String code) {
+    public ResponseEntity<?> getStoreByCode(@PathVariable String code) {
         try {
             Optional<Store> storeOpt = storeService.getStoreByCode(code);
             
             if (storeOpt.isPresent()) {
-                return ResponseEntity.ok(gson.toJson(storeOpt.get()));
+                return ResponseEntity.ok(storeJson(storeOpt.get()));
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "상점을 찾을 수 없습니다.");
@@ -108,16 +213,17 @@ public class StoreController {
      * @param x X 좌표
      * @param y Y 좌표
      * @param radius 반경 (기본값: 50)
-     * @return 상점 목록 JSON
+     * @return 상점 요약 목록 JSON
      */
     @GetMapping("/search/location")
-    public ResponseEntity<String> searchStoresByLocation(
+    public ResponseEntity<?> searchStoresByLocation(
             @RequestParam Integer x, 
             @RequestParam Integer y,
             @RequestParam(defaultValue = "50") Integer radius) {
         try {
             List<Store> stores = storeService.getStoresByCoordinates(x, y, radius);
-            return ResponseEntity.ok(gson.toJson(stores));
+            searchLogService.record(null, SearchLogService.TYPE_LOCATION, stores.size());
+            return ResponseEntity.ok(storeSummaryListJson(stores));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "위치 기반 검색 중 오류가 발생했습니다: " + e.getMessage());
@@ -129,15 +235,16 @@ public class StoreController {
      * 가장 가까운 상점 검색
      * @param x X 좌표
      * @param y Y 좌표
-     * @return 가장 가까운 상점 JSON
+     * @return 가장 가까운 상점 요약 JSON
      */
     @GetMapping("/search/nearest")
-    public ResponseEntity<String> getNearestStore(@RequestParam Integer x, @RequestParam Integer y) {
+    public ResponseEntity<?> getNearestStore(@RequestParam Integer x, @RequestParam Integer y) {
         try {
             Optional<Store> storeOpt = storeService.getNearestStore(x, y);
+            searchLogService.record(null, SearchLogService.TYPE_NEAREST, storeOpt.isPresent() ? 1 : 0);
             
             if (storeOpt.isPresent()) {
-                return ResponseEntity.ok(gson.toJson(storeOpt.get()));
+                return ResponseEntity.ok(storeSummaryJson(storeOpt.get()));
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("error", "근처에 상점을 찾을 수 없습니다.");
@@ -150,16 +257,95 @@ public class StoreController {
         }
     }
     
+    /**
+     * 가까운 순서로 상점 k개 검색
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param k 최대 개수 (기본값: 5, 최대 50)
+     * @return 거리 오름차순 상점 요약 목록 JSON
+     */
+    @GetMapping("/search/nearby")
+    public ResponseEntity<?> getNearbyStores(
+            @RequestParam Integer x,
+            @RequestParam Integer y,
+            @RequestParam(defaultValue = "5") Integer k) {
+        try {
+            int limit = Math.max(1, Math.min(k, 50));
+            List<Store> stores = storeService.getNearestStores(x, y, limit);
+            searchLogService.record(null, SearchLogService.TYPE_NEARBY, stores.size());
+            return ResponseEntity.ok(storeSummaryListJson(stores));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "주변 상점 검색 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
+    /**
+     * 지도 좌표의 상점 마커 판정 (클릭/호버)
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param tolerance 최소 판정 반경 (기본값: 0, 최대 200)
+     * @return 가장 위에 그려진 상점 요약 JSON
+     */
+    @GetMapping("/hit")
+    public ResponseEntity<?> hitTest(
+            @RequestParam Integer x,
+            @RequestParam Integer y,
+            @RequestParam(defaultValue = "0") Integer tolerance) {
+        try {
+            Optional<Store> storeOpt = storeService.getStoreAt(x, y, Math.max(0, Math.min(tolerance, 200)));
+            
+            if (storeOpt.isPresent()) {
+                return ResponseEntity.ok(storeSummaryJson(storeOpt.get()));
+            } else {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "해당 위치에 상점이 없습니다.");
+                return ResponseEntity.status(404).body(gson.toJson(error));
+            }
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "상점 위치 판정 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
+    /**
+     * 클라이언트 판정용 히트 격자 조회
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 히트 격자 JSON (If-None-Match 일치 시 304)
+     */
+    @GetMapping("/hit-grid")
+    public ResponseEntity<byte[]> getHitGrid(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            PreparedPayload payload = storeService.getCatalogSnapshot().derive("hit-grid", s -> {
+                Map<String, Object> grid = new LinkedHashMap<>();
+                grid.put("version", s.getVersion());
+                grid.putAll(s.getSpatialIndex().toHitGrid());
+                return PreparedPayload.json(gson.toJson(grid));
+            });
+            return payload.toResponseEntity(acceptEncoding, CATALOG_CACHE_CONTROL);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "히트 격자 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
     /**
      * 키워드로 상점 검색
      * @param keyword 검색 키워드
-     * @return 상점 목록 JSON
+     * @return 상점 요약 목록 JSON
      */
     @GetMapping("/search")
-    public ResponseEntity<String> searchStores(@RequestParam String keyword) {
+    public ResponseEntity<?> searchStores(@RequestParam String keyword) {
         try {
             List<Store> stores = storeService.searchStores(keyword);
-            return ResponseEntity.ok(gson.toJson(stores));
+            searchLogService.record(keyword, SearchLogService.TYPE_KEYWORD, stores.size());
+            return ResponseEntity.ok(storeSummaryListJson(stores));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "검색 중 오류가 발생했습니다: " + e.getMessage());
@@ -167,16 +353,75 @@ public class StoreController {
         }
     }
     
+    /**
+     * 인기 검색어 조회
+     * @param limit 최대 개수 (기본값: 10, 최대 100)
+     * @return 인기 검색어 JSON (windowDays, windowStart: 집계 기간, keywords: keyword, count 목록)
+     */
+    @GetMapping("/search/popular")
+    public ResponseEntity<String> getPopularKeywords(@RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            List<Map<String, Object>> keywords = new ArrayList<>();
+            for (SpaceSavingSketch.Entry entry : searchStatisticsService.getPopularKeywords(Math.max(1, Math.min(limit, 100)))) {
+                Map<String, Object> keyword = new LinkedHashMap<>();
+                keyword.put("keyword", entry.getItem());
+                keyword.put("count", entry.getCount());
+                keywords.add(keyword);
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("windowDays", searchStatisticsService.getWindowDays());
+            result.put("windowStart", searchStatisticsService.getWindowStart().toString());
+            result.put("keywords", keywords);
+            return ResponseEntity.ok(gson.toJson(result));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "인기 검색어 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
+    /**
+     * 검색어 자동완성
+     * @param q 검색어 (완성형, 입력 중인 음절, 초성 모두 가능)
+     * @param limit 최대 추천 수 (기본값: 10, 최대 20)
+     * @return 추천 상점 요약 목록 JSON
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<String> suggestStores(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        try {
+            List<Store> stores = storeService.suggestStores(q, Math.max(1, Math.min(limit, TypeaheadIndex.MAX_SUGGESTIONS)));
+            
+            List<Map<String, Object>> suggestions = new ArrayList<>(stores.size());
+            for (Store store : stores) {
+                Map<String, Object> suggestion = new LinkedHashMap<>();
+                suggestion.put("storeId", store.getStoreId());
+                suggestion.put("storeName", store.getStoreName());
+                suggestion.put("storeCode", store.getStoreCode());
+                suggestion.put("zoneNumber", store.getZoneNumber());
+                suggestions.add(suggestion);
+            }
+            return ResponseEntity.ok(gson.toJson(suggestions));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "자동완성 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500).body(gson.toJson(error));
+        }
+    }
+    
     /**
      * 상점명으로 검색
      * @param name 상점명
-     * @return 상점 목록 JSON
+     * @return 상점 요약 목록 JSON
      */
     @GetMapping("/search/name")
-    public ResponseEntity<String> searchStoresByName(@RequestParam String name) {
+    public ResponseEntity<?> searchStoresByName(@RequestParam String name) {
         try {
             List<Store> stores = storeService.searchStoresByName(name);
-            return ResponseEntity.ok(gson.toJson(stores));
+            searchLogService.record(name, SearchLogService.TYPE_NAME, stores.size());
+            return ResponseEntity.ok(storeSummaryListJson(stores));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "상점명 검색 중 오류가 발생했습니다: " + e.getMessage());
@@ -187,13 +432,14 @@ public class StoreController {
     /**
      * 전화번호로 검색
      * @param phone 전화번호
-     * @return 상점 목록 JSON
+     * @return 상점 요약 목록 JSON
      */
     @GetMapping("/search/phone")
-    public ResponseEntity<String> searchStoresByPhone(@RequestParam String phone) {
+    public ResponseEntity<?> searchStoresByPhone(@RequestParam String phone) {
         try {
             List<Store> stores = storeService.searchStoresByPhone(phone);
-            return ResponseEntity.ok(gson.toJson(stores));
+            searchLogService.record(phone, SearchLogService.TYPE_PHONE, stores.size());
+            return ResponseEntity.ok(storeSummaryListJson(stores));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "전화번호 검색 중 오류가 발생했습니다: " + e.getMessage());
@@ -204,13 +450,15 @@ public class StoreController {
     /**
      * 상점 이미지 조회
      * @param storeId 상점 ID
+     * @param size 이미지 크기 (thumb, popup, full, original - 파생 이미지가 아직 없으면 원본 URL)
      * @return 상점 이미지 목록 JSON
      */
     @GetMapping("/{storeId}/images")
-    public ResponseEntity<String> getStoreImages(@PathVariable Long storeId) {
+    public ResponseEntity<?> getStoreImages(@PathVariable Long storeId,
+                                                 @RequestParam(required = false) String size) {
         try {
-            List<Map<String, Object>> imageData = storeService.getStoreImageData(storeId);
-            return ResponseEntity.ok(gson.toJson(imageData));
+            List<Map<String, Object>> imageData = storeService.getStoreImageData(storeId, StoreImage.ImageSize.from(size));
+            return ResponseEntity.ok(imageListJson(imageData));
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "상점 이미지 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -219,25 +467,139 @@ public class StoreController {
     }
     
     /**
-     * 상점 통계 정보 조회
-     * @return 통계 정보 JSON
+     * 여러 상점의 이미지 목록 일괄 조회
+     * storeIds를 생략하면 활성 상점 전체의 이미지를 카탈로그 버전별로 캐시해 ETag와 함께 응답한다.
+     * @param storeIds 상점 ID 목록 (쉼표 구분, 최대 500개)
+     * @param size 이미지 크기 (thumb, popup, full, original - 파생 이미지가 아직 없으면 원본 URL)
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 상점 ID -> 이미지 목록 JSON
      */
-    @GetMapping("/stats")
-    public ResponseEntity<String> getStoreStats() {
-        try {
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalStores", storeService.countActiveStores());
-            stats.put("zone1Stores", storeService.countStoresByZone(1));
-            stats.put("zone2Stores", storeService.countStoresByZone(2));
-            stats.put("zone3Stores", storeService.countStoresByZone(3));
-            stats.put("zone4Stores", storeService.countStoresByZone(4));
-            stats.put("zone5Stores", storeService.countStoresByZone(5));
+    @GetMapping("/images")
+    public ResponseEntity<?> getStoreImagesBatch(
+            @RequestParam(required = false) List<Long> storeIds,
+            @RequestParam(required = false) String size,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            StoreImage.ImageSize imageSize = StoreImage.ImageSize.from(size);
+            if (storeIds == null) {
+                PreparedPayload payload = storeService.getCatalogSnapshot().derive("images:" + imageSize.name(),
+                        s -> toImagesPayload(storeService.getAllStoreImageData(imageSize)));
+                return payload.toResponseEntity(acceptEncoding, CATALOG_CACHE_CONTROL);
+            }
+            
+            if (storeIds.size() > MAX_IMAGE_BATCH_SIZE) {
+                Map<String, String> error = new HashMap<>();
+                error.put("error", "한 번에 조회할 수 있는 상점은 최대 " + MAX_IMAGE_BATCH_SIZE + "개입니다.");
+                return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+            }
             
-            return ResponseEntity.ok(gson.toJson(stats));
+            Map<Long, List<Map<String, Object>>> images = storeService.getStoreImageData(storeIds, imageSize);
+            return ResponseEntity.ok(imagesByStoreJson(images));
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "상점 이미지 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    /**
+     * 상점 통계 정보 조회 (구역별 상점 수, 이미지 수, 마지막 수정 시각)
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 통계 정보 JSON (If-None-Match 일치 시 304)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<byte[]> getStoreStats(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            PreparedPayload payload = storeService.getCatalogSnapshot().derive("stats",
+                    s -> PreparedPayload.json(gson.toJson(s.getStatistics())));
+            return payload.toResponseEntity(acceptEncoding, CATALOG_CACHE_CONTROL);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "통계 정보 조회 중 오류가 발생했습니다: " + e.getMessage());
-            return ResponseEntity.status(500).body(gson.toJson(error));
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(gson.toJson(error).getBytes(StandardCharsets.UTF_8));
         }
     }
+    
+    /**
+     * 상점 하나를 응답 스트림에 바로 직렬화하는 본문
+     * @param store 상점
+     * @return JSON 본문
+     */
+    private static StoreJsonWriter.Content storeJson(Store store) {
+        return writer -> writer.writeStore(store);
+    }
+    
+    /**
+     * 상점 요약을 응답 스트림에 바로 직렬화하는 본문
+     * @param store 상점
+     * @return JSON 본문
+     */
+    private static StoreJsonWriter.Content storeSummaryJson(Store store) {
+        return writer -> writer.writeStoreSummary(store, null);
+    }
+    
+    /**
+     * 상점 요약 목록을 응답 스트림에 바로 직렬화하는 본문
+     * @param stores 상점 목록
+     * @return JSON 본문
+     */
+    private static StoreJsonWriter.Content storeSummaryListJson(List<Store> stores) {
+        return writer -> writer.writeStoreSummaries(stores);
+    }
+    
+    /**
+     * Accept 헤더가 바이너리 상점 목록을 명시적으로 허용하는지 확인 (와일드카드는 JSON으로 응답)
+     * @param accept Accept 헤더
+     * @return 바이너리 응답 여부
+     */
+    private static boolean acceptsBinaryStoreList(String accept) {
+        if (accept == null || !accept.contains(StoreListBinaryFormat.MEDIA_TYPE.getSubtype())) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.equalsTypeAndSubtype(StoreListBinaryFormat.MEDIA_TYPE)) {
+                    return mediaType.getQualityValue() > 0;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+    
+    /**
+     * 이미지 데이터 목록을 응답 스트림에 바로 직렬화하는 본문
+     * @param images 이미지 데이터 목록
+     * @return JSON 본문
+     */
+    private static StoreJsonWriter.Content imageListJson(List<Map<String, Object>> images) {
+        return writer -> writer.writeImages(images);
+    }
+    
+    /**
+     * 상점별 이미지 목록을 응답 스트림에 바로 직렬화하는 본문
+     * @param imagesByStore 상점 ID -> 이미지 데이터 목록
+     * @return JSON 본문
+     */
+    private static StoreJsonWriter.Content imagesByStoreJson(Map<Long, List<Map<String, Object>>> imagesByStore) {
+        return writer -> writer.writeImagesByStore(imagesByStore);
+    }
+    
+    /**
+     * 상점별 이미지 목록 응답 본문 생성
+     * @param imagesByStore 상점 ID -> 이미지 데이터 목록
+     * @return 응답 본문
+     */
+    private PreparedPayload toImagesPayload(Map<Long, List<Map<String, Object>>> imagesByStore) {
+        byte[] json = StoreJsonWriter.toByteArray(imagesByStoreJson(imagesByStore), imagesByStore.size() * IMAGE_JSON_SIZE_HINT);
+        return PreparedPayload.of(MediaType.APPLICATION_JSON, json);
+    }
 }
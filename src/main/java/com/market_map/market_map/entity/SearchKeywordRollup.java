@@ -0,0 +1,111 @@
+package com.market_map.market_map.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색어 집계 (분/시간/일 단위)
+ * search_logs 전체를 GROUP BY 하지 않도록 검색 타입과 키워드별 검색 횟수를 구간마다 누적해 둔다.
+ * 키워드가 없는 검색(위치 검색 등)은 빈 문자열 키워드로 집계한다.
+ */
+@Entity
+@Table(name = "search_keyword_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_search_rollup", columnNames = {"granularity", "bucket_start", "search_type", "search_keyword"})
+    },
+    indexes = {
+        @Index(name = "idx_search_rollup_bucket", columnList = "granularity, bucket_start")
+    })
+public class SearchKeywordRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private Granularity granularity;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "search_type", nullable = false, length = 20)
+    private String searchType;
+    
+    @Column(name = "search_keyword", nullable = false, length = 100)
+    private String searchKeyword;
+    
+    @Column(name = "search_count", nullable = false)
+    private Long searchCount;
+    
+    // 집계 단위 열거형
+    public enum Granularity {
+        MINUTE, HOUR, DAY
+    }
+    
+    // 생성자
+    public SearchKeywordRollup() {}
+    
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+    
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+    
+    public Granularity getGranularity() {
+        return granularity;
+    }
+    
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public String getSearchType() {
+        return searchType;
+    }
+    
+    public void setSearchType(String searchType) {
+        this.searchType = searchType;
+    }
+    
+    public String getSearchKeyword() {
+        return searchKeyword;
+    }
+    
+    public void setSearchKeyword(String searchKeyword) {
+        this.searchKeyword = searchKeyword;
+    }
+    
+    public Long getSearchCount() {
+        return searchCount;
+    }
+    
+    public void setSearchCount(Long searchCount) {
+        this.searchCount = searchCount;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchKeywordRollup{" +
+                "rollupId=" + rollupId +
+                ", granularity=" + granularity +
+                ", bucketStart=" + bucketStart +
+                ", searchType='" + searchType + '\'' +
+                ", searchKeyword='" + searchKeyword + '\'' +
+                ", searchCount=" + searchCount +
+                '}';
+    }
+}
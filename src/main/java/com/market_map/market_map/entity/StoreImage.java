@@ -26,6 +26,16 @@ public class StoreImage {
     @Column(name = "image_url", nullable = false, length = 500)
     private String imageUrl;
     
+    // 리사이즈된 파생 이미지 URL (업로드 후 백그라운드에서 생성, 생성 전에는 null)
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;
+    
+    @Column(name = "popup_url", length = 500)
+    private String popupUrl;
+    
+    @Column(name = "full_url", length = 500)
+    private String fullUrl;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "image_type", nullable = false)
     private ImageType imageType = ImageType.SUB;
@@ -45,6 +55,33 @@ public class StoreImage {
         MAIN, SUB
     }
     
+    // 이미지 크기 열거형 (ORIGINAL은 업로드 원본)
+    public enum ImageSize {
+        THUMBNAIL, POPUP, FULL, ORIGINAL;
+        
+        /**
+         * 요청 파라미터로 이미지 크기 변환 (thumb, thumbnail, popup, full, original)
+         * @param value 파라미터 값
+         * @return 이미지 크기 (알 수 없거나 없으면 ORIGINAL)
+         */
+        public static ImageSize from(String value) {
+            if (value == null) {
+                return ORIGINAL;
+            }
+            switch (value.trim().toLowerCase()) {
+                case "thumb":
+                case "thumbnail":
+                    return THUMBNAIL;
+                case "popup":
+                    return POPUP;
+                case "full":
+                    return FULL;
+                default:
+                    return ORIGINAL;
+            }
+        }
+    }
+    
     // 생성자
     public StoreImage() {}
     
@@ -96,6 +133,30 @@ public class StoreImage {
         this.imageUrl = imageUrl;
     }
     
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+    
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+    
+    public String getPopupUrl() {
+        return popupUrl;
+    }
+    
+    public void setPopupUrl(String popupUrl) {
+        this.popupUrl = popupUrl;
+    }
+    
+    public String getFullUrl() {
+        return fullUrl;
+    }
+    
+    public void setFullUrl(String fullUrl) {
+        this.fullUrl = fullUrl;
+    }
+    
     public ImageType getImageType() {
         return imageType;
     }
@@ -0,0 +1,71 @@
+package com.market_map.market_map.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상점 삭제 기록
+ * 논리/물리 삭제된 상점 ID를 남겨 두어, 변경분 동기화(/api/stores/changes) 클라이언트가 삭제된 상점을 지울 수 있게 한다.
+ * 물리 삭제된 상점도 기록하므로 stores 테이블을 참조하지 않는다.
+ */
+@Entity
+@Table(name = "store_tombstones", indexes = {
+    @Index(name = "idx_store_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class StoreTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id")
+    private Long tombstoneId;
+    
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+    
+    @CreationTimestamp
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+    
+    // 생성자
+    public StoreTombstone() {}
+    
+    public StoreTombstone(Long storeId) {
+        this.storeId = storeId;
+    }
+    
+    // Getters and Setters
+    public Long getTombstoneId() {
+        return tombstoneId;
+    }
+    
+    public void setTombstoneId(Long tombstoneId) {
+        this.tombstoneId = tombstoneId;
+    }
+    
+    public Long getStoreId() {
+        return storeId;
+    }
+    
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "StoreTombstone{" +
+                "tombstoneId=" + tombstoneId +
+                ", storeId=" + storeId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
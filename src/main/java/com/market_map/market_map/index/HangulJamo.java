@@ -0,0 +1,93 @@
+package com.market_map.market_map.index;
+
+/**
+ * 한글 자모 분해 유틸리티
+ * 완성형 음절을 호환 자모(ㄱ, ㅏ 등) 나열로 풀어 쓰며, 겹받침과 이중 모음은 입력 순서대로 나눈다.
+ * 예) "닭" -> "ㄷㅏㄹㄱ", "과" -> "ㄱㅗㅏ" 이므로 입력 중인 "달", "고"가 접두어로 일치한다.
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = '가';
+
+    private static final char SYLLABLE_LAST = '힣';
+
+    private static final int JUNGSEONG_COUNT = 21;
+
+    private static final int JONGSEONG_COUNT = 28;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 직접 입력된 겹자모 (ㄳ, ㅘ 등) 분해 표
+    private static final String COMPOUND_JAMO = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+
+    private static final String[] COMPOUND_PARTS = {
+            "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+            "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"
+    };
+
+    private HangulJamo() {
+    }
+
+    /**
+     * 자모 분해 (한글 외 문자는 그대로 유지)
+     * @param text 원본 텍스트
+     * @return 자모 나열
+     */
+    public static String decompose(CharSequence text) {
+        StringBuilder jamo = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                int offset = c - SYLLABLE_BASE;
+                jamo.append(CHOSEONG.charAt(offset / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+                jamo.append(JUNGSEONG[(offset / JONGSEONG_COUNT) % JUNGSEONG_COUNT]);
+                jamo.append(JONGSEONG[offset % JONGSEONG_COUNT]);
+            } else {
+                int compound = COMPOUND_JAMO.indexOf(c);
+                if (compound >= 0) {
+                    jamo.append(COMPOUND_PARTS[compound]);
+                } else {
+                    jamo.append(c);
+                }
+            }
+        }
+        return jamo.toString();
+    }
+
+    /**
+     * 초성 추출 (한글 외 문자는 그대로 유지)
+     * @param text 원본 텍스트
+     * @return 초성 나열 (예: "김밥천국" -> "ㄱㅂㅊㄱ")
+     */
+    public static String chosung(CharSequence text) {
+        StringBuilder initials = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSyllable(c)) {
+                initials.append(CHOSEONG.charAt((c - SYLLABLE_BASE) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+            } else {
+                initials.append(c);
+            }
+        }
+        return initials.toString();
+    }
+
+    /**
+     * 완성형 한글 음절 여부
+     * @param c 문자
+     * @return 음절 여부
+     */
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+}
@@ -0,0 +1,356 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 상점 키워드 n-gram 역색인
+ * 상점명, 상점 코드, 설명, 전화번호의 1~3글자 조각(n-gram)마다 해당 상점 번호 목록을 보관한다.
+ * 한글은 음절 단위, 영문/숫자는 소문자 기준으로 색인하며 공백은 무시하므로 "김밥 천국"으로 "김밥천국"을 찾을 수 있다.
+ * 상점은 StoreSlots 번호로 색인하므로 상점이 바뀌면 그 상점의 n-gram 목록만 고친 새 인덱스를 만든다 ({@link #update}).
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class KeywordIndex {
+
+    /**
+     * 색인 대상 필드
+     */
+    public enum Field {
+        NAME, CODE, DESCRIPTION, PHONE
+    }
+
+    // 색인하는 최대 n-gram 길이
+    private static final int MAX_GRAM = 3;
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final StoreSlots slots;
+
+    // 필드별 정규화된 텍스트 [필드][상점 번호] (빈 번호는 null)
+    private final String[][] texts;
+
+    // 필드별 n-gram -> 상점 번호 목록 (오름차순)
+    private final List<Map<String, int[]>> postings;
+
+    private KeywordIndex(StoreSlots slots, String[][] texts, List<Map<String, int[]>> postings) {
+        this.slots = slots;
+        this.texts = texts;
+        this.postings = postings;
+    }
+
+    /**
+     * 인덱스 생성
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @return 키워드 인덱스
+     */
+    public static KeywordIndex build(List<Store> catalog) {
+        return build(StoreSlots.of(catalog));
+    }
+
+    /**
+     * 인덱스 생성
+     * @param slots 상점 번호표
+     * @return 키워드 인덱스
+     */
+    public static KeywordIndex build(StoreSlots slots) {
+        Field[] fields = Field.values();
+        String[][] texts = new String[fields.length][slots.capacity()];
+        List<Map<String, int[]>> postings = new ArrayList<>(fields.length);
+
+        for (Field field : fields) {
+            Map<String, PostingBuilder> builders = new HashMap<>();
+            for (int slot = 0; slot < slots.capacity(); slot++) {
+                Store store = slots.get(slot);
+                if (store == null) {
+                    continue;
+                }
+                String text = normalize(field, fieldValue(store, field));
+                texts[field.ordinal()][slot] = text;
+                addGrams(builders, text, slot);
+            }
+
+            Map<String, int[]> fieldPostings = new HashMap<>(builders.size() * 2);
+            builders.forEach((gram, builder) -> fieldPostings.put(gram, builder.toArray()));
+            postings.add(fieldPostings);
+        }
+
+        return new KeywordIndex(slots, texts, postings);
+    }
+
+    /**
+     * 바뀐 상점만 다시 색인한 새 인덱스 (이 인덱스는 그대로 유지)
+     * Store 객체가 바뀐 번호만 비교하고, 색인 필드가 같으면(이미지만 바뀐 경우 등) n-gram 목록을 그대로 공유한다.
+     * @param next 새 번호표 (이 인덱스의 번호표를 {@link StoreSlots#update}로 갱신한 것)
+     * @return 키워드 인덱스
+     */
+    public KeywordIndex update(StoreSlots next) {
+        Field[] fields = Field.values();
+        String[][] nextTexts = texts.clone();
+        List<Map<String, int[]>> nextPostings = new ArrayList<>(postings);
+        boolean[] copied = new boolean[fields.length];
+
+        for (int slot = 0; slot < next.capacity(); slot++) {
+            Store before = slots.get(slot);
+            Store after = next.get(slot);
+            if (before == after) {
+                continue;
+            }
+            for (Field field : fields) {
+                int f = field.ordinal();
+                String oldText = slot < texts[f].length ? texts[f][slot] : null;
+                String newText = after == null ? null : normalize(field, fieldValue(after, field));
+                if (Objects.equals(oldText, newText)) {
+                    continue;
+                }
+                if (!copied[f]) {
+                    nextTexts[f] = Arrays.copyOf(texts[f], Math.max(texts[f].length, next.capacity()));
+                    nextPostings.set(f, new HashMap<>(postings.get(f)));
+                    copied[f] = true;
+                }
+                nextTexts[f][slot] = newText;
+                Map<String, int[]> fieldPostings = nextPostings.get(f);
+                if (oldText != null) {
+                    for (String gram : grams(oldText)) {
+                        int[] remaining = StoreSlots.without(fieldPostings.getOrDefault(gram, NO_POSTINGS), slot);
+                        if (remaining.length == 0) {
+                            fieldPostings.remove(gram);
+                        } else {
+                            fieldPostings.put(gram, remaining);
+                        }
+                    }
+                }
+                if (newText != null) {
+                    for (String gram : grams(newText)) {
+                        fieldPostings.put(gram, StoreSlots.with(fieldPostings.getOrDefault(gram, NO_POSTINGS), slot));
+                    }
+                }
+            }
+        }
+
+        return new KeywordIndex(next, nextTexts, nextPostings);
+    }
+
+    /**
+     * 키워드로 상점 검색 (상점명, 상점 코드, 설명)
+     * 상점명 일치 > 상점 코드 일치 > 설명 일치 순으로, 같은 필드에서는 완전 일치 > 접두 일치 > 부분 일치 순으로 정렬한다.
+     * @param keyword 검색 키워드
+     * @return 상점 목록
+     */
+    public List<Store> search(String keyword) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        collectScores(Field.NAME, keyword, 300, scores);
+        collectScores(Field.CODE, keyword, 200, scores);
+        collectScores(Field.DESCRIPTION, keyword, 100, scores);
+        return ranked(scores);
+    }
+
+    /**
+     * 상점명으로 검색
+     * @param name 상점명
+     * @return 상점 목록 (완전 일치 > 접두 일치 > 부분 일치, 같은 경우 카탈로그 순서)
+     */
+    public List<Store> searchByName(String name) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        collectScores(Field.NAME, name, 0, scores);
+        return ranked(scores);
+    }
+
+    /**
+     * 전화번호로 검색 (숫자만 비교하므로 하이픈 유무와 무관)
+     * @param phoneNumber 전화번호
+     * @return 상점 목록 (카탈로그 순서)
+     */
+    public List<Store> searchByPhone(String phoneNumber) {
+        String query = normalize(Field.PHONE, phoneNumber);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 같은 점수로 넣어 카탈로그 순서로 정렬
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (int slot : match(Field.PHONE, query)) {
+            scores.put(slot, 0);
+        }
+        return ranked(scores);
+    }
+
+    /**
+     * 색인된 상점 수
+     * @return 상점 수
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * 필드 텍스트 정규화
+     * 유니코드 NFC 정규화 후 소문자로 바꾸고 공백을 제거한다. 전화번호는 숫자만 남긴다.
+     * @param field 필드
+     * @param text 원본 텍스트
+     * @return 정규화된 텍스트
+     */
+    public static String normalize(Field field, String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder normalized = new StringBuilder(composed.length());
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (field == Field.PHONE) {
+                if (c >= '0' && c <= '9') {
+                    normalized.append(c);
+                }
+            } else if (!Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return field == Field.PHONE ? normalized.toString() : normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 필드 점수를 후보 상점에 반영 (상점별 최고 점수 유지, 정규화 후 빈 검색어는 일치 없음)
+     */
+    private void collectScores(Field field, String keyword, int fieldWeight, Map<Integer, Integer> scores) {
+        String query = normalize(field, keyword);
+        if (query.isEmpty()) {
+            return;
+        }
+        int[] matches = match(field, query);
+        for (int slot : matches) {
+            String text = texts[field.ordinal()][slot];
+            int score = fieldWeight + (text.equals(query) ? 30 : text.startsWith(query) ? 20 : 10);
+            scores.merge(slot, score, Math::max);
+        }
+    }
+
+    /**
+     * 부분 문자열 일치 상점 번호 조회
+     * 3글자 이하는 n-gram 목록이 곧 결과이고, 더 긴 검색어는 3-gram 목록을 교집합한 뒤 원문과 대조한다.
+     */
+    private int[] match(Field field, String query) {
+        Map<String, int[]> fieldPostings = postings.get(field.ordinal());
+        if (query.length() <= MAX_GRAM) {
+            return fieldPostings.getOrDefault(query, NO_POSTINGS);
+        }
+
+        int[] candidates = null;
+        for (int start = 0; start + MAX_GRAM <= query.length(); start++) {
+            int[] list = fieldPostings.getOrDefault(query.substring(start, start + MAX_GRAM), NO_POSTINGS);
+            candidates = candidates == null ? list : intersect(candidates, list);
+            if (candidates.length == 0) {
+                return NO_POSTINGS;
+            }
+        }
+
+        String[] fieldTexts = texts[field.ordinal()];
+        int[] verified = new int[candidates.length];
+        int count = 0;
+        for (int i : candidates) {
+            if (fieldTexts[i].contains(query)) {
+                verified[count++] = i;
+            }
+        }
+        return Arrays.copyOf(verified, count);
+    }
+
+    private List<Store> ranked(Map<Integer, Integer> scores) {
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort((a, b) -> !a.getValue().equals(b.getValue())
+                ? Integer.compare(b.getValue(), a.getValue())
+                : Integer.compare(slots.order(a.getKey()), slots.order(b.getKey())));
+
+        List<Store> result = new ArrayList<>(entries.size());
+        for (Map.Entry<Integer, Integer> entry : entries) {
+            result.add(slots.get(entry.getKey()));
+        }
+        return result;
+    }
+
+    private static String fieldValue(Store store, Field field) {
+        switch (field) {
+            case NAME:
+                return store.getStoreName();
+            case CODE:
+                return store.getStoreCode();
+            case DESCRIPTION:
+                return store.getDescription();
+            case PHONE:
+                return store.getPhoneNumber();
+            default:
+                return null;
+        }
+    }
+
+    private static void addGrams(Map<String, PostingBuilder> builders, String text, int slot) {
+        for (int start = 0; start < text.length(); start++) {
+            for (int length = 1; length <= MAX_GRAM && start + length <= text.length(); length++) {
+                builders.computeIfAbsent(text.substring(start, start + length), gram -> new PostingBuilder())
+                        .add(slot);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < text.length(); start++) {
+            for (int length = 1; length <= MAX_GRAM && start + length <= text.length(); length++) {
+                grams.add(text.substring(start, start + length));
+            }
+        }
+        return grams;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 상점 번호 목록 생성기 (같은 상점의 중복 n-gram은 한 번만 추가)
+     */
+    private static final class PostingBuilder {
+
+        private int[] items = new int[4];
+
+        private int size;
+
+        void add(int slot) {
+            if (size > 0 && items[size - 1] == slot) {
+                return;
+            }
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = slot;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
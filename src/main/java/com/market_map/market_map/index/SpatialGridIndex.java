@@ -0,0 +1,519 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * 상점 좌표 격자 공간 인덱스
+ * 지도 이미지 좌표를 고정 크기 셀로 나누어 각 셀에 속한 상점 번호(StoreSlots 번호, 셀마다 오름차순)를 보관한다.
+ * 상점이 바뀌면 그 상점이 속한 셀만 고친 새 인덱스를 만들고 ({@link #update}), 격자 밖 좌표가 생기면 새로 만든다.
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class SpatialGridIndex {
+
+    /**
+     * 기본 셀 크기 (픽셀)
+     */
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    /**
+     * 마커 반경 기본값 (Store.markerRadius 기본값과 동일)
+     */
+    public static final int DEFAULT_MARKER_RADIUS = 10;
+
+    // 셀 개수 상한 (좌표가 넓게 퍼진 경우 셀 크기를 키움)
+    private static final int MAX_CELLS = 1 << 20;
+
+    private static final int[] EMPTY_CELL = new int[0];
+
+    private final StoreSlots slots;
+
+    // 번호별 좌표 색인 여부 (좌표가 없는 상점과 빈 번호는 false)
+    private final boolean[] located;
+
+    private final int count;
+
+    private final int[] xs;
+
+    private final int[] ys;
+
+    private final int[] radii;
+
+    private final int cellSize;
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int columns;
+
+    private final int rows;
+
+    private final int[][] cells;
+
+    private final int maxRadius;
+
+    private SpatialGridIndex(StoreSlots slots, boolean[] located, int count, int[] xs, int[] ys, int[] radii,
+                             int cellSize, int originX, int originY, int columns, int rows, int[][] cells,
+                             int maxRadius) {
+        this.slots = slots;
+        this.located = located;
+        this.count = count;
+        this.xs = xs;
+        this.ys = ys;
+        this.radii = radii;
+        this.cellSize = cellSize;
+        this.originX = originX;
+        this.originY = originY;
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = cells;
+        this.maxRadius = maxRadius;
+    }
+
+    /**
+     * 기본 셀 크기로 인덱스 생성
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @return 공간 인덱스
+     */
+    public static SpatialGridIndex build(List<Store> catalog) {
+        return build(catalog, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * 인덱스 생성 (좌표가 없는 상점은 제외)
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @param requestedCellSize 셀 크기 (픽셀)
+     * @return 공간 인덱스
+     */
+    public static SpatialGridIndex build(List<Store> catalog, int requestedCellSize) {
+        return build(StoreSlots.of(catalog), requestedCellSize);
+    }
+
+    /**
+     * 인덱스 생성 (좌표가 없는 상점은 제외)
+     * @param slots 상점 번호표
+     * @param requestedCellSize 셀 크기 (픽셀)
+     * @return 공간 인덱스
+     */
+    public static SpatialGridIndex build(StoreSlots slots, int requestedCellSize) {
+        int capacity = slots.capacity();
+        boolean[] located = new boolean[capacity];
+        int[] xs = new int[capacity];
+        int[] ys = new int[capacity];
+        int[] radii = new int[capacity];
+        int count = 0;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        int maxRadius = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            Store store = slots.get(i);
+            if (!hasCoordinates(store)) {
+                continue;
+            }
+            located[i] = true;
+            count++;
+            xs[i] = store.getXCoordinate();
+            ys[i] = store.getYCoordinate();
+            radii[i] = markerRadius(store);
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+            maxRadius = Math.max(maxRadius, radii[i]);
+        }
+
+        if (count == 0) {
+            return new SpatialGridIndex(slots, located, 0, xs, ys, radii, Math.max(1, requestedCellSize),
+                    0, 0, 0, 0, new int[0][], 0);
+        }
+
+        int cellSize = Math.max(1, requestedCellSize);
+        long width = (long) maxX - minX + 1;
+        long height = (long) maxY - minY + 1;
+        while (ceilDiv(width, cellSize) * ceilDiv(height, cellSize) > MAX_CELLS) {
+            cellSize *= 2;
+        }
+        int columns = (int) ceilDiv(width, cellSize);
+        int rows = (int) ceilDiv(height, cellSize);
+
+        // 셀별 개수를 먼저 센 뒤 배열을 채워 셀당 리스트 객체 생성을 피함
+        int[] cellOf = new int[capacity];
+        int[] counts = new int[columns * rows];
+        for (int i = 0; i < capacity; i++) {
+            if (located[i]) {
+                int column = (int) (((long) xs[i] - minX) / cellSize);
+                int row = (int) (((long) ys[i] - minY) / cellSize);
+                cellOf[i] = row * columns + column;
+                counts[cellOf[i]]++;
+            }
+        }
+
+        int[][] cells = new int[columns * rows][];
+        for (int c = 0; c < cells.length; c++) {
+            cells[c] = counts[c] == 0 ? EMPTY_CELL : new int[counts[c]];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < capacity; i++) {
+            if (located[i]) {
+                int cell = cellOf[i];
+                cells[cell][counts[cell]++] = i;
+            }
+        }
+
+        return new SpatialGridIndex(slots, located, count, xs, ys, radii, cellSize,
+                minX, minY, columns, rows, cells, maxRadius);
+    }
+
+    /**
+     * 바뀐 상점만 셀에 다시 넣은 새 인덱스 (이 인덱스는 그대로 유지)
+     * 좌표와 마커 반경이 같으면(이미지만 바뀐 경우 등) 셀 배열을 그대로 공유한다.
+     * 새 좌표가 현재 격자 밖이면 격자 범위를 다시 잡기 위해 새로 만든다.
+     * 최대 마커 반경은 줄이지 않는다 (판정 범위가 넓어질 뿐 결과는 같음).
+     * @param next 새 번호표 (이 인덱스의 번호표를 {@link StoreSlots#update}로 갱신한 것)
+     * @return 공간 인덱스
+     */
+    public SpatialGridIndex update(StoreSlots next) {
+        int capacity = Math.max(located.length, next.capacity());
+        boolean[] nextLocated = null;
+        int[] nextXs = null, nextYs = null, nextRadii = null;
+        int[][] nextCells = null;
+        int nextCount = count;
+        int nextMaxRadius = maxRadius;
+
+        for (int slot = 0; slot < next.capacity(); slot++) {
+            Store before = slots.get(slot);
+            Store after = next.get(slot);
+            if (before == after) {
+                continue;
+            }
+            boolean wasLocated = slot < located.length && located[slot];
+            boolean isLocated = hasCoordinates(after);
+            if (wasLocated == isLocated && (!isLocated || (xs[slot] == after.getXCoordinate()
+                    && ys[slot] == after.getYCoordinate() && radii[slot] == markerRadius(after)))) {
+                continue;
+            }
+            if (isLocated && cellOf(after.getXCoordinate(), after.getYCoordinate()) < 0) {
+                return build(next, cellSize);
+            }
+
+            if (nextCells == null) {
+                nextLocated = Arrays.copyOf(located, capacity);
+                nextXs = Arrays.copyOf(xs, capacity);
+                nextYs = Arrays.copyOf(ys, capacity);
+                nextRadii = Arrays.copyOf(radii, capacity);
+                nextCells = cells.clone();
+            }
+            if (wasLocated) {
+                int cell = cellOf(xs[slot], ys[slot]);
+                nextCells[cell] = StoreSlots.without(nextCells[cell], slot);
+                nextLocated[slot] = false;
+                nextCount--;
+            }
+            if (isLocated) {
+                nextXs[slot] = after.getXCoordinate();
+                nextYs[slot] = after.getYCoordinate();
+                nextRadii[slot] = markerRadius(after);
+                int cell = cellOf(nextXs[slot], nextYs[slot]);
+                nextCells[cell] = StoreSlots.with(nextCells[cell], slot);
+                nextLocated[slot] = true;
+                nextCount++;
+                nextMaxRadius = Math.max(nextMaxRadius, nextRadii[slot]);
+            }
+        }
+
+        if (nextCells == null) {
+            return new SpatialGridIndex(next, located, count, xs, ys, radii, cellSize,
+                    originX, originY, columns, rows, cells, maxRadius);
+        }
+        return new SpatialGridIndex(next, nextLocated, nextCount, nextXs, nextYs, nextRadii, cellSize,
+                originX, originY, columns, rows, nextCells, nextMaxRadius);
+    }
+
+    /**
+     * 좌표 범위 내 상점 검색
+     * 기준 좌표에서 가로/세로 모두 반경 이내인 상점을 거리 오름차순으로 반환한다.
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param radius 반경
+     * @return 상점 목록
+     */
+    public List<Store> findWithinBox(int x, int y, int radius) {
+        if (radius < 0 || count == 0) {
+            return Collections.emptyList();
+        }
+
+        // (거리, 카탈로그 순서, 번호)
+        List<long[]> matches = new ArrayList<>();
+        int fromColumn = columnOf((long) x - radius), toColumn = columnOf((long) x + radius);
+        int fromRow = rowOf((long) y - radius), toRow = rowOf((long) y + radius);
+
+        for (int row = Math.max(0, fromRow); row <= Math.min(rows - 1, toRow); row++) {
+            for (int column = Math.max(0, fromColumn); column <= Math.min(columns - 1, toColumn); column++) {
+                for (int i : cells[row * columns + column]) {
+                    if (Math.abs((long) xs[i] - x) <= radius && Math.abs((long) ys[i] - y) <= radius) {
+                        matches.add(new long[] {distanceSquared(i, x, y), slots.order(i), i});
+                    }
+                }
+            }
+        }
+
+        matches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<Store> result = new ArrayList<>(matches.size());
+        for (long[] match : matches) {
+            result.add(slots.get((int) match[2]));
+        }
+        return result;
+    }
+
+    /**
+     * 가장 가까운 상점 검색
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @return 가장 가까운 상점
+     */
+    public Optional<Store> findNearest(int x, int y) {
+        List<Store> nearest = findNearest(x, y, 1);
+        return nearest.isEmpty() ? Optional.empty() : Optional.of(nearest.get(0));
+    }
+
+    /**
+     * 가까운 순서로 상점 k개 검색
+     * 기준 셀에서 바깥쪽 고리 순서로 셀을 탐색하고, 남은 고리가 k번째 거리보다 멀어지면 중단한다.
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param k 최대 개수
+     * @return 거리 오름차순 상점 목록
+     */
+    public List<Store> findNearest(int x, int y, int k) {
+        if (k <= 0 || count == 0) {
+            return Collections.emptyList();
+        }
+
+        // 최대 힙: 가장 먼 후보가 맨 앞 (거리, 카탈로그 순서, 번호)
+        PriorityQueue<long[]> best = new PriorityQueue<>(Math.min(k, count) + 1,
+                (a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+        int centerColumn = columnOf(x);
+        int centerRow = rowOf(y);
+        // 기준 좌표가 격자 밖이면 격자에 닿는 첫 고리부터 탐색
+        int startRing = Math.max(Math.max(-centerColumn, centerColumn - (columns - 1)),
+                Math.max(-centerRow, centerRow - (rows - 1)));
+        startRing = Math.max(0, startRing);
+        int maxRing = Math.max(Math.max(Math.abs(centerColumn), Math.abs(columns - 1 - centerColumn)),
+                Math.max(Math.abs(centerRow), Math.abs(rows - 1 - centerRow)));
+
+        for (int ring = startRing; ring <= maxRing; ring++) {
+            int fromRow = Math.max(0, centerRow - ring);
+            int toRow = Math.min(rows - 1, centerRow + ring);
+            for (int row = fromRow; row <= toRow; row++) {
+                if (row == centerRow - ring || row == centerRow + ring) {
+                    int fromColumn = Math.max(0, centerColumn - ring);
+                    int toColumn = Math.min(columns - 1, centerColumn + ring);
+                    for (int column = fromColumn; column <= toColumn; column++) {
+                        collectNearest(row * columns + column, x, y, k, best);
+                    }
+                } else {
+                    if (centerColumn - ring >= 0 && centerColumn - ring < columns) {
+                        collectNearest(row * columns + centerColumn - ring, x, y, k, best);
+                    }
+                    if (ring > 0 && centerColumn + ring >= 0 && centerColumn + ring < columns) {
+                        collectNearest(row * columns + centerColumn + ring, x, y, k, best);
+                    }
+                }
+            }
+
+            // 다음 고리의 상점은 최소 ring * cellSize 만큼 떨어져 있음
+            if (best.size() == k) {
+                long bound = (long) ring * cellSize;
+                if (best.peek()[0] <= bound * bound) {
+                    break;
+                }
+            }
+        }
+
+        long[][] ordered = best.toArray(new long[0][]);
+        Arrays.sort(ordered, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<Store> result = new ArrayList<>(ordered.length);
+        for (long[] entry : ordered) {
+            result.add(slots.get((int) entry[2]));
+        }
+        return result;
+    }
+
+    /**
+     * 좌표에 놓인 마커 찾기 (지도 클릭/호버 판정)
+     * 각 상점의 마커 반경(최소 tolerance)을 적용하며, 여러 마커가 겹치면 가장 나중에 그려지는(카탈로그 순서가 가장 뒤인) 상점을 반환한다.
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param tolerance 최소 판정 반경
+     * @return 선택된 상점
+     */
+    public Optional<Store> hitTest(int x, int y, int tolerance) {
+        if (count == 0) {
+            return Optional.empty();
+        }
+
+        int minRadius = Math.max(0, tolerance);
+        int reach = Math.max(maxRadius, minRadius);
+        int fromColumn = Math.max(0, columnOf((long) x - reach)), toColumn = Math.min(columns - 1, columnOf((long) x + reach));
+        int fromRow = Math.max(0, rowOf((long) y - reach)), toRow = Math.min(rows - 1, rowOf((long) y + reach));
+
+        int topmost = -1;
+        int topmostOrder = -1;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                for (int i : cells[row * columns + column]) {
+                    long radius = Math.max(radii[i], minRadius);
+                    if (slots.order(i) > topmostOrder && distanceSquared(i, x, y) <= radius * radius) {
+                        topmost = i;
+                        topmostOrder = slots.order(i);
+                    }
+                }
+            }
+        }
+        return topmost < 0 ? Optional.empty() : Optional.of(slots.get(topmost));
+    }
+
+    /**
+     * 클라이언트 오프라인 판정용 히트 격자 생성
+     * 셀별 상점 번호를 CSR 형식(cellStart/cellItems)으로 펼친 배열로 표현한다.
+     * cellItems[cellStart[c] .. cellStart[c+1]) 가 셀 c에 속한 상점 번호이며, 번호는 ids/x/y/r 배열의 위치이다.
+     * 배열은 카탈로그 순서이므로 내부 번호(StoreSlots)와 달리 클라이언트의 그리기 순서와 같다.
+     * @return 히트 격자 데이터
+     */
+    public Map<String, Object> toHitGrid() {
+        // 색인된 번호를 카탈로그 순서로 정렬해 배열 위치를 정함
+        Integer[] bySlot = new Integer[count];
+        int n = 0;
+        for (int slot = 0; slot < located.length; slot++) {
+            if (located[slot]) {
+                bySlot[n++] = slot;
+            }
+        }
+        Arrays.sort(bySlot, (a, b) -> Integer.compare(slots.order(a), slots.order(b)));
+        int[] positionOf = new int[located.length];
+
+        long[] ids = new long[count];
+        int[] zones = new int[count];
+        int[] x = new int[count];
+        int[] y = new int[count];
+        int[] r = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = bySlot[i];
+            Store store = slots.get(slot);
+            positionOf[slot] = i;
+            ids[i] = store.getStoreId() != null ? store.getStoreId() : 0L;
+            zones[i] = store.getZoneNumber() != null ? store.getZoneNumber() : 0;
+            x[i] = xs[slot];
+            y[i] = ys[slot];
+            r[i] = radii[slot];
+        }
+
+        int[] cellStart = new int[cells.length + 1];
+        int[] cellItems = new int[count];
+        int offset = 0;
+        for (int c = 0; c < cells.length; c++) {
+            cellStart[c] = offset;
+            for (int slot : cells[c]) {
+                cellItems[offset++] = positionOf[slot];
+            }
+            Arrays.sort(cellItems, cellStart[c], offset);
+        }
+        cellStart[cells.length] = offset;
+
+        Map<String, Object> grid = new LinkedHashMap<>();
+        grid.put("cellSize", cellSize);
+        grid.put("originX", originX);
+        grid.put("originY", originY);
+        grid.put("columns", columns);
+        grid.put("rows", rows);
+        grid.put("maxRadius", maxRadius);
+        grid.put("ids", ids);
+        grid.put("zones", zones);
+        grid.put("x", x);
+        grid.put("y", y);
+        grid.put("r", r);
+        grid.put("cellStart", cellStart);
+        grid.put("cellItems", cellItems);
+        return grid;
+    }
+
+    /**
+     * 셀의 상점을 k개 후보 힙에 반영
+     */
+    private void collectNearest(int cell, int x, int y, int k, PriorityQueue<long[]> best) {
+        for (int i : cells[cell]) {
+            long[] candidate = {distanceSquared(i, x, y), slots.order(i), i};
+            if (best.size() < k) {
+                best.add(candidate);
+            } else if (best.comparator().compare(candidate, best.peek()) > 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+    }
+
+    /**
+     * 인덱스에 포함된 상점 수
+     * @return 상점 수
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getMaxRadius() {
+        return maxRadius;
+    }
+
+    private long distanceSquared(int i, int x, int y) {
+        long dx = (long) xs[i] - x;
+        long dy = (long) ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * 좌표가 속한 셀 (격자 밖이면 -1)
+     */
+    private int cellOf(int x, int y) {
+        int column = columnOf(x);
+        int row = rowOf(y);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    private int columnOf(long x) {
+        return (int) Math.floorDiv(x - originX, (long) cellSize);
+    }
+
+    private int rowOf(long y) {
+        return (int) Math.floorDiv(y - originY, (long) cellSize);
+    }
+
+    private static boolean hasCoordinates(Store store) {
+        return store != null && store.getXCoordinate() != null && store.getYCoordinate() != null;
+    }
+
+    private static int markerRadius(Store store) {
+        return store.getMarkerRadius() != null ? Math.max(0, store.getMarkerRadius()) : DEFAULT_MARKER_RADIUS;
+    }
+
+    private static long ceilDiv(long value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
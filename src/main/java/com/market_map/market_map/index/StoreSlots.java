@@ -0,0 +1,169 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인덱스 공용 상점 번호표
+ * 상점마다 인덱스 안에서 바뀌지 않는 번호(slot)를 배정해, 상점이 추가/삭제되어도 다른 상점의 색인 항목을 고치지 않게 한다.
+ * 결과 정렬에 쓰는 카탈로그 순서는 번호와 별도로 보관하며 스냅샷마다 다시 계산한다.
+ * 처음 만들 때는 번호가 카탈로그 순서와 같고, 삭제된 상점의 번호는 이후 추가되는 상점이 다시 사용한다.
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class StoreSlots {
+
+    /**
+     * 빈 번호의 카탈로그 순서
+     */
+    public static final int NO_ORDER = -1;
+
+    // 번호 -> 상점 (빈 번호는 null)
+    private final Store[] stores;
+
+    // 번호 -> 카탈로그 순서
+    private final int[] order;
+
+    private final Map<Long, Integer> slotById;
+
+    private StoreSlots(Store[] stores, int[] order, Map<Long, Integer> slotById) {
+        this.stores = stores;
+        this.order = order;
+        this.slotById = slotById;
+    }
+
+    /**
+     * 카탈로그 순서대로 번호 배정
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @return 번호표
+     */
+    public static StoreSlots of(List<Store> catalog) {
+        Store[] stores = catalog.toArray(new Store[0]);
+        int[] order = new int[stores.length];
+        Map<Long, Integer> slotById = new HashMap<>(stores.length * 2);
+        for (int i = 0; i < stores.length; i++) {
+            order[i] = i;
+            slotById.put(stores[i].getStoreId(), i);
+        }
+        return new StoreSlots(stores, order, slotById);
+    }
+
+    /**
+     * 새 카탈로그로 번호표 갱신
+     * 남아 있는 상점은 기존 번호를 유지하고, 사라진 상점의 번호는 비우며, 새 상점은 빈 번호나 끝 번호를 받는다.
+     * 같은 ID라도 Store 객체가 바뀌었으면 인덱스는 그 번호를 다시 색인한다 ({@link #get}을 참조 비교).
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @return 새 번호표
+     */
+    public StoreSlots update(List<Store> catalog) {
+        Store[] nextStores = new Store[Math.max(stores.length, catalog.size())];
+        int[] nextOrder = new int[nextStores.length];
+        Arrays.fill(nextOrder, NO_ORDER);
+        Map<Long, Integer> nextSlotById = new HashMap<>(catalog.size() * 2);
+
+        int[] pending = new int[catalog.size()];
+        int pendingCount = 0;
+        for (int i = 0; i < catalog.size(); i++) {
+            Integer slot = slotById.get(catalog.get(i).getStoreId());
+            if (slot == null) {
+                pending[pendingCount++] = i;
+            } else {
+                nextStores[slot] = catalog.get(i);
+                nextOrder[slot] = i;
+                nextSlotById.put(catalog.get(i).getStoreId(), slot);
+            }
+        }
+
+        int slot = 0;
+        for (int p = 0; p < pendingCount; p++) {
+            while (slot < nextStores.length && nextStores[slot] != null) {
+                slot++;
+            }
+            if (slot == nextStores.length) {
+                nextStores = Arrays.copyOf(nextStores, nextStores.length + pendingCount - p);
+                nextOrder = Arrays.copyOf(nextOrder, nextStores.length);
+            }
+            int position = pending[p];
+            nextStores[slot] = catalog.get(position);
+            nextOrder[slot] = position;
+            nextSlotById.put(catalog.get(position).getStoreId(), slot);
+        }
+
+        return new StoreSlots(nextStores, nextOrder, nextSlotById);
+    }
+
+    /**
+     * 번호의 상점
+     * @param slot 번호
+     * @return 상점 (빈 번호면 null)
+     */
+    public Store get(int slot) {
+        return slot < stores.length ? stores[slot] : null;
+    }
+
+    /**
+     * 번호의 카탈로그 순서
+     * @param slot 번호
+     * @return 카탈로그 순서 (빈 번호면 {@link #NO_ORDER})
+     */
+    public int order(int slot) {
+        return slot < order.length ? order[slot] : NO_ORDER;
+    }
+
+    /**
+     * 번호 범위 (빈 번호 포함)
+     * @return 가장 큰 번호 + 1
+     */
+    public int capacity() {
+        return stores.length;
+    }
+
+    /**
+     * 상점 수
+     * @return 상점 수
+     */
+    public int size() {
+        return slotById.size();
+    }
+
+    /**
+     * 빈 번호가 절반을 넘는지 여부 (인덱스를 새로 만드는 편이 나은 경우)
+     * @return 빈 번호가 많으면 true
+     */
+    public boolean isSparse() {
+        return stores.length > 16 && slotById.size() * 2 < stores.length;
+    }
+
+    /**
+     * 오름차순 번호 목록에 번호를 넣은 새 목록 (이미 있으면 원래 목록)
+     */
+    static int[] with(int[] list, int slot) {
+        int position = Arrays.binarySearch(list, slot);
+        if (position >= 0) {
+            return list;
+        }
+        int insertAt = -position - 1;
+        int[] result = new int[list.length + 1];
+        System.arraycopy(list, 0, result, 0, insertAt);
+        result[insertAt] = slot;
+        System.arraycopy(list, insertAt, result, insertAt + 1, list.length - insertAt);
+        return result;
+    }
+
+    /**
+     * 오름차순 번호 목록에서 번호를 뺀 새 목록 (없으면 원래 목록)
+     */
+    static int[] without(int[] list, int slot) {
+        int position = Arrays.binarySearch(list, slot);
+        if (position < 0) {
+            return list;
+        }
+        int[] result = new int[list.length - 1];
+        System.arraycopy(list, 0, result, 0, position);
+        System.arraycopy(list, position + 1, result, position, list.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,457 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 상점명 자동완성 트라이
+ * 상점명(및 각 단어 시작 위치)의 자모 분해 문자열과 초성 문자열, 상점 코드를 키로 저장하고
+ * 노드마다 상위 추천 상점을 미리 계산해 두므로 조회는 검색어 길이만큼 트라이를 내려가는 것으로 끝난다.
+ * 상점은 StoreSlots 번호로 저장하며, 상점이 바뀌면 그 상점의 키가 지나는 노드만 복사해 고친 새 트라이를 만든다 ({@link #update}).
+ * 생성 이후 변경되지 않으므로 여러 스레드에서 동시에 조회해도 안전하다.
+ */
+public final class TypeaheadIndex {
+
+    /**
+     * 노드별로 보관하는 최대 추천 수
+     */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    // 일치 종류 (작을수록 우선)
+    private static final int MATCH_NAME = 0;
+
+    private static final int MATCH_WORD = 1;
+
+    private static final int MATCH_CHOSUNG = 2;
+
+    private static final int MATCH_WORD_CHOSUNG = 3;
+
+    private static final int MATCH_CODE = 4;
+
+    private final StoreSlots slots;
+
+    private final Node root;
+
+    private TypeaheadIndex(StoreSlots slots, Node root) {
+        this.slots = slots;
+        this.root = root;
+    }
+
+    /**
+     * 트라이 생성
+     * @param catalog 카탈로그 순서로 정렬된 상점 목록
+     * @return 자동완성 인덱스
+     */
+    public static TypeaheadIndex build(List<Store> catalog) {
+        return build(StoreSlots.of(catalog));
+    }
+
+    /**
+     * 트라이 생성
+     * @param slots 상점 번호표
+     * @return 자동완성 인덱스
+     */
+    public static TypeaheadIndex build(StoreSlots slots) {
+        Node root = new Node();
+        for (int slot = 0; slot < slots.capacity(); slot++) {
+            for (Key key : keys(slots.get(slot), slot)) {
+                insert(root, key.text, key.rank);
+            }
+        }
+        return new TypeaheadIndex(slots, root);
+    }
+
+    /**
+     * 바뀐 상점의 키만 고친 새 트라이 (이 트라이는 그대로 유지)
+     * 키가 지나는 노드만 복사해 키 끝 노드의 순위를 빼고/넣은 뒤, 거꾸로 올라오며 상위 추천을 다시 계산한다.
+     * 키가 같으면(이미지만 바뀐 경우 등) 트라이를 그대로 공유한다.
+     * 같은 순위의 상점은 번호 순으로 정렬하므로, 새로 만든 직후에는 카탈로그 순서와 같고 이후 추가된 상점은 빈 번호 자리를 따른다.
+     * @param next 새 번호표 (이 인덱스의 번호표를 {@link StoreSlots#update}로 갱신한 것)
+     * @return 자동완성 인덱스
+     */
+    public TypeaheadIndex update(StoreSlots next) {
+        List<Key> edits = new ArrayList<>();
+        for (int slot = 0; slot < next.capacity(); slot++) {
+            Store before = slots.get(slot);
+            Store after = next.get(slot);
+            if (before == after) {
+                continue;
+            }
+            List<Key> removed = keys(before, slot);
+            List<Key> added = keys(after, slot);
+            if (removed.equals(added)) {
+                continue;
+            }
+            for (Key key : removed) {
+                edits.add(key.removal());
+            }
+            edits.addAll(added);
+        }
+
+        if (edits.isEmpty()) {
+            return new TypeaheadIndex(next, root);
+        }
+        edits.sort((a, b) -> a.text.compareTo(b.text));
+        Node nextRoot = edit(root, edits, 0, edits.size(), 0);
+        return new TypeaheadIndex(next, nextRoot != null ? nextRoot : new Node());
+    }
+
+    /**
+     * 검색어로 시작하는 상점 추천
+     * 완성형("김밥"), 입력 중인 음절("김바"), 초성("ㄱㅂ"), 상점 코드 접두어를 모두 처리한다.
+     * @param query 검색어
+     * @param limit 최대 추천 수 (최대 {@value #MAX_SUGGESTIONS})
+     * @return 추천 상점 목록 (상점명 시작 일치 > 단어 시작 일치 > 초성 일치 > 코드 일치 순)
+     */
+    public List<Store> suggest(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        String key = HangulJamo.decompose(normalize(query));
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        int count = Math.min(Math.min(limit, MAX_SUGGESTIONS), node.topSize);
+        List<Store> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(slots.get(slotOf(node.top[i])));
+        }
+        return result;
+    }
+
+    /**
+     * 색인된 상점 수
+     * @return 상점 수
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * 상점의 트라이 키 목록 (빈 번호는 빈 목록)
+     */
+    private static List<Key> keys(Store store, int slot) {
+        List<Key> keys = new ArrayList<>();
+        if (store == null) {
+            return keys;
+        }
+
+        String name = store.getStoreName() == null ? "" : normalize(store.getStoreName());
+        int length = name.length();
+
+        addKey(keys, HangulJamo.decompose(name), rank(MATCH_NAME, length, slot));
+        addKey(keys, HangulJamo.chosung(name), rank(MATCH_CHOSUNG, length, slot));
+
+        // 두 번째 단어부터 시작하는 키 (예: "행복 김밥" -> "김밥")
+        for (int start : wordStarts(store.getStoreName())) {
+            if (start >= length) {
+                break;
+            }
+            String suffix = name.substring(start);
+            addKey(keys, HangulJamo.decompose(suffix), rank(MATCH_WORD, length, slot));
+            addKey(keys, HangulJamo.chosung(suffix), rank(MATCH_WORD_CHOSUNG, length, slot));
+        }
+
+        if (store.getStoreCode() != null) {
+            addKey(keys, normalize(store.getStoreCode()), rank(MATCH_CODE, length, slot));
+        }
+        return keys;
+    }
+
+    private static void addKey(List<Key> keys, String text, long rank) {
+        if (!text.isEmpty()) {
+            keys.add(new Key(text, rank, true));
+        }
+    }
+
+    /**
+     * 검색어/키 정규화 (NFC, 소문자, 공백 제거)
+     */
+    private static String normalize(String text) {
+        return KeywordIndex.normalize(KeywordIndex.Field.NAME, text);
+    }
+
+    /**
+     * 정규화된 상점명 기준 두 번째 이후 단어의 시작 위치
+     */
+    private static List<Integer> wordStarts(String name) {
+        List<Integer> starts = new ArrayList<>();
+        if (name == null) {
+            return starts;
+        }
+
+        String[] words = name.trim().split("\\s+");
+        int offset = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (i > 0 && !words[i].isEmpty()) {
+                starts.add(offset);
+            }
+            offset += normalize(words[i]).length();
+        }
+        return starts;
+    }
+
+    /**
+     * 순위 값 (일치 종류, 상점명 길이, 상점 번호 순으로 비교)
+     */
+    private static long rank(int matchType, int nameLength, int slot) {
+        return ((long) matchType << 48) | ((long) Math.min(nameLength, 0xFFFF) << 32) | slot;
+    }
+
+    private static int slotOf(long rank) {
+        return (int) (rank & 0xFFFFFFFFL);
+    }
+
+    private static void insert(Node root, String key, long rank) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(rank);
+        }
+        node.addTerminal(rank);
+    }
+
+    /**
+     * 키 변경 적용 (edits[from, to)는 키 순으로 정렬되어 있고 앞 depth 글자가 같음)
+     * 원래 노드는 고치지 않고 복사본을 반환하며, 키와 자식이 모두 없어진 노드는 null을 반환한다.
+     */
+    private static Node edit(Node node, List<Key> edits, int from, int to, int depth) {
+        Node copy = node != null ? node.copy() : new Node();
+
+        int i = from;
+        while (i < to && edits.get(i).text.length() == depth) {
+            Key key = edits.get(i++);
+            if (key.add) {
+                copy.addTerminal(key.rank);
+            } else {
+                copy.removeTerminal(key.rank);
+            }
+        }
+
+        while (i < to) {
+            char label = edits.get(i).text.charAt(depth);
+            int end = i;
+            while (end < to && edits.get(end).text.charAt(depth) == label) {
+                end++;
+            }
+            copy.setChild(label, edit(copy.child(label), edits, i, end, depth + 1));
+            i = end;
+        }
+
+        if (copy.terminals.length == 0 && copy.labels.length == 0) {
+            return null;
+        }
+        copy.recomputeTop();
+        return copy;
+    }
+
+    /**
+     * 트라이 키 (상점 하나의 키 문자열과 순위, 변경 시 추가/삭제 구분)
+     */
+    private static final class Key {
+
+        private final String text;
+
+        private final long rank;
+
+        private final boolean add;
+
+        private Key(String text, long rank, boolean add) {
+            this.text = text;
+            this.rank = rank;
+            this.add = add;
+        }
+
+        Key removal() {
+            return new Key(text, rank, false);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return text.equals(other.text) && rank == other.rank && add == other.add;
+        }
+
+        @Override
+        public int hashCode() {
+            return text.hashCode() * 31 + Long.hashCode(rank);
+        }
+    }
+
+    /**
+     * 트라이 노드 (자식은 문자 오름차순 배열로 보관)
+     * 생성 중에만 고치며, 변경은 {@link #copy}한 노드에 적용한다.
+     */
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private static final long[] NO_RANKS = new long[0];
+
+        private char[] labels = NO_LABELS;
+
+        private Node[] children = NO_CHILDREN;
+
+        // 이 노드에서 끝나는 키의 순위 값 (상위 추천 재계산용)
+        private long[] terminals = NO_RANKS;
+
+        // 상위 추천 순위 값 (오름차순)
+        private long[] top = new long[2];
+
+        private int topSize;
+
+        Node copy() {
+            Node copy = new Node();
+            copy.labels = labels;
+            copy.children = children;
+            copy.terminals = terminals;
+            copy.top = top;
+            copy.topSize = topSize;
+            return copy;
+        }
+
+        Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0) {
+                return children[position];
+            }
+
+            int insertAt = -position - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        /**
+         * 자식 교체 (null이면 제거, 배열은 새로 만들어 원래 노드와 공유하지 않음)
+         */
+        void setChild(char label, Node child) {
+            int position = Arrays.binarySearch(labels, label);
+            if (position >= 0 && child != null) {
+                children = children.clone();
+                children[position] = child;
+            } else if (position >= 0) {
+                char[] newLabels = new char[labels.length - 1];
+                Node[] newChildren = new Node[children.length - 1];
+                System.arraycopy(labels, 0, newLabels, 0, position);
+                System.arraycopy(children, 0, newChildren, 0, position);
+                System.arraycopy(labels, position + 1, newLabels, position, labels.length - position - 1);
+                System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+                labels = newLabels;
+                children = newChildren;
+            } else if (child != null) {
+                childOrCreate(label);
+                children[Arrays.binarySearch(labels, label)] = child;
+            }
+        }
+
+        void addTerminal(long rank) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = rank;
+        }
+
+        void removeTerminal(long rank) {
+            for (int i = 0; i < terminals.length; i++) {
+                if (terminals[i] == rank) {
+                    long[] remaining = new long[terminals.length - 1];
+                    System.arraycopy(terminals, 0, remaining, 0, i);
+                    System.arraycopy(terminals, i + 1, remaining, i, terminals.length - i - 1);
+                    terminals = remaining;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 이 노드에서 끝나는 키와 자식들의 상위 추천으로 상위 추천 재계산
+         * 하위 트리에서 상위에 드는 상점은 반드시 그 상점의 최고 순위가 있는 자식의 상위 추천에도 들어 있다.
+         */
+        void recomputeTop() {
+            int candidates = terminals.length;
+            for (Node child : children) {
+                candidates += child.topSize;
+            }
+            long[] merged = Arrays.copyOf(terminals, candidates);
+            int offset = terminals.length;
+            for (Node child : children) {
+                System.arraycopy(child.top, 0, merged, offset, child.topSize);
+                offset += child.topSize;
+            }
+            Arrays.sort(merged);
+
+            top = NO_RANKS;
+            topSize = 0;
+            for (long rank : merged) {
+                if (topSize == MAX_SUGGESTIONS) {
+                    break;
+                }
+                offer(rank);
+            }
+        }
+
+        /**
+         * 추천 후보 추가 (같은 상점은 더 좋은 순위 하나만 유지)
+         */
+        void offer(long rank) {
+            int slot = slotOf(rank);
+            for (int i = 0; i < topSize; i++) {
+                if (slotOf(top[i]) == slot) {
+                    if (top[i] <= rank) {
+                        return;
+                    }
+                    System.arraycopy(top, i + 1, top, i, topSize - i - 1);
+                    topSize--;
+                    break;
+                }
+            }
+
+            if (topSize == MAX_SUGGESTIONS && top[topSize - 1] <= rank) {
+                return;
+            }
+
+            int insertAt = topSize;
+            while (insertAt > 0 && top[insertAt - 1] > rank) {
+                insertAt--;
+            }
+            if (topSize == top.length) {
+                top = Arrays.copyOf(top, Math.min(Math.max(top.length * 2, 2), MAX_SUGGESTIONS));
+            }
+            int moved = Math.min(topSize, MAX_SUGGESTIONS - 1) - insertAt;
+            System.arraycopy(top, insertAt, top, insertAt + 1, moved);
+            top[insertAt] = rank;
+            topSize = Math.min(topSize + 1, MAX_SUGGESTIONS);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.market_map.market_map.repository;
+
+import com.market_map.market_map.entity.SearchKeywordRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SearchKeywordRollupRepository extends JpaRepository<SearchKeywordRollup, Long> {
+    
+    /**
+     * 기간 내 키워드별 검색 횟수 합계 (집계 테이블 기준)
+     * @param granularity 집계 단위
+     * @param since 시작 시각
+     * @return List<Object[]> (키워드, 횟수)
+     */
+    @Query("SELECT r.searchKeyword, SUM(r.searchCount) FROM SearchKeywordRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :since AND r.searchKeyword <> '' " +
+           "GROUP BY r.searchKeyword")
+    List<Object[]> sumByKeywordSince(@Param("granularity") SearchKeywordRollup.Granularity granularity,
+                                     @Param("since") LocalDateTime since);
+    
+    /**
+     * 기간 내 검색 타입별 검색 횟수 합계 (집계 테이블 기준)
+     * @param granularity 집계 단위
+     * @param since 시작 시각
+     * @return List<Object[]> (검색 타입, 횟수)
+     */
+    @Query("SELECT r.searchType, SUM(r.searchCount) FROM SearchKeywordRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :since " +
+           "GROUP BY r.searchType")
+    List<Object[]> sumBySearchTypeSince(@Param("granularity") SearchKeywordRollup.Granularity granularity,
+                                        @Param("since") LocalDateTime since);
+    
+    /**
+     * 오래된 집계 삭제
+     * @param granularity 집계 단위
+     * @param before 기준 시각
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM SearchKeywordRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteByGranularityAndBucketStartBefore(@Param("granularity") SearchKeywordRollup.Granularity granularity,
+                                                @Param("before") LocalDateTime before);
+}
@@ -58,7 +58,7 @@ public interface SearchLogRepository extends JpaRepository<SearchLog, Long> {
      * 오늘의 검색 로그 수
      * @return long
      */
-    @Query("SELECT COUNT(sl) FROM SearchLog sl WHERE DATE(sl.searchedAt) = CURRENT_DATE")
+    @Query("SELECT COUNT(sl) FROM SearchLog sl WHERE CAST(sl.searchedAt AS LocalDate) = CURRENT_DATE")
     long countTodaySearches();
     
     /**
@@ -2,10 +2,12 @@ package com.market_map.market_map.repository;
 
 import com.market_map.market_map.entity.StoreImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -39,9 +41,39 @@ public interface StoreImageRepository extends JpaRepository<StoreImage, Long> {
      * @param storeId 상점 ID
      * @return List<Map<String, Object>>
      */
-    @Query("SELECT new map(si.imageId as imageId, si.imageUrl as imageUrl, si.imageType as imageType, si.displayOrder as displayOrder, si.isActive as isActive, si.uploadedAt as uploadedAt) FROM StoreImage si WHERE si.store.storeId = :storeId AND (si.isActive = true OR si.isActive IS NULL)")
+    @Query("SELECT new map(si.imageId as imageId, si.imageUrl as imageUrl, si.thumbnailUrl as thumbnailUrl, si.popupUrl as popupUrl, si.fullUrl as fullUrl, si.imageType as imageType, si.displayOrder as displayOrder, si.isActive as isActive, si.uploadedAt as uploadedAt) FROM StoreImage si WHERE si.store.storeId = :storeId AND (si.isActive = true OR si.isActive IS NULL)")
     List<Map<String, Object>> findImageDataByStoreId(@Param("storeId") Long storeId);
     
+    /**
+     * 여러 상점의 이미지 목록 일괄 조회 (상점 ID, 표시 순서대로)
+     * @param storeIds 상점 ID 목록
+     * @return List<Map<String, Object>>
+     */
+    @Query("SELECT new map(si.store.storeId as storeId, si.imageId as imageId, si.imageUrl as imageUrl, si.thumbnailUrl as thumbnailUrl, si.popupUrl as popupUrl, si.fullUrl as fullUrl, si.imageType as imageType, si.displayOrder as displayOrder, si.isActive as isActive, si.uploadedAt as uploadedAt) FROM StoreImage si WHERE si.store.storeId IN :storeIds AND (si.isActive = true OR si.isActive IS NULL) ORDER BY si.store.storeId ASC, si.displayOrder ASC, si.imageId ASC")
+    List<Map<String, Object>> findImageDataByStoreIds(@Param("storeIds") Collection<Long> storeIds);
+    
+    /**
+     * 활성 상점 전체의 이미지 목록 조회 (상점 ID, 표시 순서대로)
+     * @return List<Map<String, Object>>
+     */
+    @Query("SELECT new map(si.store.storeId as storeId, si.imageId as imageId, si.imageUrl as imageUrl, si.thumbnailUrl as thumbnailUrl, si.popupUrl as popupUrl, si.fullUrl as fullUrl, si.imageType as imageType, si.displayOrder as displayOrder, si.isActive as isActive, si.uploadedAt as uploadedAt) FROM StoreImage si WHERE si.store.isActive = true AND (si.isActive = true OR si.isActive IS NULL) ORDER BY si.store.storeId ASC, si.displayOrder ASC, si.imageId ASC")
+    List<Map<String, Object>> findImageDataForActiveStores();
+    
+    /**
+     * 상점별 대표 이미지 URL 일괄 조회 (썸네일이 있으면 썸네일, 표시 순서대로)
+     * @return List<Object[]> (상점 ID, 이미지 URL)
+     */
+    @Query("SELECT si.store.storeId, COALESCE(si.thumbnailUrl, si.imageUrl) FROM StoreImage si WHERE si.imageType = 'MAIN' AND (si.isActive = true OR si.isActive IS NULL) ORDER BY si.displayOrder ASC, si.imageId ASC")
+    List<Object[]> findActiveMainImageUrls();
+    
+    /**
+     * 상점의 대표 이미지 URL 조회 (썸네일이 있으면 썸네일, 표시 순서대로)
+     * @param storeId 상점 ID
+     * @return List<String>
+     */
+    @Query("SELECT COALESCE(si.thumbnailUrl, si.imageUrl) FROM StoreImage si WHERE si.store.storeId = :storeId AND si.imageType = 'MAIN' AND (si.isActive = true OR si.isActive IS NULL) ORDER BY si.displayOrder ASC, si.imageId ASC")
+    List<String> findActiveMainImageUrlsByStoreId(@Param("storeId") Long storeId);
+    
     /**
      * 상점의 대표 이미지 조회
      * @param storeId 상점 ID
@@ -73,6 +105,36 @@ public interface StoreImageRepository extends JpaRepository<StoreImage, Long> {
      */
     long countByStoreStoreIdAndImageType(Long storeId, StoreImage.ImageType imageType);
     
+    /**
+     * 상점별 이미지 수 일괄 조회 (is_active가 true이거나 null인 경우 포함)
+     * @return List<Object[]> (상점 ID, 이미지 수)
+     */
+    @Query("SELECT si.store.storeId, COUNT(si) FROM StoreImage si WHERE si.isActive = true OR si.isActive IS NULL GROUP BY si.store.storeId")
+    List<Object[]> countActiveImagesGroupByStoreId();
+    
+    /**
+     * 상점의 이미지 수 조회 (is_active가 true이거나 null인 경우 포함)
+     * @param storeId 상점 ID
+     * @return long
+     */
+    @Query("SELECT COUNT(si) FROM StoreImage si WHERE si.store.storeId = :storeId AND (si.isActive = true OR si.isActive IS NULL)")
+    long countActiveImagesByStoreId(@Param("storeId") Long storeId);
+    
+    /**
+     * 파생 이미지 URL 저장
+     * @param imageId 이미지 ID
+     * @param thumbnailUrl 썸네일 URL
+     * @param popupUrl 팝업용 이미지 URL
+     * @param fullUrl 전체 화면용 이미지 URL
+     * @return 수정된 행 수
+     */
+    @Modifying
+    @Query("UPDATE StoreImage si SET si.thumbnailUrl = :thumbnailUrl, si.popupUrl = :popupUrl, si.fullUrl = :fullUrl WHERE si.imageId = :imageId")
+    int updateDerivativeUrls(@Param("imageId") Long imageId,
+                             @Param("thumbnailUrl") String thumbnailUrl,
+                             @Param("popupUrl") String popupUrl,
+                             @Param("fullUrl") String fullUrl);
+    
     /**
      * 상점별 이미지 삭제
      * @param storeId 상점 ID
@@ -14,12 +14,32 @@ import java.util.Optional;
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long> {
     
+    // 카탈로그 조회 컬럼 (지연 로딩 연관관계 제외)
+    String CATALOG_COLUMNS = "s.storeId, s.storeName, s.storeCode, s.zoneNumber, s.phoneNumber, s.address, s.detailAddress, "
+            + "s.xCoordinate, s.yCoordinate, s.markerRadius, s.businessHours, s.description, s.isActive, s.createdAt, s.updatedAt";
+    
     /**
      * 활성 상점 목록 조회
      * @return List<Store>
      */
     List<Store> findByIsActiveTrueOrderByZoneNumberAscStoreCodeAsc();
     
+    /**
+     * 카탈로그용 활성 상점 컬럼 조회 (엔티티/연관관계 프록시를 만들지 않음)
+     * 컬럼 순서는 StoreCatalogCache.toStore 참고
+     * @return List<Object[]> (상점 ID, 상점명, 상점 코드, 구역, 전화번호, 주소, 상세 주소, X, Y, 마커 반경, 영업시간, 설명, 활성 여부, 생성 시각, 수정 시각)
+     */
+    @Query("SELECT " + CATALOG_COLUMNS + " FROM Store s WHERE s.isActive = true ORDER BY s.zoneNumber ASC, s.storeCode ASC")
+    List<Object[]> findActiveCatalogRows();
+    
+    /**
+     * 카탈로그용 활성 상점 컬럼 조회 (상점 하나)
+     * @param storeId 상점 ID
+     * @return List<Object[]> (findActiveCatalogRows와 같은 컬럼, 비활성 상점이면 빈 목록)
+     */
+    @Query("SELECT " + CATALOG_COLUMNS + " FROM Store s WHERE s.storeId = :storeId AND s.isActive = true")
+    List<Object[]> findActiveCatalogRowById(@Param("storeId") Long storeId);
+    
     /**
      * 구역별 활성 상점 목록 조회
      * @param zoneNumber 구역 번호
@@ -42,38 +62,6 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
      */
     Optional<Store> findByStoreCodeAndIsActiveTrue(String storeCode);
     
-    /**
-     * 좌표 범위 내 상점 검색
-     * @param x X 좌표
-     * @param y Y 좌표
-     * @param radius 반경
-     * @return List<Store>
-     */
-    @Query("SELECT s FROM Store s WHERE s.isActive = true AND " +
-           "ABS(s.xCoordinate - :x) <= :radius AND ABS(s.yCoordinate - :y) <= :radius " +
-           "ORDER BY (POWER(s.xCoordinate - :x, 2) + POWER(s.yCoordinate - :y, 2))")
-    List<Store> findStoresByCoordinatesWithinRadius(@Param("x") Integer x, @Param("y") Integer y, @Param("radius") Integer radius);
-    
-    /**
-     * 좌표로 가장 가까운 상점 검색
-     * @param x X 좌표
-     * @param y Y 좌표
-     * @return Optional<Store>
-     */
-    @Query("SELECT s FROM Store s WHERE s.isActive = true ORDER BY " +
-           "(POWER(s.xCoordinate - :x, 2) + POWER(s.yCoordinate - :y, 2)) ASC")
-    Optional<Store> findNearestStoreByCoordinates(@Param("x") Integer x, @Param("y") Integer y);
-    
-    /**
-     * 전체 텍스트 검색 (상점명, 설명)
-     * @param keyword 검색 키워드
-     * @return List<Store>
-     */
-    @Query("SELECT s FROM Store s WHERE s.isActive = true AND " +
-           "(s.storeName LIKE %:keyword% OR s.storeCode LIKE %:keyword% OR s.description LIKE %:keyword%) " +
-           "ORDER BY s.zoneNumber, s.storeCode")
-    List<Store> searchStoresByKeyword(@Param("keyword") String keyword);
-    
     /**
      * 전화번호로 상점 검색
      * @param phoneNumber 전화번호
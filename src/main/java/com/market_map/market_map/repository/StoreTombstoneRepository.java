@@ -0,0 +1,32 @@
+package com.market_map.market_map.repository;
+
+import com.market_map.market_map.entity.StoreTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StoreTombstoneRepository extends JpaRepository<StoreTombstone, Long> {
+    
+    /**
+     * 기준 시각 이후 삭제된 상점별 마지막 삭제 시각 조회
+     * @param since 기준 시각 (포함)
+     * @return List<Object[]> [storeId, deletedAt]
+     */
+    @Query("SELECT t.storeId, MAX(t.deletedAt) FROM StoreTombstone t WHERE t.deletedAt >= :since GROUP BY t.storeId")
+    List<Object[]> findLastDeletedAtSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * 보관 기간이 지난 삭제 기록 삭제
+     * @param before 기준 시각
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM StoreTombstone t WHERE t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,320 @@
+package com.market_map.market_map.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상점 이미지 파생본 생성 서비스
+ * 업로드된 원본을 썸네일/팝업/전체 화면 크기의 JPEG로 다시 인코딩해 원본 옆에 저장하고 URL을 store_images에 기록한다.
+ * 요청 스레드를 막지 않도록 전용 스레드 풀에서 처리하며, 생성 전까지 API는 원본 URL을 돌려준다.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    /**
+     * 파생 이미지 규격 (긴 변 기준 최대 픽셀, 큰 것부터 순서대로 생성)
+     */
+    public enum Derivative {
+        FULL("full", 1600),
+        POPUP("popup", 720),
+        THUMBNAIL("thumb", 240);
+
+        private final String suffix;
+
+        private final int maxSize;
+
+        Derivative(String suffix, int maxSize) {
+            this.suffix = suffix;
+            this.maxSize = maxSize;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+    }
+
+    @Autowired
+    private StoreService storeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.image-derivatives.threads:2}")
+    private int threads;
+
+    @Value("${app.image-derivatives.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.image-derivatives.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
+        // 대기열 길이, 실행 중인 작업 수, 작업 시간
+        new ExecutorServiceMetrics(executor, "image_derivatives", List.of()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("파생 이미지 생성 작업 {}건이 종료 전에 완료되지 않았습니다.", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 파생 이미지 생성 예약 (즉시 반환)
+     * @param imageId 이미지 ID (store_images 행이 커밋된 뒤 호출해야 함)
+     * @param original 원본 파일 경로
+     * @param originalUrl 원본 웹 경로
+     */
+    public void generateAsync(Long imageId, Path original, String originalUrl) {
+        try {
+            executor.execute(() -> generate(imageId, original, originalUrl));
+        } catch (RejectedExecutionException e) {
+            // 대기열이 가득 찬 경우 원본만 사용
+            logger.warn("파생 이미지 생성 대기열이 가득 차 건너뜀 - imageId: {}", imageId);
+        }
+    }
+
+    /**
+     * 파생 이미지 생성 후 URL 저장
+     * @param imageId 이미지 ID
+     * @param original 원본 파일 경로
+     * @param originalUrl 원본 웹 경로
+     * @return 생성 성공 여부
+     */
+    public boolean generate(Long imageId, Path original, String originalUrl) {
+        long startTime = System.currentTimeMillis();
+        String result = "error";
+        try {
+            if (derivativesExist(original)) {
+                // 같은 내용의 원본은 같은 경로에 저장되므로 이미 만든 파생 이미지를 그대로 사용
+                boolean updated = storeService.updateImageDerivatives(imageId, derivativeUrl(originalUrl, Derivative.THUMBNAIL),
+                        derivativeUrl(originalUrl, Derivative.POPUP), derivativeUrl(originalUrl, Derivative.FULL));
+                result = "reused";
+                return updated;
+            }
+
+            BufferedImage source = read(original, Derivative.FULL.getMaxSize());
+            if (source == null) {
+                logger.warn("파생 이미지를 만들 수 없는 형식 - imageId: {}, 파일: {}", imageId, original);
+                result = "unsupported";
+                return false;
+            }
+
+            Map<Derivative, String> urls = new EnumMap<>(Derivative.class);
+            BufferedImage current = toRgb(source);
+            for (Derivative derivative : Derivative.values()) {
+                // 이전 단계 결과를 다시 줄여 큰 원본을 반복해서 처리하지 않음
+                current = resize(current, derivative.getMaxSize());
+                writeJpeg(current, derivativePath(original, derivative));
+                urls.put(derivative, derivativeUrl(originalUrl, derivative));
+            }
+
+            boolean updated = storeService.updateImageDerivatives(imageId,
+                    urls.get(Derivative.THUMBNAIL), urls.get(Derivative.POPUP), urls.get(Derivative.FULL));
+            result = "created";
+            logger.debug("파생 이미지 생성 완료 - imageId: {}, {}ms", imageId, System.currentTimeMillis() - startTime);
+            return updated;
+        } catch (Exception e) {
+            logger.error("파생 이미지 생성 중 오류 발생 - imageId: {}: {}", imageId, e.getMessage(), e);
+            return false;
+        } finally {
+            meterRegistry.timer("market_map.image_derivatives.duration", "result", result)
+                    .record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 파생 이미지 파일 경로 (원본과 같은 디렉토리, 예: a.png -> a_thumb.jpg)
+     * @param original 원본 파일 경로
+     * @param derivative 파생 이미지 규격
+     * @return 파일 경로
+     */
+    public static Path derivativePath(Path original, Derivative derivative) {
+        return original.resolveSibling(derivativeName(original.getFileName().toString(), derivative));
+    }
+
+    /**
+     * 파생 이미지 웹 경로
+     * @param originalUrl 원본 웹 경로
+     * @param derivative 파생 이미지 규격
+     * @return 웹 경로
+     */
+    public static String derivativeUrl(String originalUrl, Derivative derivative) {
+        int slash = originalUrl.lastIndexOf('/');
+        return originalUrl.substring(0, slash + 1) + derivativeName(originalUrl.substring(slash + 1), derivative);
+    }
+
+    private static boolean derivativesExist(Path original) {
+        for (Derivative derivative : Derivative.values()) {
+            if (!Files.exists(derivativePath(original, derivative))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String derivativeName(String fileName, Derivative derivative) {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return baseName + "_" + derivative.getSuffix() + ".jpg";
+    }
+
+    /**
+     * 이미지 읽기 (목표 크기의 2배를 넘는 큰 이미지는 디코딩 단계에서 건너뛰며 읽어 메모리 사용을 줄임)
+     */
+    private static BufferedImage read(Path file, int maxSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, longest / (maxSize * 2));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 투명 영역을 흰색으로 채운 RGB 이미지로 변환 (JPEG 저장용)
+     */
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * 긴 변이 maxSize 이하가 되도록 축소 (확대하지 않음)
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 단계적으로 줄인다.
+     */
+    private static BufferedImage resize(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = (double) maxSize / Math.max(width, height);
+        if (scale >= 1.0) {
+            return source;
+        }
+
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        while (width != targetWidth || height != targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        }
+        return current;
+    }
+
+    /**
+     * JPEG로 저장 (임시 파일에 쓴 뒤 이동하므로 읽는 쪽에서 반쯤 쓰인 파일을 보지 않음)
+     */
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".derivative-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
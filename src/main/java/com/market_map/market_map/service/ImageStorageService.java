@@ -0,0 +1,239 @@
+package com.market_map.market_map.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소 기반 이미지 저장소
+ * 파일 내용의 SHA-256 해시를 파일명으로 사용해 /uploads/cas/{해시 앞 2자리}/{다음 2자리}/{해시}.{확장자}에 저장한다.
+ * 같은 내용은 같은 경로에 한 번만 저장되고, 경로가 가리키는 내용이 바뀌지 않으므로 브라우저가 영구 캐시할 수 있다.
+ * 확장자는 파일명이 아니라 파일 시그니처로 정한다.
+ */
+@Service
+public class ImageStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    /**
+     * 내용 주소 저장소 웹 경로
+     */
+    public static final String URL_PREFIX = "/uploads/cas/";
+
+    // 형식 판별에 필요한 파일 앞부분 길이 (WEBP: RIFF....WEBP)
+    private static final int SIGNATURE_LENGTH = 12;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 저장소가 만드는 웹 경로 형식 (/uploads/cas/ab/cd/{SHA-256}.{확장자})
+    private static final Pattern STORED_URL = Pattern.compile(
+            Pattern.quote(URL_PREFIX) + "([0-9a-f]{2})/([0-9a-f]{2})/\\1\\2[0-9a-f]{60}\\.(jpg|png|gif|webp|bmp)");
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.servlet.multipart.max-file-size:5MB}")
+    private DataSize maxImageSize;
+
+    /**
+     * 업로드 파일 저장 (같은 내용이 이미 있으면 기존 파일 재사용)
+     * @param file 업로드 파일
+     * @return 저장된 이미지 웹 경로
+     * @throws IOException 저장 실패 시
+     */
+    public String store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in);
+        }
+    }
+
+    /**
+     * 이미지 스트림을 최종 위치에 저장
+     * 한 번 읽으면서 형식 확인(파일 시그니처), 크기 제한, SHA-256 계산, 디스크 쓰기를 함께 처리하므로
+     * 요청 본문을 별도로 임시 저장하지 않는다.
+     * @param in 이미지 스트림 (호출 측에서 닫음)
+     * @return 저장된 이미지 웹 경로
+     * @throws IOException 저장 실패 시
+     * @throws IllegalArgumentException 지원하지 않는 형식이거나 크기 제한을 넘은 경우
+     */
+    public String store(InputStream in) throws IOException {
+        long startTime = System.nanoTime();
+        long total = 0;
+        String result = "rejected";
+        try {
+            byte[] header = in.readNBytes(SIGNATURE_LENGTH);
+            total = header.length;
+            String extension = detectExtension(header);
+            if (extension == null) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+
+            Path root = getRootPath();
+            Path tempDir = Files.createDirectories(root.resolve(".tmp"));
+            Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+
+            try {
+                MessageDigest digest = sha256();
+                long maxBytes = maxImageSize.toBytes();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    out.write(header);
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        total += read;
+                        if (total > maxBytes) {
+                            throw new IllegalArgumentException("이미지 크기는 " + maxImageSize.toMegabytes() + "MB 이하여야 합니다.");
+                        }
+                        out.write(buffer, 0, read);
+                    }
+                }
+
+                String hash = HexFormat.of().formatHex(digest.digest());
+                String relativePath = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+                Path target = root.resolve(relativePath);
+
+                if (Files.exists(target)) {
+                    logger.debug("이미 저장된 이미지 재사용: {}", relativePath);
+                    result = "duplicate";
+                } else {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                        result = "stored";
+                    } catch (FileAlreadyExistsException e) {
+                        // 같은 파일이 동시에 업로드된 경우 먼저 저장된 파일 사용
+                        logger.debug("동시에 저장된 이미지 재사용: {}", relativePath);
+                        result = "duplicate";
+                    }
+                }
+                return URL_PREFIX + relativePath;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            result = "error";
+            throw e;
+        } finally {
+            recordUpload(result, total, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * 업로드 크기/소요 시간 기록
+     * @param result stored(새로 저장), duplicate(기존 파일 재사용), rejected(형식/크기 오류), error(입출력 오류)
+     * @param bytes 읽은 바이트 수
+     * @param nanos 소요 시간
+     */
+    private void recordUpload(String result, long bytes, long nanos) {
+        meterRegistry.timer("market_map.upload.duration", "result", result).record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("market_map.upload.size")
+                .baseUnit("bytes")
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * 이 저장소에 저장된 이미지 경로인지 확인 (클라이언트가 보낸 경로를 이미지로 등록하기 전 검사)
+     * @param url 이미지 웹 경로
+     * @return 저장소 형식의 경로이고 파일이 있으면 true
+     */
+    public boolean isStored(String url) {
+        return url != null && STORED_URL.matcher(url).matches() && Files.isRegularFile(resolve(url));
+    }
+
+    /**
+     * 이미지 최대 크기 (바이트)
+     * @return 최대 크기
+     */
+    public long getMaxImageBytes() {
+        return maxImageSize.toBytes();
+    }
+
+    /**
+     * 웹 경로에 해당하는 파일 경로
+     * @param url 이미지 웹 경로 (/uploads/...)
+     * @return 파일 경로
+     */
+    public Path resolve(String url) {
+        return Paths.get(servletContext.getRealPath(""), url);
+    }
+
+    /**
+     * 저장소 루트 디렉토리 (웹 루트/uploads/cas)
+     * @return 디렉토리 경로
+     */
+    public Path getRootPath() {
+        return resolve(URL_PREFIX);
+    }
+
+    /**
+     * 파일 시그니처로 이미지 형식 판별 (파일명이나 Content-Type은 신뢰하지 않음)
+     * @param header 파일 앞부분
+     * @return 확장자 (지원하지 않는 형식이면 null)
+     */
+    static String detectExtension(byte[] header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8') && header.length >= 6
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return "gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        if (startsWith(header, 0, 'B', 'M')) {
+            return "bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, int... signature) {
+        if (data.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((data[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
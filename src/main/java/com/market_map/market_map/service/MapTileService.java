@@ -0,0 +1,383 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.MarketMap;
+import com.market_map.market_map.repository.MarketMapRepository;
+import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 지도 타일 피라미드 서비스
+ * 지도 이미지를 줌 레벨별로 절반씩 줄이면서 256px PNG 타일로 잘라 /uploads/tiles/{지도 ID}/{원본 해시}/{z}/{x}_{y}.png에 저장한다.
+ * 경로에 원본 해시가 들어가므로 지도 이미지가 바뀌면 새 경로가 만들어지고, 타일은 영구 캐시할 수 있다.
+ */
+@Service
+public class MapTileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapTileService.class);
+
+    /**
+     * 타일 웹 경로
+     */
+    public static final String URL_PREFIX = "/uploads/tiles/";
+
+    public static final int TILE_SIZE = 256;
+
+    @Autowired
+    private MarketMapRepository marketMapRepository;
+
+    @Autowired
+    private ServletContext servletContext;
+
+    // 지도 데이터의 이미지 경로에 파일이 없을 때 사용할 기본 지도 이미지
+    @Value("${app.map-image-path:/assets/images/map.png}")
+    private String defaultMapImagePath;
+
+    private volatile TileSet activeTileSet;
+
+    /**
+     * 시작 시 활성 지도 타일 준비 (이미 같은 원본으로 만든 타일이 있으면 재사용)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareActiveMap() {
+        try {
+            Optional<MarketMap> map = marketMapRepository.findActiveMap();
+            if (map.isEmpty()) {
+                logger.warn("활성 지도가 없어 타일을 만들지 않습니다.");
+                return;
+            }
+            registerMap(map.get());
+        } catch (Exception e) {
+            logger.error("지도 타일 준비 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 지도 등록 (타일 피라미드 생성 후 활성 타일로 사용)
+     * @param map 지도 정보
+     * @return 타일 정보
+     * @throws IOException 이미지를 읽거나 타일을 쓸 수 없는 경우
+     */
+    public TileSet registerMap(MarketMap map) throws IOException {
+        String imageUrl = map.getMapImageUrl();
+        Path source = resolve(imageUrl);
+        if (!Files.isRegularFile(source)) {
+            logger.warn("지도 이미지가 없어 기본 이미지를 사용합니다: {} -> {}", imageUrl, defaultMapImagePath);
+            imageUrl = defaultMapImagePath;
+            source = resolve(imageUrl);
+        }
+
+        String version = contentHash(source);
+        Path mapDir = resolve(URL_PREFIX).resolve(String.valueOf(map.getMapId()));
+        Path tileDir = mapDir.resolve(version);
+
+        int width;
+        int height;
+        if (Files.isDirectory(tileDir)) {
+            // 이미지 헤더만 읽어 크기 확인
+            int[] size = imageSize(source);
+            width = size[0];
+            height = size[1];
+            logger.info("기존 지도 타일 사용 - mapId: {}, version: {}", map.getMapId(), version);
+        } else {
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                throw new IOException("지도 이미지를 읽을 수 없습니다: " + source);
+            }
+            width = image.getWidth();
+            height = image.getHeight();
+
+            long startTime = System.currentTimeMillis();
+            int tileCount = writePyramid(image, mapDir, tileDir);
+            logger.info("지도 타일 생성 완료 - mapId: {}, version: {}, 타일 {}개, {}ms",
+                    map.getMapId(), version, tileCount, System.currentTimeMillis() - startTime);
+        }
+
+        TileSet tileSet = new TileSet(map.getMapId(), map.getMapName(), imageUrl, width, height,
+                URL_PREFIX + map.getMapId() + "/" + version + "/{z}/{x}_{y}.png");
+        activeTileSet = tileSet;
+        return tileSet;
+    }
+
+    /**
+     * 활성 지도 타일 정보
+     * @return 타일 정보 (준비되지 않았으면 빈 값)
+     */
+    public Optional<TileSet> getActiveTileSet() {
+        return Optional.ofNullable(activeTileSet);
+    }
+
+    /**
+     * 최대 줌 레벨 (가장 큰 레벨이 원본 크기, 레벨 0은 타일 하나에 들어가는 크기)
+     * @param width 원본 너비
+     * @param height 원본 높이
+     * @return 최대 줌 레벨
+     */
+    public static int maxZoom(int width, int height) {
+        int zoom = 0;
+        int longest = Math.max(width, height);
+        while ((longest >> zoom) > TILE_SIZE) {
+            zoom++;
+        }
+        return zoom;
+    }
+
+    /**
+     * 모든 줌 레벨 타일 저장 (임시 디렉토리에 쓴 뒤 한 번에 이동)
+     * @return 타일 수
+     */
+    private int writePyramid(BufferedImage image, Path mapDir, Path tileDir) throws IOException {
+        Files.createDirectories(mapDir);
+        Path tempDir = Files.createTempDirectory(mapDir, ".build-");
+        int tileCount = 0;
+        try {
+            int maxZoom = maxZoom(image.getWidth(), image.getHeight());
+            BufferedImage level = image;
+            for (int zoom = maxZoom; zoom >= 0; zoom--) {
+                if (zoom < maxZoom) {
+                    level = halve(level);
+                }
+                Path zoomDir = Files.createDirectories(tempDir.resolve(String.valueOf(zoom)));
+                for (int y = 0; y * TILE_SIZE < level.getHeight(); y++) {
+                    for (int x = 0; x * TILE_SIZE < level.getWidth(); x++) {
+                        BufferedImage tile = level.getSubimage(x * TILE_SIZE, y * TILE_SIZE,
+                                Math.min(TILE_SIZE, level.getWidth() - x * TILE_SIZE),
+                                Math.min(TILE_SIZE, level.getHeight() - y * TILE_SIZE));
+                        ImageIO.write(tile, "png", zoomDir.resolve(x + "_" + y + ".png").toFile());
+                        tileCount++;
+                    }
+                }
+            }
+            try {
+                Files.move(tempDir, tileDir, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                // 다른 인스턴스가 같은 원본으로 먼저 만든 경우 그대로 사용
+                logger.info("이미 생성된 지도 타일 사용: {}", tileDir);
+            }
+            return tileCount;
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    /**
+     * 이미지를 절반 크기로 축소 (홀수 크기는 올림)
+     */
+    private static BufferedImage halve(BufferedImage source) {
+        int width = (source.getWidth() + 1) / 2;
+        int height = (source.getHeight() + 1) / 2;
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    private static int[] imageSize(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("지도 이미지를 읽을 수 없습니다: " + file);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Path resolve(String url) {
+        return Paths.get(servletContext.getRealPath(""), url);
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            List<Path> sorted = new ArrayList<>(paths.toList());
+            sorted.sort(Comparator.reverseOrder());
+            for (Path path : sorted) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 지도 타일 정보 (클라이언트에 그대로 JSON으로 전달)
+     */
+    public static final class TileSet {
+
+        private final Long mapId;
+
+        private final String mapName;
+
+        private final String imageUrl;
+
+        private final int width;
+
+        private final int height;
+
+        private final int tileSize = TILE_SIZE;
+
+        private final int maxZoom;
+
+        private final String tileUrlTemplate;
+
+        private final List<Level> levels;
+
+        private TileSet(Long mapId, String mapName, String imageUrl, int width, int height, String tileUrlTemplate) {
+            this.mapId = mapId;
+            this.mapName = mapName;
+            this.imageUrl = imageUrl;
+            this.width = width;
+            this.height = height;
+            this.maxZoom = MapTileService.maxZoom(width, height);
+            this.tileUrlTemplate = tileUrlTemplate;
+
+            List<Level> levels = new ArrayList<>();
+            int levelWidth = width;
+            int levelHeight = height;
+            for (int zoom = maxZoom; zoom >= 0; zoom--) {
+                levels.add(new Level(zoom, levelWidth, levelHeight));
+                levelWidth = (levelWidth + 1) / 2;
+                levelHeight = (levelHeight + 1) / 2;
+            }
+            Collections.reverse(levels);
+            this.levels = Collections.unmodifiableList(levels);
+        }
+
+        public Long getMapId() {
+            return mapId;
+        }
+
+        public String getMapName() {
+            return mapName;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getTileSize() {
+            return tileSize;
+        }
+
+        public int getMaxZoom() {
+            return maxZoom;
+        }
+
+        public String getTileUrlTemplate() {
+            return tileUrlTemplate;
+        }
+
+        public List<Level> getLevels() {
+            return levels;
+        }
+    }
+
+    /**
+     * 줌 레벨별 이미지 크기와 타일 수
+     */
+    public static final class Level {
+
+        private final int zoom;
+
+        private final int width;
+
+        private final int height;
+
+        private final int columns;
+
+        private final int rows;
+
+        private Level(int zoom, int width, int height) {
+            this.zoom = zoom;
+            this.width = width;
+            this.height = height;
+            this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+            this.rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        }
+
+        public int getZoom() {
+            return zoom;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+    }
+}
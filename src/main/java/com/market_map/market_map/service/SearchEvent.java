@@ -0,0 +1,51 @@
+package com.market_map.market_map.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 이벤트
+ * 검색 API 호출마다 SearchLogService 큐에 쌓이며, 로그 저장과 검색어 통계 집계에 함께 사용된다.
+ */
+public class SearchEvent {
+
+    private final String keyword;
+
+    private final String searchType;
+
+    private final int resultCount;
+
+    private final LocalDateTime searchedAt;
+
+    public SearchEvent(String keyword, String searchType, int resultCount, LocalDateTime searchedAt) {
+        this.keyword = keyword;
+        this.searchType = searchType;
+        this.resultCount = resultCount;
+        this.searchedAt = searchedAt;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getSearchType() {
+        return searchType;
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    public LocalDateTime getSearchedAt() {
+        return searchedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchEvent{" +
+                "keyword='" + keyword + '\'' +
+                ", searchType='" + searchType + '\'' +
+                ", resultCount=" + resultCount +
+                ", searchedAt=" + searchedAt +
+                '}';
+    }
+}
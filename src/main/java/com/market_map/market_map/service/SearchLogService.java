@@ -0,0 +1,187 @@
+package com.market_map.market_map.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 로그 서비스
+ * 검색 요청 스레드는 큐에 이벤트를 넣기만 하고, 백그라운드 작업이 주기적으로 큐를 비워
+ * search_logs에 일괄 저장한 뒤 저장된 배치만 검색어 통계에 반영한다 (통계와 로그 테이블이 어긋나지 않도록).
+ * 큐가 가득 차면 검색을 지연시키지 않도록 새 이벤트를 버린다.
+ */
+@Service
+public class SearchLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchLogService.class);
+
+    // 검색 타입
+    public static final String TYPE_KEYWORD = "keyword";
+
+    public static final String TYPE_NAME = "name";
+
+    public static final String TYPE_PHONE = "phone";
+
+    public static final String TYPE_LOCATION = "location";
+
+    public static final String TYPE_NEAREST = "nearest";
+
+    public static final String TYPE_NEARBY = "nearby";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_logs (search_keyword, search_type, result_count, searched_at) VALUES (?, ?, ?, ?)";
+
+    private static final int MAX_KEYWORD_LENGTH = 100;
+
+    private static final int MAX_TYPE_LENGTH = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SearchStatisticsService searchStatisticsService;
+
+    @Value("${app.search-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.search-log.batch-size:200}")
+    private int batchSize;
+
+    private final Queue<SearchEvent> queue = new ConcurrentLinkedQueue<>();
+
+    // ConcurrentLinkedQueue.size()는 O(n)이므로 크기를 따로 센다
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 검색 이벤트 기록 (대기 없이 즉시 반환)
+     * @param keyword 검색 키워드 (위치 검색 등은 null)
+     * @param searchType 검색 타입
+     * @param resultCount 결과 수
+     * @return 큐에 들어갔는지 여부 (비활성화되었거나 큐가 가득 차면 false)
+     */
+    public boolean record(String keyword, String searchType, int resultCount) {
+        if (!enabled) {
+            return false;
+        }
+
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        queue.offer(new SearchEvent(truncate(keyword, MAX_KEYWORD_LENGTH), truncate(searchType, MAX_TYPE_LENGTH),
+                resultCount, LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * 대기 중인 검색 로그를 일괄 저장
+     * 한 번에 최대 큐 용량만큼만 저장하고 반환한다. 부하 중에도 계속 들어오는 이벤트 때문에
+     * 스케줄러 스레드(집계 반영, SSE 연결 유지 등과 공유)를 붙잡고 있지 않도록, 나머지는 다음 주기에 저장한다.
+     * @return 저장된 로그 수
+     */
+    @Scheduled(fixedDelayString = "${app.search-log.flush-interval-ms:500}")
+    public int flush() {
+        long droppedSinceLastFlush = dropped.getAndSet(0);
+        if (droppedSinceLastFlush > 0) {
+            logger.warn("검색 로그 큐가 가득 차 {}건을 저장하지 못했습니다.", droppedSinceLastFlush);
+            meterRegistry.counter("market_map.search_log.dropped").increment(droppedSinceLastFlush);
+        }
+
+        int written = 0;
+        int maxBatches = Math.max(1, (queueCapacity + batchSize - 1) / batchSize);
+        List<SearchEvent> batch = new ArrayList<>(batchSize);
+        for (int batches = 0; batches < maxBatches; batches++) {
+            batch.clear();
+            SearchEvent search;
+            while (batch.size() < batchSize && (search = queue.poll()) != null) {
+                batch.add(search);
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            queued.addAndGet(-batch.size());
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                writeBatch(batch);
+                written += batch.size();
+                sample.stop(meterRegistry.timer("market_map.search_log.write", "result", "success"));
+            } catch (Exception e) {
+                sample.stop(meterRegistry.timer("market_map.search_log.write", "result", "error"));
+                // 저장 실패한 배치는 재시도하지 않고 통계에도 반영하지 않음 (로그 때문에 큐가 계속 쌓이는 것을 방지)
+                logger.error("검색 로그 {}건 저장 중 오류 발생: {}", batch.size(), e.getMessage());
+                continue;
+            }
+            searchStatisticsService.recordAll(batch);
+        }
+        return written;
+    }
+
+    /**
+     * 종료 시 남은 로그 저장
+     */
+    @PreDestroy
+    public void shutdown() {
+        int written = flush();
+        if (written > 0) {
+            logger.info("종료 전 검색 로그 {}건 저장 완료", written);
+        }
+    }
+
+    /**
+     * 대기 중인 로그 수
+     * @return 로그 수
+     */
+    public int getPendingCount() {
+        return queued.get();
+    }
+
+    private void writeBatch(List<SearchEvent> batch) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, search) -> {
+                    ps.setString(1, search.getKeyword());
+                    ps.setString(2, search.getSearchType());
+                    ps.setInt(3, search.getResultCount());
+                    ps.setTimestamp(4, Timestamp.valueOf(search.getSearchedAt()));
+                }));
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+    }
+}
@@ -0,0 +1,367 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.SearchKeywordRollup;
+import com.market_map.market_map.repository.SearchKeywordRollupRepository;
+import com.market_map.market_map.util.SpaceSavingSketch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색어 통계 서비스
+ * 인기 검색어는 Space-Saving 추정기로, 검색 타입별 횟수는 카운터로 메모리에서 바로 응답한다.
+ * 분/시간/일 단위 집계는 search_keyword_rollups 테이블에 주기적으로 누적한다.
+ * 추정기와 카운터는 최근 window-days 일 동안의 검색만 반영하도록, 시작 시와 매시간 시간 단위 집계로 다시 만든다
+ * (그 사이 검색은 바로 더해지므로 창은 최대 한 시간 더 길어질 수 있다).
+ */
+@Service
+public class SearchStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchStatisticsService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO search_keyword_rollups (granularity, bucket_start, search_type, search_keyword, search_count) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE search_count = search_count + VALUES(search_count)";
+
+    // 조회용으로 미리 정렬해 두는 인기 검색어 수
+    private static final int CACHED_TOP_SIZE = 100;
+
+    @Autowired
+    private SearchKeywordRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.search-stats.sketch-capacity:1000}")
+    private int sketchCapacity;
+
+    @Value("${app.search-stats.window-days:7}")
+    private int windowDays;
+
+    @Value("${app.search-stats.minute-retention-days:2}")
+    private int minuteRetentionDays;
+
+    @Value("${app.search-stats.hour-retention-days:90}")
+    private int hourRetentionDays;
+
+    // 창 재계산 시 통째로 교체 (this로 동기화)
+    private SpaceSavingSketch keywordSketch;
+
+    private volatile Map<String, LongAdder> typeCounts = new ConcurrentHashMap<>();
+
+    // 현재 통계에 반영된 가장 이른 시각 (재계산 전에는 서버 시작 시각)
+    private volatile LocalDateTime windowStart = LocalDateTime.now();
+
+    // 아직 저장하지 않은 분 단위 집계 (this로 동기화)
+    private Map<RollupKey, Long> pendingRollups = new HashMap<>();
+
+    private volatile List<SpaceSavingSketch.Entry> topKeywords = Collections.emptyList();
+
+    @PostConstruct
+    public void init() {
+        keywordSketch = new SpaceSavingSketch(sketchCapacity);
+    }
+
+    /**
+     * 시작 시 최근 집계로 통계 복원
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromRollups() {
+        rebuildWindow();
+    }
+
+    /**
+     * 최근 window-days 일의 시간 단위 집계로 인기 검색어와 검색 타입별 횟수를 다시 계산 (매시 5분)
+     * 창 밖으로 나간 시간대의 검색은 빠지므로 오래전에 많이 검색된 키워드가 계속 상위에 남지 않는다.
+     * 아직 저장하지 않은 집계는 먼저 저장하고, 조회 이후 들어온 검색은 대기 중인 집계에서 더한다.
+     */
+    @Scheduled(cron = "${app.search-stats.rebuild-cron:0 5 * * * *}")
+    public void rebuildWindow() {
+        try {
+            flushRollups();
+
+            // 시간 단위 집계는 hour-retention-days 까지만 보관됨
+            int days = Math.max(1, Math.min(windowDays, hourRetentionDays));
+            LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(days);
+            List<Object[]> keywords = rollupRepository.sumByKeywordSince(SearchKeywordRollup.Granularity.HOUR, since);
+            List<Object[]> types = rollupRepository.sumBySearchTypeSince(SearchKeywordRollup.Granularity.HOUR, since);
+
+            SpaceSavingSketch sketch = new SpaceSavingSketch(sketchCapacity);
+            Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+            for (Object[] row : keywords) {
+                sketch.add((String) row[0], ((Number) row[1]).longValue());
+            }
+            for (Object[] row : types) {
+                counts.computeIfAbsent((String) row[0], type -> new LongAdder()).add(((Number) row[1]).longValue());
+            }
+
+            synchronized (this) {
+                pendingRollups.forEach((key, count) -> {
+                    counts.computeIfAbsent(key.type, type -> new LongAdder()).add(count);
+                    if (!key.keyword.isEmpty()) {
+                        sketch.add(key.keyword, count);
+                    }
+                });
+                keywordSketch = sketch;
+                typeCounts = counts;
+                windowStart = since;
+                topKeywords = sketch.top(CACHED_TOP_SIZE);
+            }
+            logger.info("검색어 통계 재계산 완료 - 최근 {}일, 키워드 {}개", days, keywords.size());
+        } catch (Exception e) {
+            logger.error("검색어 통계 재계산 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 검색 이벤트 반영
+     * @param events 검색 이벤트 목록
+     */
+    public synchronized void recordAll(List<SearchEvent> events) {
+        for (SearchEvent event : events) {
+            String type = event.getSearchType() == null ? "" : event.getSearchType();
+            String keyword = normalizeKeyword(event.getKeyword());
+
+            typeCounts.computeIfAbsent(type, t -> new LongAdder()).increment();
+            if (!keyword.isEmpty()) {
+                keywordSketch.add(keyword, 1);
+            }
+
+            LocalDateTime minute = event.getSearchedAt().truncatedTo(ChronoUnit.MINUTES);
+            pendingRollups.merge(new RollupKey(minute, type, keyword), 1L, Long::sum);
+        }
+        topKeywords = keywordSketch.top(CACHED_TOP_SIZE);
+    }
+
+    /**
+     * 인기 검색어 조회
+     * @param limit 최대 개수 (최대 100)
+     * @return 추정 검색 횟수 내림차순 목록
+     */
+    public List<SpaceSavingSketch.Entry> getPopularKeywords(int limit) {
+        List<SpaceSavingSketch.Entry> top = topKeywords;
+        return top.subList(0, Math.min(Math.max(limit, 0), top.size()));
+    }
+
+    /**
+     * 통계 집계 기간 (일)
+     * @return 기간
+     */
+    public int getWindowDays() {
+        return Math.max(1, Math.min(windowDays, hourRetentionDays));
+    }
+
+    /**
+     * 현재 통계에 반영된 가장 이른 시각
+     * @return 집계 시작 시각
+     */
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * 검색 타입별 검색 횟수
+     * @return 검색 타입 -> 횟수 (횟수 내림차순)
+     */
+    public Map<String, Long> getSearchTypeCounts() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        typeCounts.forEach((type, count) -> entries.add(Map.entry(type, count.sum())));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * 집계 대상 전체 검색 횟수
+     * @return 검색 횟수
+     */
+    public long getTotalSearches() {
+        long total = 0;
+        for (LongAdder count : typeCounts.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * 분 단위 집계를 분/시간/일 집계 테이블에 누적 저장
+     */
+    @Scheduled(fixedDelayString = "${app.search-stats.rollup-flush-interval-ms:10000}")
+    public void flushRollups() {
+        Map<RollupKey, Long> pending;
+        synchronized (this) {
+            if (pendingRollups.isEmpty()) {
+                return;
+            }
+            pending = pendingRollups;
+            pendingRollups = new HashMap<>();
+        }
+
+        Map<RollupRow, Long> rows = new HashMap<>();
+        pending.forEach((key, count) -> {
+            rows.merge(new RollupRow(SearchKeywordRollup.Granularity.MINUTE, key.minute, key.type, key.keyword), count, Long::sum);
+            rows.merge(new RollupRow(SearchKeywordRollup.Granularity.HOUR, key.minute.truncatedTo(ChronoUnit.HOURS), key.type, key.keyword), count, Long::sum);
+            rows.merge(new RollupRow(SearchKeywordRollup.Granularity.DAY, key.minute.truncatedTo(ChronoUnit.DAYS), key.type, key.keyword), count, Long::sum);
+        });
+        List<Map.Entry<RollupRow, Long>> batch = new ArrayList<>(rows.entrySet());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                        RollupRow row = entry.getKey();
+                        ps.setString(1, row.granularity.name());
+                        ps.setTimestamp(2, Timestamp.valueOf(row.bucketStart));
+                        ps.setString(3, row.type);
+                        ps.setString(4, row.keyword);
+                        ps.setLong(5, entry.getValue());
+                    }));
+            sample.stop(meterRegistry.timer("market_map.search_stats.rollup_flush", "result", "success"));
+        } catch (Exception e) {
+            sample.stop(meterRegistry.timer("market_map.search_stats.rollup_flush", "result", "error"));
+            // 다음 주기에 다시 저장하도록 되돌림
+            logger.error("검색어 집계 {}건 저장 중 오류 발생: {}", batch.size(), e.getMessage());
+            synchronized (this) {
+                pending.forEach((key, count) -> pendingRollups.merge(key, count, Long::sum));
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 분/시간 단위 집계 삭제 (매일 03:30)
+     */
+    @Scheduled(cron = "${app.search-stats.prune-cron:0 30 3 * * *}")
+    public void pruneRollups() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer deleted = new TransactionTemplate(transactionManager).execute(status ->
+                    rollupRepository.deleteByGranularityAndBucketStartBefore(
+                            SearchKeywordRollup.Granularity.MINUTE, now.minusDays(minuteRetentionDays))
+                    + rollupRepository.deleteByGranularityAndBucketStartBefore(
+                            SearchKeywordRollup.Granularity.HOUR, now.minusDays(hourRetentionDays)));
+            logger.info("오래된 검색어 집계 {}건 삭제", deleted);
+        } catch (Exception e) {
+            logger.error("검색어 집계 정리 중 오류 발생: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 남은 집계 저장
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushRollups();
+    }
+
+    /**
+     * 집계용 키워드 정규화 (앞뒤 공백 제거, 소문자, 연속 공백 하나로)
+     */
+    private static String normalizeKeyword(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 분 단위 집계 키
+     */
+    private static final class RollupKey {
+
+        private final LocalDateTime minute;
+
+        private final String type;
+
+        private final String keyword;
+
+        private RollupKey(LocalDateTime minute, String type, String keyword) {
+            this.minute = minute;
+            this.type = type;
+            this.keyword = keyword;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupKey)) return false;
+            RollupKey other = (RollupKey) o;
+            return minute.equals(other.minute) && type.equals(other.type) && keyword.equals(other.keyword);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minute, type, keyword);
+        }
+    }
+
+    /**
+     * 집계 테이블 행 키
+     */
+    private static final class RollupRow {
+
+        private final SearchKeywordRollup.Granularity granularity;
+
+        private final LocalDateTime bucketStart;
+
+        private final String type;
+
+        private final String keyword;
+
+        private RollupRow(SearchKeywordRollup.Granularity granularity, LocalDateTime bucketStart, String type, String keyword) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+            this.type = type;
+            this.keyword = keyword;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupRow)) return false;
+            RollupRow other = (RollupRow) o;
+            return granularity == other.granularity && bucketStart.equals(other.bucketStart)
+                    && type.equals(other.type) && keyword.equals(other.keyword);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart, type, keyword);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.market_map.market_map.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.ServletContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 정적 파일 조회 서비스
+ * 웹 루트 아래 허용된 디렉토리의 파일만 찾아 주고, 자주 쓰는 파일은 열린 FileChannel을 캐시해
+ * 요청마다 파일을 다시 열지 않도록 한다. 채널은 참조 수를 세므로 캐시에서 밀려나도 전송 중인 요청이 끝난 뒤 닫힌다.
+ */
+@Service
+public class StaticFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticFileService.class);
+
+    /**
+     * 미리 압축된 파일 변형 (선호 순서)
+     */
+    public enum Encoding {
+        BROTLI("br", ".br"),
+        GZIP("gzip", ".gz");
+
+        private final String token;
+
+        private final String suffix;
+
+        Encoding(String token, String suffix) {
+            this.token = token;
+            this.suffix = suffix;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+    }
+
+    @Autowired
+    private ServletContext servletContext;
+
+    @Value("${app.static-files.roots:/uploads/,/assets/images/}")
+    private String[] roots;
+
+    @Value("${app.static-files.handle-cache-size:256}")
+    private int handleCacheSize;
+
+    // 접근 순서 LRU (this로 동기화)
+    private final LinkedHashMap<Path, OpenFile> handles = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 열린 파일 캐시 적중/실패 횟수
+    private final LongAdder handleHits = new LongAdder();
+
+    private final LongAdder handleMisses = new LongAdder();
+
+    /**
+     * 요청 경로에 해당하는 파일 찾기
+     * @param requestPath 애플리케이션 기준 요청 경로 (예: /uploads/cas/ab/cd/....jpg)
+     * @return 파일 경로 (허용되지 않은 경로이거나 파일이 없으면 빈 값)
+     */
+    public Optional<Path> resolve(String requestPath) {
+        if (requestPath == null || !isAllowed(requestPath)) {
+            return Optional.empty();
+        }
+
+        Path webRoot = Paths.get(servletContext.getRealPath("")).normalize();
+        Path file = webRoot.resolve(requestPath.substring(1)).normalize();
+        if (!file.startsWith(webRoot) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * 클라이언트가 받을 수 있는 미리 압축된 변형 찾기 (원본보다 새로 만든 것만 사용)
+     * @param file 원본 파일
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return 변형 파일 인코딩 (없으면 빈 값)
+     */
+    public Optional<Encoding> findPrecompressed(Path file, String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return Optional.empty();
+        }
+        for (Encoding encoding : Encoding.values()) {
+            if (accepts(acceptEncoding, encoding.getToken())) {
+                Path variant = variantPath(file, encoding);
+                try {
+                    if (Files.isRegularFile(variant)
+                            && Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(file)) >= 0) {
+                        return Optional.of(encoding);
+                    }
+                } catch (IOException e) {
+                    logger.debug("압축 파일 확인 실패: {}", variant);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 미리 압축된 변형 파일 경로 (예: a.svg -> a.svg.gz)
+     * @param file 원본 파일
+     * @param encoding 인코딩
+     * @return 변형 파일 경로
+     */
+    public static Path variantPath(Path file, Encoding encoding) {
+        return file.resolveSibling(file.getFileName().toString() + encoding.getSuffix());
+    }
+
+    /**
+     * 파일 열기 (캐시된 채널이 있고 파일이 바뀌지 않았으면 재사용)
+     * 사용이 끝나면 반드시 {@link OpenFile#close()}를 호출해야 한다.
+     * @param file 파일 경로
+     * @return 열린 파일
+     * @throws IOException 파일을 열 수 없는 경우
+     */
+    public OpenFile open(Path file) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            invalidate(file);
+            throw e;
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            OpenFile cached = handles.get(file);
+            if (cached != null) {
+                if (cached.size == size && cached.lastModified == lastModified && cached.retain()) {
+                    handleHits.increment();
+                    return cached;
+                }
+                handles.remove(file);
+                cached.close();
+            }
+        }
+
+        handleMisses.increment();
+        OpenFile opened = new OpenFile(FileChannel.open(file, StandardOpenOption.READ), size, lastModified);
+        if (handleCacheSize <= 0) {
+            return opened;
+        }
+
+        synchronized (this) {
+            OpenFile previous = handles.put(file, opened);
+            if (previous != null) {
+                previous.close();
+            }
+            opened.retain();
+            evictOverflow();
+        }
+        return opened;
+    }
+
+    /**
+     * 캐시된 파일 채널 닫기
+     * @param file 파일 경로
+     */
+    public synchronized void invalidate(Path file) {
+        OpenFile cached = handles.remove(file);
+        if (cached != null) {
+            cached.close();
+        }
+    }
+
+    /**
+     * 캐시된 파일 채널 수
+     * @return 채널 수
+     */
+    public synchronized int getCachedHandleCount() {
+        return handles.size();
+    }
+
+    /**
+     * 캐시된 파일 채널을 재사용한 횟수
+     * @return 횟수
+     */
+    public long getHandleHitCount() {
+        return handleHits.sum();
+    }
+
+    /**
+     * 파일을 새로 연 횟수
+     * @return 횟수
+     */
+    public long getHandleMissCount() {
+        return handleMisses.sum();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        for (OpenFile cached : handles.values()) {
+            cached.close();
+        }
+        handles.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Path, OpenFile>> iterator = handles.entrySet().iterator();
+        while (handles.size() > handleCacheSize && iterator.hasNext()) {
+            OpenFile eldest = iterator.next().getValue();
+            iterator.remove();
+            eldest.close();
+        }
+    }
+
+    private boolean isAllowed(String requestPath) {
+        // 숨김 파일/디렉토리(.tmp 등)와 상위 경로 이동은 허용하지 않음
+        if (requestPath.contains("\\") || requestPath.contains("/.")) {
+            return false;
+        }
+        for (String root : roots) {
+            if (requestPath.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean accepts(String acceptEncoding, String token) {
+        for (String part : acceptEncoding.split(",")) {
+            String[] fields = part.trim().split(";");
+            if (!fields[0].trim().equalsIgnoreCase(token)) {
+                continue;
+            }
+            for (int i = 1; i < fields.length; i++) {
+                String parameter = fields[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 참조 수를 세는 열린 파일
+     * 캐시가 참조 하나를 가지며, 마지막 참조가 해제될 때 채널을 닫는다.
+     */
+    public static final class OpenFile implements AutoCloseable {
+
+        private final FileChannel channel;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private OpenFile(FileChannel channel, long size, long lastModified) {
+            this.channel = channel;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public FileChannel getChannel() {
+            return channel;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        private boolean retain() {
+            while (true) {
+                int current = references.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (references.decrementAndGet() == 0) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.debug("파일 채널 닫기 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
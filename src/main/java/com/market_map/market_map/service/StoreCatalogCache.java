@@ -0,0 +1,436 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.repository.StoreImageRepository;
+import com.market_map.market_map.repository.StoreRepository;
+import com.market_map.market_map.repository.StoreTombstoneRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상점 카탈로그 캐시
+ * 활성 상점 목록과 상점별 이미지 수, 대표 이미지 URL을 불변 스냅샷으로 메모리에 보관하고,
+ * 상점 변경 트랜잭션이 커밋된 뒤 변경된 상점만 다시 읽어 스냅샷을 통째로 교체한다.
+ * 다시 읽기는 전용 스레드 하나에서 차례로 실행하므로, 커밋한 요청 스레드가 커넥션을 하나 더 잡지 않는다.
+ * 다시 읽기에 실패하면 스냅샷을 오래된 상태로 표시하고 주기 작업이 전체를 다시 적재한다 (변경이 유실되지 않도록).
+ * 카탈로그 버전은 스냅샷을 교체한 시각(epoch ms, 단조 증가)이며, 스냅샷마다 상점별 변경 버전과 삭제 기록(StoreChangeLog)을 함께 보관해
+ * 변경분 동기화(/api/stores/changes)가 DB를 읽지 않고 응답한다.
+ * 변경 알림(StoreEventBroadcaster)은 스냅샷 교체가 끝난 뒤 보내므로, 알림을 받은 화면은 항상 변경이 반영된 스냅샷을 조회한다.
+ * 적재 중에는 DB 조회를 기다리므로 synchronized 대신 ReentrantLock을 사용한다
+ * (가상 스레드가 모니터를 잡은 채 대기하면 캐리어 스레드가 묶이기 때문).
+ */
+@Component
+public class StoreCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreCatalogCache.class);
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StoreImageRepository storeImageRepository;
+
+    @Autowired
+    private StoreTombstoneRepository storeTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StoreEventBroadcaster storeEventBroadcaster;
+
+    // 변경분 동기화: 삭제 기록 보관 기간 (이보다 오래된 버전은 전체 목록을 다시 받음)
+    @Value("${app.store-sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    // 변경분 동기화: 서버 시작 시 DB 수정/삭제 시각에 더하는 구간 (커밋이 늦게 끝난 변경 보정)
+    @Value("${app.store-sync.overlap-ms:30000}")
+    private long syncOverlapMs;
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private volatile StoreCatalogSnapshot snapshot;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 커밋 후 반영할 변경 (전용 스레드가 순서대로 처리)
+    private final Queue<StoreChangeEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService refresher =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("store-catalog-refresh").factory());
+
+    // 변경 반영에 실패해 스냅샷이 DB와 어긋난 상태 (다음 주기 작업에서 전체 다시 적재)
+    private volatile boolean stale;
+
+    // 반영하지 못해 아직 알리지 않은 변경 (lock을 잡은 상태에서 접근)
+    private final List<StoreChangeEvent> unannounced = new ArrayList<>();
+
+    // 교체된 스냅샷들의 파생 데이터 재사용/생성 횟수 합계
+    private final AtomicLong retiredDerivedHits = new AtomicLong();
+
+    private final AtomicLong retiredDerivedMisses = new AtomicLong();
+
+    /**
+     * 현재 카탈로그 스냅샷 조회 (최초 호출 시 DB에서 적재)
+     * @return 카탈로그 스냅샷
+     */
+    public StoreCatalogSnapshot getSnapshot() {
+        StoreCatalogSnapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = loadSnapshot();
+                    replace(current);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 전체 카탈로그를 DB에서 다시 적재
+     * 이미 스냅샷이 있으면 내용이 같은 상점은 이전 객체를 그대로 써서 바뀐 상점만 다시 색인한다.
+     * @return 새 카탈로그 스냅샷
+     */
+    public StoreCatalogSnapshot refresh() {
+        lock.lock();
+        try {
+            StoreCatalogSnapshot reloaded = readOnly().execute(status -> loadSnapshot());
+            replace(reloaded);
+            stale = false;
+            return reloaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 상점 변경 트랜잭션 커밋 후 스냅샷 갱신 예약
+     * 커밋한 요청 스레드는 변경을 대기열에 넣기만 하고, 다시 읽기와 알림은 전용 스레드에서 실행한다.
+     * @param event 상점 변경 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStoreChanged(StoreChangeEvent event) {
+        pendingChanges.offer(event);
+        try {
+            refresher.execute(this::applyPendingChanges);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            logger.debug("종료 중이므로 상점 카탈로그 갱신 생략: {}", event);
+        }
+    }
+
+    /**
+     * 대기 중인 변경을 스냅샷에 반영한 뒤 알림 (전용 스레드에서 실행)
+     * 반영에 실패하면 스냅샷을 오래된 상태로 표시하고, 알림은 전체 다시 적재가 끝난 뒤 보낸다.
+     */
+    private void applyPendingChanges() {
+        List<StoreChangeEvent> events = new ArrayList<>();
+        lock.lock();
+        try {
+            StoreChangeEvent event;
+            while ((event = pendingChanges.poll()) != null) {
+                events.add(event);
+            }
+            if (events.isEmpty()) {
+                // 앞선 작업이 함께 처리함
+                return;
+            }
+            if (stale) {
+                unannounced.addAll(events);
+                return;
+            }
+            try {
+                readOnly().executeWithoutResult(status -> events.forEach(this::applyChange));
+            } catch (RuntimeException e) {
+                stale = true;
+                unannounced.addAll(events);
+                logger.warn("상점 카탈로그 갱신 실패, 전체 다시 적재 예정 - {}: {}", events, e.getMessage());
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        events.forEach(storeEventBroadcaster::publish);
+    }
+
+    /**
+     * 변경 반영에 실패한 스냅샷을 전체 다시 적재 (주기 작업)
+     * 성공하면 반영하지 못했던 변경을 그때 알린다.
+     */
+    @Scheduled(fixedDelayString = "${app.store-catalog.retry-interval-ms:5000}")
+    public void refreshIfStale() {
+        if (!stale) {
+            return;
+        }
+        List<StoreChangeEvent> events;
+        lock.lock();
+        try {
+            refresh();
+            events = new ArrayList<>(unannounced);
+            unannounced.clear();
+            logger.info("상점 카탈로그 다시 적재 완료 - 반영하지 못했던 변경 {}건", events.size());
+        } catch (RuntimeException e) {
+            logger.warn("상점 카탈로그 다시 적재 실패, 다음 주기에 재시도: {}", e.getMessage());
+            return;
+        } finally {
+            lock.unlock();
+        }
+        events.forEach(storeEventBroadcaster::publish);
+    }
+
+    /**
+     * 스냅샷이 DB와 어긋난 상태인지 여부 (변경 반영 실패 후 다시 적재 전)
+     * @return 어긋났으면 true
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * 종료 시 갱신 스레드 정리
+     */
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * 변경된 상점만 다시 읽어 새 스냅샷으로 교체 (lock을 잡고 트랜잭션 안에서 호출)
+     * @param event 상점 변경 이벤트
+     */
+    private void applyChange(StoreChangeEvent event) {
+        StoreCatalogSnapshot current = snapshot;
+        if (current == null) {
+            // 아직 적재되지 않은 경우 최초 조회 시 최신 상태로 적재됨
+            return;
+        }
+
+        List<Store> stores = new ArrayList<>(current.size() + 1);
+        for (Store store : current.getStores()) {
+            if (!Objects.equals(store.getStoreId(), event.getStoreId())) {
+                stores.add(store);
+            }
+        }
+
+        Map<Long, Integer> imageCounts = new HashMap<>(current.getImageCounts());
+        imageCounts.remove(event.getStoreId());
+        Map<Long, String> mainImageUrls = new HashMap<>(current.getMainImageUrls());
+        mainImageUrls.remove(event.getStoreId());
+
+        if (event.getType() != StoreChangeEvent.Type.PURGED) {
+            List<Object[]> changed = storeRepository.findActiveCatalogRowById(event.getStoreId());
+            if (!changed.isEmpty()) {
+                stores.add(toStore(changed.get(0)));
+                imageCounts.put(event.getStoreId(),
+                        (int) storeImageRepository.countActiveImagesByStoreId(event.getStoreId()));
+                storeImageRepository.findActiveMainImageUrlsByStoreId(event.getStoreId()).stream()
+                        .findFirst()
+                        .ifPresent(url -> mainImageUrls.put(event.getStoreId(), url));
+            }
+        }
+
+        // 나머지 상점은 같은 객체이므로 인덱스와 변경 기록은 바뀐 상점만 갱신
+        long version = nextVersion();
+        replace(StoreCatalogSnapshot.of(version, stores, imageCounts, mainImageUrls, current,
+                current.getChangeLog().advance(current, stores, version, retainFrom(version))));
+        logger.debug("상점 카탈로그 갱신 - {}, version: {}", event, snapshot.getVersion());
+    }
+
+    /**
+     * 현재 스냅샷이 없으면 빈 값 (적재 전 지표 조회용, DB를 읽지 않음)
+     * @return 카탈로그 스냅샷
+     */
+    public Optional<StoreCatalogSnapshot> peekSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * 응답 캐시 등 파생 데이터를 재사용한 누적 횟수
+     * @return 횟수
+     */
+    public long getDerivedHitCount() {
+        StoreCatalogSnapshot current = snapshot;
+        return retiredDerivedHits.get() + (current != null ? current.getDerivedHitCount() : 0);
+    }
+
+    /**
+     * 파생 데이터를 새로 만든 누적 횟수
+     * @return 횟수
+     */
+    public long getDerivedMissCount() {
+        StoreCatalogSnapshot current = snapshot;
+        return retiredDerivedMisses.get() + (current != null ? current.getDerivedMissCount() : 0);
+    }
+
+    /**
+     * 스냅샷 교체 (lock을 잡은 상태에서 호출, 이전 스냅샷의 재사용 횟수는 누적 합계로 옮김)
+     * @param next 새 스냅샷
+     */
+    private void replace(StoreCatalogSnapshot next) {
+        StoreCatalogSnapshot previous = snapshot;
+        if (previous != null) {
+            retiredDerivedHits.addAndGet(previous.getDerivedHitCount());
+            retiredDerivedMisses.addAndGet(previous.getDerivedMissCount());
+        }
+        snapshot = next;
+    }
+
+    /**
+     * DB에서 활성 상점 전체를 읽어 스냅샷 생성
+     * @return 카탈로그 스냅샷
+     */
+    private StoreCatalogSnapshot loadSnapshot() {
+        List<Store> stores = new ArrayList<>();
+        for (Object[] row : storeRepository.findActiveCatalogRows()) {
+            stores.add(toStore(row));
+        }
+
+        Map<Long, Integer> imageCounts = new HashMap<>();
+        for (Object[] row : storeImageRepository.countActiveImagesGroupByStoreId()) {
+            imageCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        Map<Long, String> mainImageUrls = new HashMap<>();
+        for (Object[] row : storeImageRepository.findActiveMainImageUrls()) {
+            mainImageUrls.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+
+        StoreCatalogSnapshot current = snapshot;
+        if (current != null) {
+            // 내용이 같은 상점은 이전 객체를 그대로 써서 인덱스가 바뀐 상점만 다시 색인하도록 함
+            for (int i = 0; i < stores.size(); i++) {
+                Store loaded = stores.get(i);
+                Long storeId = loaded.getStoreId();
+                Store previous = current.getStoreById(storeId).orElse(null);
+                if (previous != null && sameCatalogRow(previous, loaded)
+                        && current.getImageCount(storeId) == imageCounts.getOrDefault(storeId, 0)
+                        && Objects.equals(current.getMainImageUrls().get(storeId), mainImageUrls.get(storeId))) {
+                    stores.set(i, previous);
+                }
+            }
+        }
+
+        long version = nextVersion();
+        StoreChangeLog changeLog;
+        if (current != null) {
+            changeLog = current.getChangeLog().advance(current, stores, version, retainFrom(version));
+        } else {
+            long floor = retainFrom(version);
+            Map<Long, LocalDateTime> deletedAt = new HashMap<>();
+            LocalDateTime retainedSince = LocalDateTime.ofInstant(Instant.ofEpochMilli(floor), ZoneId.systemDefault());
+            for (Object[] row : storeTombstoneRepository.findLastDeletedAtSince(retainedSince)) {
+                deletedAt.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+            changeLog = StoreChangeLog.fromTimestamps(version, stores, deletedAt, syncOverlapMs, floor);
+        }
+
+        StoreCatalogSnapshot loaded = StoreCatalogSnapshot.of(version, stores, imageCounts, mainImageUrls, current,
+                changeLog);
+        logger.info("상점 카탈로그 적재 완료 - 상점 수: {}, version: {}", loaded.size(), loaded.getVersion());
+        return loaded;
+    }
+
+    /**
+     * 다음 카탈로그 버전 (현재 시각 epoch ms, 같은 밀리초에 여러 번 교체되면 1씩 증가)
+     */
+    private long nextVersion() {
+        return versionSequence.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
+    /**
+     * 삭제 기록을 보관하기 시작하는 버전
+     */
+    private long retainFrom(long version) {
+        return version - TimeUnit.DAYS.toMillis(tombstoneRetentionDays);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션 (변경 반영/다시 적재의 조회가 커넥션 하나를 함께 사용)
+     */
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * 카탈로그 컬럼 값이 모두 같은지 비교
+     */
+    private static boolean sameCatalogRow(Store a, Store b) {
+        return Objects.equals(a.getStoreName(), b.getStoreName())
+                && Objects.equals(a.getStoreCode(), b.getStoreCode())
+                && Objects.equals(a.getZoneNumber(), b.getZoneNumber())
+                && Objects.equals(a.getPhoneNumber(), b.getPhoneNumber())
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getDetailAddress(), b.getDetailAddress())
+                && Objects.equals(a.getXCoordinate(), b.getXCoordinate())
+                && Objects.equals(a.getYCoordinate(), b.getYCoordinate())
+                && Objects.equals(a.getMarkerRadius(), b.getMarkerRadius())
+                && Objects.equals(a.getBusinessHours(), b.getBusinessHours())
+                && Objects.equals(a.getDescription(), b.getDescription())
+                && Objects.equals(a.getIsActive(), b.getIsActive())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                && Objects.equals(a.getUpdatedAt(), b.getUpdatedAt());
+    }
+
+    /**
+     * 카탈로그 컬럼 조회 결과로 영속성 컨텍스트와 무관한 상점 객체 생성
+     * 엔티티를 적재하지 않으므로 1차 캐시/변경 감지 스냅샷과 연관관계 프록시가 만들어지지 않는다.
+     * @param row StoreRepository.CATALOG_COLUMNS 순서의 컬럼 값
+     * @return 상점
+     */
+    private static Store toStore(Object[] row) {
+        Store store = new Store();
+        store.setStoreId((Long) row[0]);
+        store.setStoreName((String) row[1]);
+        store.setStoreCode((String) row[2]);
+        store.setZoneNumber((Integer) row[3]);
+        store.setPhoneNumber((String) row[4]);
+        store.setAddress((String) row[5]);
+        store.setDetailAddress((String) row[6]);
+        store.setXCoordinate((Integer) row[7]);
+        store.setYCoordinate((Integer) row[8]);
+        store.setMarkerRadius((Integer) row[9]);
+        store.setBusinessHours((String) row[10]);
+        store.setDescription((String) row[11]);
+        store.setIsActive((Boolean) row[12]);
+        store.setCreatedAt((LocalDateTime) row[13]);
+        store.setUpdatedAt((LocalDateTime) row[14]);
+        return store;
+    }
+}
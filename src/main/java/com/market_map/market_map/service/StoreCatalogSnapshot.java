@@ -0,0 +1,375 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.index.KeywordIndex;
+import com.market_map.market_map.index.SpatialGridIndex;
+import com.market_map.market_map.index.StoreSlots;
+import com.market_map.market_map.index.TypeaheadIndex;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 활성 상점 카탈로그의 불변 스냅샷
+ * 목록은 구역 번호, 상점 코드 순으로 정렬되어 있으며 생성 이후 변경되지 않는다.
+ * 보관된 Store 객체는 영속성 컨텍스트와 분리된 복사본이므로 호출 측에서 수정하면 안 된다.
+ * 이전 스냅샷에서 만들면 바뀐 상점(Store 객체가 달라진 상점)만 인덱스에 반영하고 나머지 색인은 공유한다.
+ */
+public final class StoreCatalogSnapshot {
+
+    /**
+     * 상점 목록 정렬 기준 (구역 번호, 상점 코드, 상점 ID)
+     */
+    static final Comparator<Store> CATALOG_ORDER = Comparator
+            .comparing(Store::getZoneNumber, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Store::getStoreCode, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Store::getStoreId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final long version;
+
+    private final List<Store> stores;
+
+    private final Map<Long, Store> storesById;
+
+    private final Map<Integer, List<Store>> storesByZone;
+
+    private final Map<String, Store> storesByCode;
+
+    // 상점 ID -> 활성 이미지 수 (이미지가 없는 상점은 제외)
+    private final Map<Long, Integer> imageCounts;
+
+    // 상점 ID -> 대표 이미지 URL (대표 이미지가 없는 상점은 제외)
+    private final Map<Long, String> mainImageUrls;
+
+    // 인덱스 공용 상점 번호표
+    private final StoreSlots slots;
+
+    private final SpatialGridIndex spatialIndex;
+
+    private final KeywordIndex keywordIndex;
+
+    private final TypeaheadIndex typeaheadIndex;
+
+    private final StoreChangeLog changeLog;
+
+    // 버전별 파생 데이터 (직렬화된 응답 등)
+    private final ConcurrentMap<String, Object> derived = new ConcurrentHashMap<>();
+
+    // 파생 데이터 재사용/생성 횟수 (캐시 적중률 지표)
+    private final LongAdder derivedHits = new LongAdder();
+
+    private final LongAdder derivedMisses = new LongAdder();
+
+    private StoreCatalogSnapshot(long version, List<Store> stores, Map<Long, Integer> imageCounts,
+                                 Map<Long, String> mainImageUrls, StoreCatalogSnapshot previous,
+                                 StoreChangeLog changeLog) {
+        this.version = version;
+        this.changeLog = changeLog;
+        this.stores = Collections.unmodifiableList(stores);
+
+        Map<Long, Store> byId = new HashMap<>();
+        Map<Integer, List<Store>> byZone = new LinkedHashMap<>();
+        Map<String, Store> byCode = new HashMap<>();
+        for (Store store : stores) {
+            byId.put(store.getStoreId(), store);
+            if (store.getZoneNumber() != null) {
+                byZone.computeIfAbsent(store.getZoneNumber(), zone -> new ArrayList<>()).add(store);
+            }
+            if (store.getStoreCode() != null) {
+                byCode.putIfAbsent(store.getStoreCode(), store);
+            }
+        }
+        byZone.replaceAll((zone, list) -> Collections.unmodifiableList(list));
+
+        this.storesById = Collections.unmodifiableMap(byId);
+        this.storesByZone = Collections.unmodifiableMap(byZone);
+        this.storesByCode = Collections.unmodifiableMap(byCode);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        imageCounts.forEach((storeId, count) -> {
+            if (count != null && count > 0 && byId.containsKey(storeId)) {
+                counts.put(storeId, count);
+            }
+        });
+        this.imageCounts = Collections.unmodifiableMap(counts);
+
+        Map<Long, String> mainUrls = new HashMap<>();
+        mainImageUrls.forEach((storeId, url) -> {
+            if (url != null && byId.containsKey(storeId)) {
+                mainUrls.put(storeId, url);
+            }
+        });
+        this.mainImageUrls = Collections.unmodifiableMap(mainUrls);
+
+        StoreSlots nextSlots = previous != null ? previous.slots.update(this.stores) : null;
+        if (nextSlots == null || nextSlots.isSparse()) {
+            // 처음 만들거나 삭제로 빈 번호가 많아지면 번호를 다시 매겨 새로 생성
+            this.slots = StoreSlots.of(this.stores);
+            this.spatialIndex = SpatialGridIndex.build(slots, SpatialGridIndex.DEFAULT_CELL_SIZE);
+            this.keywordIndex = KeywordIndex.build(slots);
+            this.typeaheadIndex = TypeaheadIndex.build(slots);
+        } else {
+            this.slots = nextSlots;
+            this.spatialIndex = previous.spatialIndex.update(slots);
+            this.keywordIndex = previous.keywordIndex.update(slots);
+            this.typeaheadIndex = previous.typeaheadIndex.update(slots);
+        }
+    }
+
+    /**
+     * 상점 목록으로 스냅샷 생성
+     * @param version 카탈로그 버전
+     * @param stores 활성 상점 목록 (정렬 여부 무관)
+     * @param imageCounts 상점 ID별 활성 이미지 수
+     * @param mainImageUrls 상점 ID별 대표 이미지 URL
+     * @return 스냅샷 (모든 상점이 이 버전에 바뀐 것으로 기록)
+     */
+    public static StoreCatalogSnapshot of(long version, List<Store> stores, Map<Long, Integer> imageCounts,
+                                          Map<Long, String> mainImageUrls) {
+        return of(version, stores, imageCounts, mainImageUrls, null, StoreChangeLog.startingAt(version, stores));
+    }
+
+    /**
+     * 이전 스냅샷의 인덱스를 이어받아 스냅샷 생성
+     * 이전 스냅샷과 같은 Store 객체는 다시 색인하지 않으므로, 바뀌지 않은 상점은 이전 객체를 그대로 넘겨야 한다.
+     * @param version 카탈로그 버전
+     * @param stores 활성 상점 목록 (정렬 여부 무관)
+     * @param imageCounts 상점 ID별 활성 이미지 수
+     * @param mainImageUrls 상점 ID별 대표 이미지 URL
+     * @param previous 이전 스냅샷 (null이면 새로 색인)
+     * @param changeLog 상점 변경 기록
+     * @return 스냅샷
+     */
+    static StoreCatalogSnapshot of(long version, List<Store> stores, Map<Long, Integer> imageCounts,
+                                   Map<Long, String> mainImageUrls, StoreCatalogSnapshot previous,
+                                   StoreChangeLog changeLog) {
+        List<Store> sorted = new ArrayList<>(stores);
+        sorted.sort(CATALOG_ORDER);
+        return new StoreCatalogSnapshot(version, sorted, imageCounts, mainImageUrls, previous, changeLog);
+    }
+
+    /**
+     * 상점 변경 기록 (변경분 동기화용)
+     * @return 변경 기록
+     */
+    public StoreChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    /**
+     * 카탈로그 버전 (스냅샷이 교체될 때마다 증가)
+     * @return 버전
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 전체 활성 상점 목록
+     * @return 상점 목록 (수정 불가)
+     */
+    public List<Store> getStores() {
+        return stores;
+    }
+
+    /**
+     * 구역별 활성 상점 목록
+     * @param zoneNumber 구역 번호
+     * @return 상점 목록 (수정 불가)
+     */
+    public List<Store> getStoresByZone(Integer zoneNumber) {
+        return storesByZone.getOrDefault(zoneNumber, Collections.emptyList());
+    }
+
+    /**
+     * 상점 코드로 활성 상점 조회
+     * @param storeCode 상점 코드
+     * @return 상점 정보
+     */
+    public Optional<Store> getStoreByCode(String storeCode) {
+        return Optional.ofNullable(storeCode == null ? null : storesByCode.get(storeCode));
+    }
+
+    /**
+     * 상점 ID로 활성 상점 조회
+     * @param storeId 상점 ID
+     * @return 상점 정보
+     */
+    public Optional<Store> getStoreById(Long storeId) {
+        return Optional.ofNullable(storeId == null ? null : storesById.get(storeId));
+    }
+
+    /**
+     * 상점 좌표 공간 인덱스
+     * @return 공간 인덱스
+     */
+    public SpatialGridIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
+    /**
+     * 상점명, 상점 코드, 설명, 전화번호 키워드 인덱스
+     * @return 키워드 인덱스
+     */
+    public KeywordIndex getKeywordIndex() {
+        return keywordIndex;
+    }
+
+    /**
+     * 상점명 자동완성 인덱스
+     * @return 자동완성 인덱스
+     */
+    public TypeaheadIndex getTypeaheadIndex() {
+        return typeaheadIndex;
+    }
+
+    /**
+     * 상점 ID별 활성 이미지 수
+     * @return 상점 ID -> 이미지 수 (이미지가 없는 상점은 포함되지 않음, 수정 불가)
+     */
+    public Map<Long, Integer> getImageCounts() {
+        return imageCounts;
+    }
+
+    /**
+     * 상점의 활성 이미지 수
+     * @param storeId 상점 ID
+     * @return 이미지 수
+     */
+    public int getImageCount(Long storeId) {
+        return imageCounts.getOrDefault(storeId, 0);
+    }
+
+    /**
+     * 상점 ID별 대표 이미지 URL
+     * @return 상점 ID -> 대표 이미지 URL (수정 불가)
+     */
+    public Map<Long, String> getMainImageUrls() {
+        return mainImageUrls;
+    }
+
+    /**
+     * 상점의 대표 이미지 URL
+     * @param storeId 상점 ID
+     * @return 대표 이미지 URL
+     */
+    public Optional<String> getMainImageUrl(Long storeId) {
+        return Optional.ofNullable(storeId == null ? null : mainImageUrls.get(storeId));
+    }
+
+    /**
+     * 상점 통계 (구역별 상점 수, 이미지 수, 마지막 수정 시각)
+     * 스냅샷 버전당 한 번만 계산된다.
+     * @return 통계 정보 (수정 불가)
+     */
+    public Map<String, Object> getStatistics() {
+        return derive("statistics", StoreCatalogSnapshot::computeStatistics);
+    }
+
+    /**
+     * 활성 상점 수
+     * @return 상점 수
+     */
+    public int size() {
+        return stores.size();
+    }
+
+    /**
+     * 스냅샷에서 파생된 데이터 조회 (키별로 버전당 한 번만 보관)
+     * 생성 함수 안에서 다른 파생 데이터를 조회할 수 있도록 computeIfAbsent 대신 putIfAbsent를 사용하며,
+     * 동시에 처음 조회되면 생성 함수가 여러 번 실행될 수 있지만 먼저 저장된 값 하나만 사용된다.
+     * @param key 파생 데이터 키
+     * @param factory 파생 데이터 생성 함수
+     * @return 파생 데이터
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derive(String key, Function<StoreCatalogSnapshot, T> factory) {
+        Object value = derived.get(key);
+        if (value != null) {
+            derivedHits.increment();
+        } else {
+            derivedMisses.increment();
+            value = factory.apply(this);
+            Object existing = derived.putIfAbsent(key, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * 이 스냅샷에서 파생 데이터를 재사용한 횟수
+     * @return 횟수
+     */
+    public long getDerivedHitCount() {
+        return derivedHits.sum();
+    }
+
+    /**
+     * 이 스냅샷에서 파생 데이터를 새로 만든 횟수
+     * @return 횟수
+     */
+    public long getDerivedMissCount() {
+        return derivedMisses.sum();
+    }
+
+    private static Map<String, Object> computeStatistics(StoreCatalogSnapshot snapshot) {
+        List<Map<String, Object>> zones = new ArrayList<>();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", snapshot.version);
+        stats.put("totalStores", snapshot.stores.size());
+
+        // 기존 응답 형식 호환 (1~5지구는 상점이 없어도 0으로 포함)
+        for (int zone = 1; zone <= 5; zone++) {
+            stats.put("zone" + zone + "Stores", 0);
+        }
+
+        long totalImages = 0;
+        LocalDateTime lastUpdated = null;
+        for (Map.Entry<Integer, List<Store>> entry : snapshot.storesByZone.entrySet()) {
+            long zoneImages = 0;
+            LocalDateTime zoneUpdated = null;
+            for (Store store : entry.getValue()) {
+                zoneImages += snapshot.getImageCount(store.getStoreId());
+                zoneUpdated = latest(zoneUpdated, store.getUpdatedAt());
+            }
+
+            Map<String, Object> zone = new LinkedHashMap<>();
+            zone.put("zoneNumber", entry.getKey());
+            zone.put("storeCount", entry.getValue().size());
+            zone.put("imageCount", zoneImages);
+            zone.put("lastUpdated", zoneUpdated);
+            zones.add(zone);
+            stats.put("zone" + entry.getKey() + "Stores", entry.getValue().size());
+        }
+
+        for (Store store : snapshot.stores) {
+            totalImages += snapshot.getImageCount(store.getStoreId());
+            lastUpdated = latest(lastUpdated, store.getUpdatedAt());
+        }
+
+        stats.put("totalImages", totalImages);
+        stats.put("lastUpdated", lastUpdated);
+        stats.put("zones", zones);
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,38 @@
+package com.market_map.market_map.service;
+
+/**
+ * 상점 변경 이벤트
+ * StoreService에서 상점이 생성/수정/삭제되거나 상점 이미지가 바뀔 때 발행되며, 트랜잭션 커밋 이후 카탈로그 캐시 갱신에 사용된다.
+ */
+public class StoreChangeEvent {
+
+    // 변경 유형 열거형
+    public enum Type {
+        CREATED, UPDATED, DELETED, PURGED, IMAGES_CHANGED
+    }
+
+    private final Long storeId;
+
+    private final Type type;
+
+    public StoreChangeEvent(Long storeId, Type type) {
+        this.storeId = storeId;
+        this.type = type;
+    }
+
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "StoreChangeEvent{" +
+                "storeId=" + storeId +
+                ", type=" + type +
+                '}';
+    }
+}
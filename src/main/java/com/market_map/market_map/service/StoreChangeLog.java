@@ -0,0 +1,168 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.Store;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카탈로그 스냅샷의 상점 변경 기록 (변경분 동기화용, 불변)
+ * 상점마다 마지막으로 바뀐 카탈로그 버전과, 보관 기간 안에 삭제된 상점의 삭제 버전을 가진다.
+ * floor보다 오래된 버전 이후의 변경은 알 수 없으므로 그런 버전으로 요청하면 전체 목록을 다시 받아야 한다.
+ */
+public final class StoreChangeLog {
+
+    // 상점 ID별 마지막 변경 버전 (활성 상점)
+    private final Map<Long, Long> changeVersions;
+
+    // 상점 ID별 삭제 버전 (현재 스냅샷에 없는 상점)
+    private final Map<Long, Long> deleteVersions;
+
+    private final long floor;
+
+    private StoreChangeLog(Map<Long, Long> changeVersions, Map<Long, Long> deleteVersions, long floor) {
+        this.changeVersions = Collections.unmodifiableMap(changeVersions);
+        this.deleteVersions = Collections.unmodifiableMap(deleteVersions);
+        this.floor = floor;
+    }
+
+    /**
+     * 이전 기록 없이 시작 (모든 상점이 이 버전에 바뀐 것으로 기록)
+     * @param version 카탈로그 버전
+     * @param stores 활성 상점 목록
+     * @return 변경 기록
+     */
+    public static StoreChangeLog startingAt(long version, Collection<Store> stores) {
+        Map<Long, Long> changeVersions = new HashMap<>();
+        for (Store store : stores) {
+            changeVersions.put(store.getStoreId(), version);
+        }
+        return new StoreChangeLog(changeVersions, new HashMap<>(), version);
+    }
+
+    /**
+     * DB의 수정/삭제 시각으로 변경 기록 생성 (서버 시작 후 최초 적재)
+     * 버전은 epoch ms이며, 커밋이 늦게 끝난 변경을 놓치지 않도록 각 시각에 overlap을 더해 기록한다.
+     * @param version 카탈로그 버전
+     * @param stores 활성 상점 목록
+     * @param deletedAt 상점 ID별 마지막 삭제 시각 (보관 기간 안의 삭제 기록)
+     * @param overlapMs 늦게 커밋된 변경 보정 구간
+     * @param floor 삭제 기록을 보관하기 시작한 버전 (이보다 오래된 버전은 전체 목록)
+     * @return 변경 기록
+     */
+    public static StoreChangeLog fromTimestamps(long version, Collection<Store> stores,
+                                                Map<Long, LocalDateTime> deletedAt, long overlapMs, long floor) {
+        Map<Long, Long> changeVersions = new HashMap<>();
+        for (Store store : stores) {
+            LocalDateTime changedAt = store.getUpdatedAt() != null ? store.getUpdatedAt() : store.getCreatedAt();
+            // 시각을 모르면 이번 적재에서 바뀐 것으로 기록
+            changeVersions.put(store.getStoreId(), changedAt != null ? toEpochMilli(changedAt) + overlapMs : version);
+        }
+        Map<Long, Long> deleteVersions = new HashMap<>();
+        deletedAt.forEach((storeId, at) -> {
+            if (!changeVersions.containsKey(storeId)) {
+                deleteVersions.put(storeId, toEpochMilli(at) + overlapMs);
+            }
+        });
+        return new StoreChangeLog(changeVersions, deleteVersions, floor);
+    }
+
+    /**
+     * 다음 스냅샷의 변경 기록 생성
+     * 이전 스냅샷과 같은 Store 객체는 이전 버전을 유지하고, 바뀌거나 새로 생긴 상점과 사라진 상점은 새 버전으로 기록한다.
+     * 보관 기간이 지난 삭제 기록은 버리고 floor를 그만큼 올린다.
+     * @param previous 이전 스냅샷
+     * @param stores 새 스냅샷의 활성 상점 목록
+     * @param version 새 카탈로그 버전
+     * @param retainFrom 삭제 기록 보관 시작 버전
+     * @return 변경 기록
+     */
+    public StoreChangeLog advance(StoreCatalogSnapshot previous, Collection<Store> stores, long version, long retainFrom) {
+        Map<Long, Long> nextChanges = new HashMap<>();
+        Map<Long, Long> nextDeletes = new HashMap<>(deleteVersions);
+        for (Store store : stores) {
+            Long storeId = store.getStoreId();
+            Long changed = changeVersions.get(storeId);
+            boolean same = changed != null && previous.getStoreById(storeId).orElse(null) == store;
+            nextChanges.put(storeId, same ? changed : version);
+            nextDeletes.remove(storeId);
+        }
+        for (Store store : previous.getStores()) {
+            if (!nextChanges.containsKey(store.getStoreId())) {
+                nextDeletes.put(store.getStoreId(), version);
+            }
+        }
+
+        long nextFloor = floor;
+        for (Iterator<Long> it = nextDeletes.values().iterator(); it.hasNext(); ) {
+            long deleted = it.next();
+            if (deleted < retainFrom) {
+                it.remove();
+                nextFloor = Math.max(nextFloor, deleted);
+            }
+        }
+        return new StoreChangeLog(nextChanges, nextDeletes, nextFloor);
+    }
+
+    /**
+     * 기준 버전 이후 변경분을 이 기록으로 알 수 있는지 여부
+     * @param since 클라이언트가 마지막으로 받은 버전
+     * @return floor 이상이면 true
+     */
+    public boolean covers(long since) {
+        return since >= floor;
+    }
+
+    /**
+     * 기준 버전 이후 바뀐 상점인지 여부
+     * @param storeId 상점 ID
+     * @param since 기준 버전
+     * @return 바뀌었으면 true
+     */
+    public boolean isChangedSince(Long storeId, long since) {
+        Long changed = changeVersions.get(storeId);
+        return changed == null || changed > since;
+    }
+
+    /**
+     * 기준 버전 이후 삭제된 상점 ID 목록
+     * @param since 기준 버전
+     * @return 상점 ID 목록
+     */
+    public List<Long> getDeletedSince(long since) {
+        List<Long> deleted = new ArrayList<>();
+        deleteVersions.forEach((storeId, version) -> {
+            if (version > since) {
+                deleted.add(storeId);
+            }
+        });
+        return deleted;
+    }
+
+    /**
+     * 변경분 동기화가 가능한 가장 오래된 버전
+     * @return 버전
+     */
+    public long getFloor() {
+        return floor;
+    }
+
+    /**
+     * 보관 중인 삭제 기록 수
+     * @return 삭제 기록 수
+     */
+    public int getTombstoneCount() {
+        return deleteVersions.size();
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,215 @@
+package com.market_map.market_map.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상점 변경 알림 서비스 (Server-Sent Events)
+ * 열려 있는 지도 화면에 상점 생성/수정/삭제를 알려, 화면이 변경분 동기화(/api/stores/changes)로 목록을 갱신하게 한다.
+ * 연결은 서블릿 비동기 요청으로 유지되므로 대기 중인 구독자는 스레드를 점유하지 않고,
+ * 보낼 이벤트가 생긴 구독자만 가상 스레드에서 차례로 전송한다.
+ * 전송이 밀려 대기 이벤트가 queue-capacity를 넘는 구독자는 연결을 끊는다 (브라우저가 재연결 후 변경분을 다시 받음).
+ */
+@Service
+public class StoreEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreEventBroadcaster.class);
+
+    // 상점 변경 이벤트 이름 (EventSource.addEventListener)
+    public static final String EVENT_NAME = "store-change";
+
+    @Value("${app.store-events.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${app.store-events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.store-events.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${app.store-events.reconnect-ms:5000}")
+    private long reconnectMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 전송할 이벤트가 있는 구독자마다 가상 스레드 하나 (전송이 끝나면 종료)
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong eventId = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 구독 등록
+     * @return SSE 응답 (구독자 수가 max-subscribers에 도달했으면 null)
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        return register(new SseEmitter(timeoutMs));
+    }
+
+    /**
+     * 연결을 구독자로 등록하고 연결 확인 주석을 보냄
+     * @param emitter SSE 응답
+     * @return 등록한 SSE 응답
+     */
+    SseEmitter register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // 응답 헤더를 바로 내보내고 재연결 간격을 알려줌
+        subscriber.enqueue(SseEmitter.event().reconnectTime(reconnectMs).comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * 상점 변경 알림 (StoreCatalogCache가 변경을 반영한 새 스냅샷으로 교체한 다음 호출)
+     * @param event 상점 변경 이벤트
+     */
+    public void publish(StoreChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String data = "{\"type\":\"" + event.getType().name() + "\",\"storeId\":" + event.getStoreId() + "}";
+        broadcast(SseEmitter.event()
+                .id(String.valueOf(eventId.incrementAndGet()))
+                .name(EVENT_NAME)
+                .data(data, MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    /**
+     * 연결 유지용 주석 전송 (프록시 유휴 시간 초과 방지, 끊어진 연결 정리)
+     */
+    @Scheduled(fixedDelayString = "${app.store-events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(SseEmitter.event().comment("ping").build());
+        }
+    }
+
+    /**
+     * 종료 시 모든 연결 닫기
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    /**
+     * 현재 구독자 수
+     * @return 구독자 수
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 전송이 밀려 연결을 끊은 구독자 수 (누적)
+     * @return 구독자 수
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * 모든 구독자의 대기열에 이벤트 추가 (한 번 만든 이벤트를 공유, 호출 스레드는 전송을 기다리지 않음)
+     * @param event 전송할 이벤트
+     */
+    private void broadcast(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    /**
+     * 구독자 (연결 하나와 전송 대기열)
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+
+        // ConcurrentLinkedQueue.size()는 O(n)이므로 크기를 따로 센다
+        private final AtomicInteger pendingCount = new AtomicInteger();
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (pendingCount.incrementAndGet() > queueCapacity) {
+                pendingCount.decrementAndGet();
+                if (subscribers.remove(this)) {
+                    dropped.incrementAndGet();
+                    emitter.complete();
+                }
+                return;
+            }
+            pending.offer(event);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중
+                    draining.set(false);
+                }
+            }
+        }
+
+        /**
+         * 대기열이 빌 때까지 순서대로 전송 (구독자당 동시에 하나만 실행)
+         */
+        private void drain() {
+            try {
+                do {
+                    Set<ResponseBodyEmitter.DataWithMediaType> event;
+                    while ((event = pending.poll()) != null) {
+                        pendingCount.decrementAndGet();
+                        emitter.send(event);
+                    }
+                    draining.set(false);
+                    // 플래그를 내린 사이 들어온 이벤트가 있으면 이어서 전송
+                } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊음 (정리는 컨테이너의 오류 콜백에서도 처리됨)
+                subscribers.remove(this);
+                logger.debug("상점 변경 알림 전송 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -2,16 +2,26 @@ package com.market_map.market_map.service;
 
 import com.market_map.market_map.entity.Store;
 import com.market_map.market_map.entity.StoreImage;
+import com.market_map.market_map.entity.StoreTombstone;
 import com.market_map.market_map.repository.StoreRepository;
 import com.market_map.market_map.repository.StoreImageRepository;
+import com.market_map.market_map.repository.StoreTombstoneRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,79 +41,137 @@ public class StoreService {
     @Autowired
     private StoreImageRepository storeImageRepository;
     
+    @Autowired
+    private StoreCatalogCache storeCatalogCache;
+    
+    @Autowired
+    private StoreTombstoneRepository storeTombstoneRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // 변경분 동기화: 삭제 기록 보관 기간 (서버 시작 시 카탈로그 캐시가 이 기간의 삭제 기록을 읽음)
+    @Value("${app.store-sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+    
     /**
-     * 모든 활성 상점 목록 조회
+     * 모든 활성 상점 목록 조회 (카탈로그 캐시)
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> getAllStores() {
-        return storeRepository.findByIsActiveTrueOrderByZoneNumberAscStoreCodeAsc();
+        return storeCatalogCache.getSnapshot().getStores();
     }
     
     /**
-     * 구역별 상점 목록 조회
+     * 현재 상점 카탈로그 스냅샷 조회
+     * @return 카탈로그 스냅샷
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StoreCatalogSnapshot getCatalogSnapshot() {
+        return storeCatalogCache.getSnapshot();
+    }
+    
+    /**
+     * 구역별 상점 목록 조회 (카탈로그 캐시)
      * @param zoneNumber 구역 번호
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> getStoresByZone(Integer zoneNumber) {
-        return storeRepository.findByZoneNumberAndIsActiveTrueOrderByStoreCodeAsc(zoneNumber);
+        return storeCatalogCache.getSnapshot().getStoresByZone(zoneNumber);
     }
     
     /**
-     * 상점 ID로 조회
+     * 상점 ID로 조회 (활성 상점은 카탈로그 캐시, 비활성 상점만 DB)
+     * 캐시의 상점 객체는 모든 요청이 공유하므로 수정하지 않는다 (수정할 때는 getStoreForUpdate 사용).
      * @param storeId 상점 ID
      * @return 상점 정보
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Store> getStoreById(Long storeId) {
+        Optional<Store> store = storeCatalogCache.getSnapshot().getStoreById(storeId);
+        return store.isPresent() ? store : storeRepository.findById(storeId);
+    }
+    
+    /**
+     * 수정할 상점 조회 (DB)
+     * @param storeId 상점 ID
+     * @return 상점 정보
+     */
+    @Transactional(readOnly = true)
+    public Optional<Store> getStoreForUpdate(Long storeId) {
         return storeRepository.findById(storeId);
     }
     
     /**
-     * 상점 코드로 조회
+     * 상점 코드로 조회 (카탈로그 캐시)
      * @param storeCode 상점 코드
      * @return 상점 정보
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Store> getStoreByCode(String storeCode) {
-        return storeRepository.findByStoreCodeAndIsActiveTrue(storeCode);
+        return storeCatalogCache.getSnapshot().getStoreByCode(storeCode);
     }
     
     /**
-     * 좌표 범위 내 상점 검색
+     * 좌표 범위 내 상점 검색 (공간 인덱스)
      * @param x X 좌표
      * @param y Y 좌표
      * @param radius 반경
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> getStoresByCoordinates(Integer x, Integer y, Integer radius) {
-        return storeRepository.findStoresByCoordinatesWithinRadius(x, y, radius);
+        return storeCatalogCache.getSnapshot().getSpatialIndex().findWithinBox(x, y, radius);
     }
     
     /**
-     * 가장 가까운 상점 검색
+     * 가장 가까운 상점 검색 (공간 인덱스)
      * @param x X 좌표
      * @param y Y 좌표
      * @return 가장 가까운 상점
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Store> getNearestStore(Integer x, Integer y) {
-        return storeRepository.findNearestStoreByCoordinates(x, y);
+        return storeCatalogCache.getSnapshot().getSpatialIndex().findNearest(x, y);
+    }
+    
+    /**
+     * 가까운 순서로 상점 목록 검색 (공간 인덱스)
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param limit 최대 개수
+     * @return 거리 오름차순 상점 목록
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Store> getNearestStores(Integer x, Integer y, int limit) {
+        return storeCatalogCache.getSnapshot().getSpatialIndex().findNearest(x, y, limit);
     }
     
     /**
-     * 키워드로 상점 검색
+     * 지도 좌표에 놓인 상점 마커 판정 (공간 인덱스)
+     * @param x X 좌표
+     * @param y Y 좌표
+     * @param tolerance 최소 판정 반경
+     * @return 가장 위에 그려진 상점
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Store> getStoreAt(Integer x, Integer y, int tolerance) {
+        return storeCatalogCache.getSnapshot().getSpatialIndex().hitTest(x, y, tolerance);
+    }
+    
+    /**
+     * 키워드로 상점 검색 (상점명 > 상점 코드 > 설명 일치 순으로 정렬)
      * @param keyword 검색 키워드
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> searchStores(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllStores();
         }
-        return storeRepository.searchStoresByKeyword(keyword.trim());
+        return storeCatalogCache.getSnapshot().getKeywordIndex().search(keyword.trim());
     }
     
     /**
@@ -111,19 +179,69 @@ public class StoreService {
      * @param storeName 상점명
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> searchStoresByName(String storeName) {
-        return storeRepository.findByStoreNameContainingAndIsActiveTrue(storeName);
+        return storeCatalogCache.getSnapshot().getKeywordIndex().searchByName(storeName);
     }
     
     /**
-     * 전화번호로 검색
+     * 전화번호로 검색 (숫자만 비교)
      * @param phoneNumber 전화번호
      * @return 상점 목록
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Store> searchStoresByPhone(String phoneNumber) {
-        return storeRepository.findByPhoneNumberContainingAndIsActiveTrue(phoneNumber);
+        return storeCatalogCache.getSnapshot().getKeywordIndex().searchByPhone(phoneNumber);
+    }
+    
+    /**
+     * 검색어 자동완성 (상점명 접두어, 입력 중인 음절, 초성, 상점 코드)
+     * @param query 검색어
+     * @param limit 최대 추천 수
+     * @return 추천 상점 목록
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Store> suggestStores(String query, int limit) {
+        return storeCatalogCache.getSnapshot().getTypeaheadIndex().suggest(query, limit);
+    }
+    
+    /**
+     * 기준 버전 이후 상점 변경분 조회 (카탈로그 캐시, DB를 읽지 않음)
+     * 버전과 변경분은 같은 스냅샷에서 가져오므로, 돌려준 버전까지의 변경은 모두 포함되고 이후 변경은 다음 동기화에 포함된다.
+     * 같은 상점이 다음 동기화에 다시 포함될 수 있으므로 클라이언트는 상점 ID 기준으로 덮어쓴다.
+     * @param since 클라이언트가 마지막으로 받은 버전 (없거나 삭제 기록 보관 기간보다 오래되면 전체 목록을 다시 받도록 응답)
+     * @return 변경분
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public StoreChanges getStoreChanges(Long since) {
+        StoreCatalogSnapshot snapshot = storeCatalogCache.getSnapshot();
+        long version = snapshot.getVersion();
+        StoreChangeLog changeLog = snapshot.getChangeLog();
+        // 보관 기간보다 오래됐거나 이 서버가 만든 적 없는 버전
+        if (since == null || !changeLog.covers(since) || since > version) {
+            return StoreChanges.full(version);
+        }
+        
+        List<Store> upserts = new ArrayList<>();
+        for (Store store : snapshot.getStores()) {
+            if (changeLog.isChangedSince(store.getStoreId(), since)) {
+                upserts.add(store);
+            }
+        }
+        return new StoreChanges(version, false, upserts, changeLog.getDeletedSince(since), snapshot.getMainImageUrls());
+    }
+    
+    /**
+     * 보관 기간이 지난 상점 삭제 기록 정리 (매일 03:40)
+     */
+    @Scheduled(cron = "${app.store-sync.prune-cron:0 40 3 * * *}")
+    public void pruneTombstones() {
+        try {
+            int deleted = storeTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+            logger.info("오래된 상점 삭제 기록 {}건 삭제", deleted);
+        } catch (Exception e) {
+            logger.error("상점 삭제 기록 정리 중 오류 발생: {}", e.getMessage());
+        }
     }
     
     /**
@@ -151,6 +269,8 @@ public class StoreService {
         Store savedStore = storeRepository.save(store);
         logger.info("데이터베이스 저장 완료: {}", savedStore.getStoreId());
         
+        eventPublisher.publishEvent(new StoreChangeEvent(savedStore.getStoreId(), StoreChangeEvent.Type.CREATED));
+        
         return savedStore;
     }
     
@@ -186,7 +306,10 @@ public class StoreService {
         existingStore.setBusinessHours(store.getBusinessHours());
         existingStore.setDescription(store.getDescription());
         
-        return storeRepository.save(existingStore);
+        Store savedStore = storeRepository.save(existingStore);
+        eventPublisher.publishEvent(new StoreChangeEvent(savedStore.getStoreId(), StoreChangeEvent.Type.UPDATED));
+        
+        return savedStore;
     }
     
     /**
@@ -204,8 +327,10 @@ public class StoreService {
         
         store.setIsActive(false);
         Store savedStore = storeRepository.save(store);
+        storeTombstoneRepository.save(new StoreTombstone(storeId));
         
         logger.info("삭제 후 상점 정보 - storeName: {}, isActive: {}", savedStore.getStoreName(), savedStore.getIsActive());
+        eventPublisher.publishEvent(new StoreChangeEvent(storeId, StoreChangeEvent.Type.DELETED));
         logger.info("상점 삭제 처리 완료 - storeId: {}", storeId);
         
         return true;
@@ -224,6 +349,8 @@ public class StoreService {
         // 관련 이미지도 함께 삭제
         storeImageRepository.deleteByStoreStoreId(storeId);
         storeRepository.deleteById(storeId);
+        storeTombstoneRepository.save(new StoreTombstone(storeId));
+        eventPublisher.publishEvent(new StoreChangeEvent(storeId, StoreChangeEvent.Type.PURGED));
         
         return true;
     }
@@ -240,7 +367,55 @@ public class StoreService {
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상점입니다."));
         
         StoreImage image = new StoreImage(store, imageUrl, imageType);
-        return storeImageRepository.save(image);
+        StoreImage savedImage = storeImageRepository.save(image);
+        touchStore(store);
+        eventPublisher.publishEvent(new StoreChangeEvent(storeId, StoreChangeEvent.Type.IMAGES_CHANGED));
+        return savedImage;
+    }
+    
+    /**
+     * 상점 이미지 여러 개 추가 (상점 조회와 변경 이벤트는 한 번, 행은 한 번에 저장)
+     * @param storeId 상점 ID
+     * @param imageUrls 이미지 URL 목록 (첫 번째가 대표 이미지)
+     * @return 생성된 이미지 정보 목록
+     */
+    public List<StoreImage> addStoreImages(Long storeId, List<String> imageUrls) {
+        if (imageUrls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상점입니다."));
+        
+        List<StoreImage> images = new ArrayList<>(imageUrls.size());
+        for (int i = 0; i < imageUrls.size(); i++) {
+            StoreImage.ImageType imageType = (i == 0) ? StoreImage.ImageType.MAIN : StoreImage.ImageType.SUB;
+            images.add(new StoreImage(store, imageUrls.get(i), imageType));
+        }
+        List<StoreImage> savedImages = storeImageRepository.saveAll(images);
+        touchStore(store);
+        eventPublisher.publishEvent(new StoreChangeEvent(storeId, StoreChangeEvent.Type.IMAGES_CHANGED));
+        return savedImages;
+    }
+    
+    /**
+     * 파생 이미지 URL 저장 (파생 이미지 생성 완료 시 호출)
+     * @param imageId 이미지 ID
+     * @param thumbnailUrl 썸네일 URL
+     * @param popupUrl 팝업용 URL
+     * @param fullUrl 전체 화면용 URL
+     * @return 저장 성공 여부 (생성 중 이미지가 삭제되었으면 false)
+     */
+    public boolean updateImageDerivatives(Long imageId, String thumbnailUrl, String popupUrl, String fullUrl) {
+        Optional<StoreImage> image = storeImageRepository.findById(imageId);
+        if (image.isEmpty()) {
+            logger.warn("파생 이미지 저장 대상이 없습니다 - imageId: {}", imageId);
+            return false;
+        }
+        
+        storeImageRepository.updateDerivativeUrls(imageId, thumbnailUrl, popupUrl, fullUrl);
+        touchStore(image.get().getStore());
+        eventPublisher.publishEvent(new StoreChangeEvent(image.get().getStore().getStoreId(), StoreChangeEvent.Type.IMAGES_CHANGED));
+        return true;
     }
     
     /**
@@ -249,11 +424,13 @@ public class StoreService {
      * @return 삭제 성공 여부
      */
     public boolean deleteStoreImage(Long imageId) {
-        if (!storeImageRepository.existsById(imageId)) {
-            throw new IllegalArgumentException("존재하지 않는 이미지입니다.");
-        }
+        StoreImage image = storeImageRepository.findById(imageId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 이미지입니다."));
+        Long storeId = image.getStore().getStoreId();
         
-        storeImageRepository.deleteById(imageId);
+        storeImageRepository.delete(image);
+        touchStore(image.getStore());
+        eventPublisher.publishEvent(new StoreChangeEvent(storeId, StoreChangeEvent.Type.IMAGES_CHANGED));
         return true;
     }
     
@@ -270,11 +447,48 @@ public class StoreService {
     /**
      * 상점별 이미지 데이터 조회 (직렬화 문제 해결)
      * @param storeId 상점 ID
+     * @param size 이미지 크기 (imageUrl을 해당 크기 URL로 대체)
      * @return 이미지 데이터 목록
      */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getStoreImageData(Long storeId) {
-        return storeImageRepository.findImageDataByStoreId(storeId);
+    public List<Map<String, Object>> getStoreImageData(Long storeId, StoreImage.ImageSize size) {
+        List<Map<String, Object>> imageData = storeImageRepository.findImageDataByStoreId(storeId);
+        applyImageSize(imageData, size);
+        return imageData;
+    }
+    
+    /**
+     * 여러 상점의 이미지 데이터 일괄 조회 (단일 IN 쿼리)
+     * @param storeIds 상점 ID 목록
+     * @param size 이미지 크기 (imageUrl을 해당 크기 URL로 대체)
+     * @return 상점 ID -> 이미지 데이터 목록 (이미지가 없는 상점은 빈 목록)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Map<String, Object>>> getStoreImageData(Collection<Long> storeIds, StoreImage.ImageSize size) {
+        Map<Long, List<Map<String, Object>>> imagesByStore = new LinkedHashMap<>();
+        for (Long storeId : storeIds) {
+            imagesByStore.put(storeId, new ArrayList<>());
+        }
+        if (!imagesByStore.isEmpty()) {
+            List<Map<String, Object>> imageData = storeImageRepository.findImageDataByStoreIds(imagesByStore.keySet());
+            applyImageSize(imageData, size);
+            groupImageData(imageData, imagesByStore);
+        }
+        return imagesByStore;
+    }
+    
+    /**
+     * 활성 상점 전체의 이미지 데이터 조회
+     * @param size 이미지 크기 (imageUrl을 해당 크기 URL로 대체)
+     * @return 상점 ID -> 이미지 데이터 목록 (이미지가 있는 상점만)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Map<String, Object>>> getAllStoreImageData(StoreImage.ImageSize size) {
+        Map<Long, List<Map<String, Object>>> imagesByStore = new LinkedHashMap<>();
+        List<Map<String, Object>> imageData = storeImageRepository.findImageDataForActiveStores();
+        applyImageSize(imageData, size);
+        groupImageData(imageData, imagesByStore);
+        return imagesByStore;
     }
     
     /**
@@ -292,18 +506,66 @@ public class StoreService {
      * @param zoneNumber 구역 번호
      * @return 상점 수
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long countStoresByZone(Integer zoneNumber) {
-        return storeRepository.countByZoneNumberAndIsActiveTrue(zoneNumber);
+        return storeCatalogCache.getSnapshot().getStoresByZone(zoneNumber).size();
     }
     
     /**
      * 전체 활성 상점 수 조회
      * @return 상점 수
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long countActiveStores() {
-        return storeRepository.countByIsActiveTrue();
+        return storeCatalogCache.getSnapshot().size();
+    }
+    
+    /**
+     * 요청한 크기의 파생 이미지 URL을 imageUrl로 사용 (파생 이미지가 아직 없으면 원본 유지)
+     * @param imageData 이미지 데이터 (thumbnailUrl, popupUrl, fullUrl 포함)
+     * @param size 이미지 크기
+     */
+    private void applyImageSize(List<Map<String, Object>> imageData, StoreImage.ImageSize size) {
+        String key;
+        switch (size) {
+            case THUMBNAIL:
+                key = "thumbnailUrl";
+                break;
+            case POPUP:
+                key = "popupUrl";
+                break;
+            case FULL:
+                key = "fullUrl";
+                break;
+            default:
+                return;
+        }
+        for (Map<String, Object> image : imageData) {
+            Object url = image.get(key);
+            if (url != null) {
+                image.put("imageUrl", url);
+            }
+        }
+    }
+    
+    /**
+     * 이미지 데이터를 상점 ID별로 묶기
+     * @param imageData 이미지 데이터 (storeId 포함)
+     * @param imagesByStore 결과를 담을 맵
+     */
+    private void groupImageData(List<Map<String, Object>> imageData, Map<Long, List<Map<String, Object>>> imagesByStore) {
+        for (Map<String, Object> image : imageData) {
+            Long storeId = (Long) image.get("storeId");
+            imagesByStore.computeIfAbsent(storeId, id -> new ArrayList<>()).add(image);
+        }
+    }
+    
+    /**
+     * 상점 수정 시각 갱신 (이미지 변경도 변경분 동기화에 포함되도록)
+     * @param store 영속 상태의 상점
+     */
+    private void touchStore(Store store) {
+        store.setUpdatedAt(LocalDateTime.now());
     }
     
     /**
@@ -311,7 +573,7 @@ public class StoreService {
      * @param store 상점 정보
      * @throws IllegalArgumentException 유효하지 않은 경우
      */
-    private void validateStore(Store store) {
+    public void validateStore(Store store) {
         if (store.getStoreName() == null || store.getStoreName().trim().isEmpty()) {
             throw new IllegalArgumentException("상점명은 필수 입력 항목입니다.");
         }
@@ -336,4 +598,59 @@ public class StoreService {
             throw new IllegalArgumentException("상점 코드는 50자를 초과할 수 없습니다.");
         }
     }
+    
+    /**
+     * 상점 변경분 (변경분 동기화 응답)
+     */
+    public static final class StoreChanges {
+        
+        private final long version;
+        
+        private final boolean full;
+        
+        private final List<Store> upserts;
+        
+        private final List<Long> deletes;
+        
+        // 변경분과 같은 스냅샷의 대표 이미지 URL
+        private final Map<Long, String> mainImageUrls;
+        
+        public StoreChanges(long version, boolean full, List<Store> upserts, List<Long> deletes,
+                            Map<Long, String> mainImageUrls) {
+            this.version = version;
+            this.full = full;
+            this.upserts = upserts;
+            this.deletes = deletes;
+            this.mainImageUrls = mainImageUrls;
+        }
+        
+        /**
+         * 전체 목록을 다시 받아야 하는 경우
+         * @param version 새 버전
+         * @return 변경분
+         */
+        public static StoreChanges full(long version) {
+            return new StoreChanges(version, true, List.of(), List.of(), Map.of());
+        }
+        
+        public long getVersion() {
+            return version;
+        }
+        
+        public boolean isFull() {
+            return full;
+        }
+        
+        public List<Store> getUpserts() {
+            return upserts;
+        }
+        
+        public List<Long> getDeletes() {
+            return deletes;
+        }
+        
+        public Map<Long, String> getMainImageUrls() {
+            return mainImageUrls;
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package com.market_map.market_map.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 미리 직렬화된 응답 본문
+ * 원본 바이트와 gzip 압축 바이트, 내용 해시 기반 강한 ETag를 한 번만 계산해 보관한다.
+ */
+public final class PreparedPayload {
+
+    private final MediaType contentType;
+
+    private final byte[] body;
+
+    private final byte[] gzipBody;
+
+    private final String eTag;
+
+    private final String gzipETag;
+
+    private PreparedPayload(MediaType contentType, byte[] body) {
+        this.contentType = contentType;
+        this.body = body;
+        this.gzipBody = gzip(body);
+
+        String hash = contentHash(body);
+        this.eTag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-gz\"";
+    }
+
+    /**
+     * JSON 문자열로 응답 본문 생성
+     * @param json JSON 문자열
+     * @return 응답 본문
+     */
+    public static PreparedPayload json(String json) {
+        return new PreparedPayload(MediaType.APPLICATION_JSON, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 바이트 배열로 응답 본문 생성
+     * @param contentType 콘텐츠 타입
+     * @param body 본문 바이트
+     * @return 응답 본문
+     */
+    public static PreparedPayload of(MediaType contentType, byte[] body) {
+        return new PreparedPayload(contentType, body);
+    }
+
+    /**
+     * 응답 엔티티 생성
+     * If-None-Match가 ETag와 일치하면 Spring MVC가 본문 없이 304로 응답한다.
+     * @param acceptEncoding 요청의 Accept-Encoding 헤더
+     * @param cacheControl Cache-Control 정책
+     * @param varyBy Accept-Encoding 외에 응답을 달리하는 요청 헤더 (예: Accept로 형식을 고르는 경우)
+     * @return 응답 엔티티
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding, CacheControl cacheControl, String... varyBy) {
+        boolean useGzip = acceptsGzip(acceptEncoding);
+
+        String[] vary = new String[varyBy.length + 1];
+        vary[0] = HttpHeaders.ACCEPT_ENCODING;
+        System.arraycopy(varyBy, 0, vary, 1, varyBy.length);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(contentType)
+                .cacheControl(cacheControl)
+                .varyBy(vary)
+                .eTag(useGzip ? gzipETag : eTag);
+
+        if (useGzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return builder.body(useGzip ? gzipBody : body);
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public byte[] getGzipBody() {
+        return gzipBody;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Accept-Encoding에 gzip이 허용되어 있는지 확인
+     * @param acceptEncoding Accept-Encoding 헤더
+     * @return gzip 허용 여부
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase("gzip") || coding.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(data);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("응답 본문 압축 중 오류 발생", e);
+        }
+    }
+
+    private static String contentHash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
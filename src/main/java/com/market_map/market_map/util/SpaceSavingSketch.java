@@ -0,0 +1,187 @@
+package com.market_map.market_map.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 빈도 상위 항목 추정기
+ * 최대 capacity개의 카운터만 유지하며, 카운터가 가득 차면 가장 작은 카운터를 새 항목에 넘겨준다.
+ * 실제 빈도가 전체의 1/capacity를 넘는 항목은 반드시 포함되고, 추정치는 실제 값보다 최대 error만큼 크다.
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 한다.
+ */
+public final class SpaceSavingSketch {
+
+    private final int capacity;
+
+    private final Map<String, Counter> counters;
+
+    // count 기준 최소 힙
+    private final Counter[] heap;
+
+    private int size;
+
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    /**
+     * 항목 빈도 추가
+     * @param item 항목
+     * @param weight 추가할 횟수
+     */
+    public void add(String item, long weight) {
+        if (item == null || weight <= 0) {
+            return;
+        }
+        total += weight;
+
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.heapIndex);
+            return;
+        }
+
+        if (size < capacity) {
+            counter = new Counter(item, weight, 0);
+            counter.heapIndex = size;
+            heap[size++] = counter;
+            counters.put(item, counter);
+            siftUp(counter.heapIndex);
+            return;
+        }
+
+        // 가장 작은 카운터를 새 항목으로 교체
+        Counter min = heap[0];
+        counters.remove(min.item);
+        min.error = min.count;
+        min.count += weight;
+        min.item = item;
+        counters.put(item, min);
+        siftDown(0);
+    }
+
+    /**
+     * 추정 빈도 상위 항목 조회
+     * @param limit 최대 개수
+     * @return 빈도 내림차순 항목 목록
+     */
+    public List<Entry> top(int limit) {
+        Counter[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter c) -> c.count).reversed()
+                .thenComparing(c -> c.item));
+
+        int count = Math.min(Math.max(limit, 0), sorted.length);
+        List<Entry> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new Entry(sorted[i].item, sorted[i].count, sorted[i].error));
+        }
+        return result;
+    }
+
+    /**
+     * 지금까지 추가된 전체 빈도
+     * @return 전체 빈도
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    /**
+     * 상위 항목 (추정 빈도와 최대 과대 추정치)
+     */
+    public static final class Entry {
+
+        private final String item;
+
+        private final long count;
+
+        private final long error;
+
+        private Entry(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+
+    private static final class Counter {
+
+        private String item;
+
+        private long count;
+
+        private long error;
+
+        private int heapIndex;
+
+        private Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
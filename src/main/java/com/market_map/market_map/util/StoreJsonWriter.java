@@ -0,0 +1,468 @@
+package com.market_map.market_map.util;
+
+import com.market_map.market_map.entity.Store;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 상점/상점 이미지 JSON 스트리밍 직렬화기
+ * 필드를 직접 UTF-8 바이트로 인코딩해 재사용 버퍼에 쓰고, 버퍼가 차면 출력 스트림으로 내보낸다.
+ * 중간 문자열이나 JsonElement 트리를 만들지 않으며, 출력 형식은 StoreController의 Gson 설정과 같다
+ * (null 필드 생략, HTML 문자 이스케이프, 날짜 "yyyy-MM-dd HH:mm:ss").
+ * 지연 로딩 연관관계(marketMap, createdBy)와 업로드용 임시 필드(images)는 쓰지 않는다.
+ * 스레드 안전하지 않으므로 응답 하나에 인스턴스 하나를 사용한다.
+ */
+public final class StoreJsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // 반납된 버퍼 보관 수 (초과분은 버림)
+    private static final ArrayBlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(256);
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private final OutputStream out;
+
+    private byte[] buffer;
+
+    private int position;
+
+    // 현재 객체/배열에 이미 값이 쓰였는지 여부 (쉼표 판단)
+    private boolean needsComma;
+
+    /**
+     * 응답 본문으로 쓸 JSON 내용 (StoreJsonHttpMessageConverter가 응답 스트림에 직접 씀)
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * 직렬화기에 내용 쓰기
+         * @param writer 직렬화기
+         */
+        void writeTo(StoreJsonWriter writer) throws IOException;
+    }
+
+    private StoreJsonWriter(OutputStream out, byte[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 출력 스트림에 쓰는 직렬화기 생성 (close 시 버퍼를 비우고 반납하며 스트림은 닫지 않음)
+     * @param out 출력 스트림
+     * @return 직렬화기
+     */
+    public static StoreJsonWriter open(OutputStream out) {
+        byte[] buffer = BUFFER_POOL.poll();
+        return new StoreJsonWriter(out, buffer != null ? buffer : new byte[BUFFER_SIZE]);
+    }
+
+    /**
+     * 메모리에 직렬화 (카탈로그 버전별로 캐시하는 응답 본문용)
+     * @param content JSON 내용
+     * @param sizeHint 예상 바이트 수
+     * @return UTF-8 JSON 바이트
+     */
+    public static byte[] toByteArray(Content content, int sizeHint) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, sizeHint));
+        try (StoreJsonWriter writer = open(out)) {
+            content.writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JSON 직렬화 중 오류 발생", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 상점 하나를 JSON 객체로 쓰기 (상세 필드 포함)
+     * @param store 상점
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeStore(Store store) throws IOException {
+        beginObject();
+        field("storeId", store.getStoreId());
+        field("storeName", store.getStoreName());
+        field("storeCode", store.getStoreCode());
+        field("zoneNumber", store.getZoneNumber());
+        field("phoneNumber", store.getPhoneNumber());
+        field("address", store.getAddress());
+        field("detailAddress", store.getDetailAddress());
+        field("xCoordinate", store.getXCoordinate());
+        field("yCoordinate", store.getYCoordinate());
+        field("markerRadius", store.getMarkerRadius());
+        field("businessHours", store.getBusinessHours());
+        field("description", store.getDescription());
+        field("isActive", store.getIsActive());
+        field("createdAt", store.getCreatedAt());
+        field("updatedAt", store.getUpdatedAt());
+        return endObject();
+    }
+
+    /**
+     * 상점 요약 목록을 JSON 배열로 쓰기
+     * @param stores 상점 목록
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeStoreSummaries(List<Store> stores) throws IOException {
+        return writeStoreSummaries(stores, null);
+    }
+
+    /**
+     * 상점 요약 목록을 JSON 배열로 쓰기 (상점마다 대표 이미지 URL 포함)
+     * @param stores 상점 목록
+     * @param mainImageUrls 상점 ID -> 대표 이미지 URL (null이면 생략, 대표 이미지가 없는 상점도 생략)
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeStoreSummaries(List<Store> stores, Map<Long, String> mainImageUrls) throws IOException {
+        beginArray();
+        for (Store store : stores) {
+            writeStoreSummary(store, mainImageUrls != null ? mainImageUrls.get(store.getStoreId()) : null);
+        }
+        return endArray();
+    }
+
+    /**
+     * 상점 요약을 JSON 객체로 쓰기
+     * 지도 마커와 목록 표시에 필요한 필드만 쓰고, 주소/영업시간/설명 등 상세 필드는 상점 상세 조회로 받는다.
+     * @param store 상점
+     * @param mainImageUrl 대표 이미지 URL (null이면 생략)
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeStoreSummary(Store store, String mainImageUrl) throws IOException {
+        beginObject();
+        field("storeId", store.getStoreId());
+        field("storeName", store.getStoreName());
+        field("storeCode", store.getStoreCode());
+        field("zoneNumber", store.getZoneNumber());
+        field("phoneNumber", store.getPhoneNumber());
+        field("xCoordinate", store.getXCoordinate());
+        field("yCoordinate", store.getYCoordinate());
+        field("markerRadius", store.getMarkerRadius());
+        field("mainImageUrl", mainImageUrl);
+        return endObject();
+    }
+
+    /**
+     * 상점 변경분을 JSON 객체로 쓰기 ({"version":..,"full":..,"upserts":[상점 요약],"deletes":[상점 ID]})
+     * @param version 새 버전
+     * @param full 전체 목록을 다시 받아야 하는지 여부
+     * @param upserts 추가/수정된 상점 목록
+     * @param deletes 삭제된 상점 ID 목록
+     * @param mainImageUrls 상점 ID -> 대표 이미지 URL (null이면 생략)
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeStoreChanges(long version, boolean full, List<Store> upserts, Collection<Long> deletes,
+                                             Map<Long, String> mainImageUrls) throws IOException {
+        beginObject();
+        field("version", version);
+        field("full", full);
+        name("upserts");
+        writeStoreSummaries(upserts, mainImageUrls);
+        name("deletes");
+        beginArray();
+        for (Long storeId : deletes) {
+            separator();
+            writeLong(storeId);
+            needsComma = true;
+        }
+        endArray();
+        return endObject();
+    }
+
+    /**
+     * 이미지 데이터 목록을 JSON 배열로 쓰기
+     * @param images 이미지 데이터 목록 (StoreImageRepository의 map 조회 결과)
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeImages(List<Map<String, Object>> images) throws IOException {
+        beginArray();
+        for (Map<String, Object> image : images) {
+            beginObject();
+            field("storeId", image.get("storeId"));
+            field("imageId", image.get("imageId"));
+            field("imageUrl", image.get("imageUrl"));
+            field("thumbnailUrl", image.get("thumbnailUrl"));
+            field("popupUrl", image.get("popupUrl"));
+            field("fullUrl", image.get("fullUrl"));
+            field("imageType", image.get("imageType"));
+            field("displayOrder", image.get("displayOrder"));
+            field("isActive", image.get("isActive"));
+            field("uploadedAt", image.get("uploadedAt"));
+            endObject();
+        }
+        return endArray();
+    }
+
+    /**
+     * 상점별 이미지 데이터를 상점 ID를 키로 하는 JSON 객체로 쓰기
+     * @param imagesByStore 상점 ID -> 이미지 데이터 목록
+     * @return 직렬화기
+     */
+    public StoreJsonWriter writeImagesByStore(Map<Long, List<Map<String, Object>>> imagesByStore) throws IOException {
+        beginObject();
+        for (Map.Entry<Long, List<Map<String, Object>>> entry : imagesByStore.entrySet()) {
+            name(String.valueOf(entry.getKey()));
+            writeImages(entry.getValue());
+        }
+        return endObject();
+    }
+
+    /**
+     * 버퍼에 남은 내용을 출력 스트림으로 내보내기
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * 버퍼를 비우고 풀에 반납 (출력 스트림은 닫지 않음)
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            BUFFER_POOL.offer(buffer);
+            buffer = null;
+        }
+    }
+
+    private void beginObject() throws IOException {
+        separator();
+        writeByte('{');
+        needsComma = false;
+    }
+
+    private StoreJsonWriter endObject() throws IOException {
+        writeByte('}');
+        needsComma = true;
+        return this;
+    }
+
+    private void beginArray() throws IOException {
+        separator();
+        writeByte('[');
+        needsComma = false;
+    }
+
+    private StoreJsonWriter endArray() throws IOException {
+        writeByte(']');
+        needsComma = true;
+        return this;
+    }
+
+    private void separator() throws IOException {
+        if (needsComma) {
+            writeByte(',');
+        }
+    }
+
+    private void name(String name) throws IOException {
+        separator();
+        writeString(name);
+        writeByte(':');
+        needsComma = false;
+    }
+
+    /**
+     * 필드 쓰기 (null이면 생략)
+     */
+    private void field(String name, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        name(name);
+        if (value instanceof String string) {
+            writeString(string);
+        } else if (value instanceof Long number) {
+            writeLong(number);
+        } else if (value instanceof Integer number) {
+            writeLong(number);
+        } else if (value instanceof Boolean bool) {
+            writeAscii(bool ? "true" : "false");
+        } else if (value instanceof LocalDateTime dateTime) {
+            writeDateTime(dateTime);
+        } else if (value instanceof Enum<?> constant) {
+            writeString(constant.name());
+        } else {
+            writeString(value.toString());
+        }
+        needsComma = true;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        ensure(19);
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" 형식으로 쓰기
+     */
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        ensure(21);
+        buffer[position++] = '"';
+        writeDigits(dateTime.getYear(), 4);
+        buffer[position++] = '-';
+        writeDigits(dateTime.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeDigits(dateTime.getDayOfMonth(), 2);
+        buffer[position++] = ' ';
+        writeDigits(dateTime.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getMinute(), 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getSecond(), 2);
+        buffer[position++] = '"';
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    /**
+     * 문자열을 따옴표와 이스케이프를 포함해 UTF-8로 쓰기
+     * Gson 기본 설정과 같이 제어 문자, HTML 특수 문자(&lt; &gt; &amp; = '), U+2028/U+2029는 유니코드 이스케이프로 쓴다.
+     */
+    private void writeString(String value) throws IOException {
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '"':
+                    case '\\':
+                        ensure(2);
+                        buffer[position++] = '\\';
+                        buffer[position++] = (byte) c;
+                        break;
+                    case '\n':
+                        writeEscape('n');
+                        break;
+                    case '\r':
+                        writeEscape('r');
+                        break;
+                    case '\t':
+                        writeEscape('t');
+                        break;
+                    case '\b':
+                        writeEscape('b');
+                        break;
+                    case '\f':
+                        writeEscape('f');
+                        break;
+                    case '<':
+                    case '>':
+                    case '&':
+                    case '=':
+                    case '\'':
+                        writeUnicodeEscape(c);
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            writeUnicodeEscape(c);
+                        } else {
+                            writeByte(c);
+                        }
+                        break;
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c == 0x2028 || c == 0x2029) {
+                writeUnicodeEscape(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 서로게이트는 String.getBytes(UTF_8)와 같이 '?'로 대체
+                writeByte('?');
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscape(char c) throws IOException {
+        ensure(2);
+        buffer[position++] = '\\';
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        ensure(6);
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    /**
+     * 버퍼에 length 바이트를 쓸 공간 확보 (부족하면 출력 스트림으로 내보냄)
+     */
+    private void ensure(int length) throws IOException {
+        if (position + length > buffer.length) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.market_map.market_map.util;
+
+import com.market_map.market_map.entity.Store;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지도 클라이언트용 상점 요약 목록 바이너리 형식 (열 단위 배열 + 문자열 테이블)
+ * JSON 요약 목록과 같은 필드를 담되 필드명을 반복하지 않고, 같은 문자열은 테이블에 한 번만 넣는다.
+ * 모든 정수는 리틀 엔디언이며 map.js의 decodeStoreList가 DataView로 읽는다.
+ *
+ * <pre>
+ * 헤더 (20바이트)
+ *   magic      4바이트 "MMSL"
+ *   version    u8  (1)
+ *   flags      u8  (FLAG_WIDE_IDS: ID 열이 f64, FLAG_MAIN_IMAGE: 대표 이미지 URL 열 포함)
+ *   reserved   u16
+ *   count      u32 상점 수
+ *   strings    u32 문자열 수
+ *   blobLength u32 문자열 바이트 수
+ * 문자열 테이블
+ *   offsets    u32 x (strings + 1)  blob을 한 번에 디코딩한 문자열에서 각 문자열의 시작 위치 (UTF-16 단위, 마지막은 전체 길이)
+ *   blob       u8 x blobLength      모든 문자열을 이어 붙인 UTF-8 바이트
+ * 열 (각 count개)
+ *   storeId      u32 (FLAG_WIDE_IDS면 f64)
+ *   zoneNumber   i32
+ *   xCoordinate  i32
+ *   yCoordinate  i32
+ *   markerRadius i32
+ *   storeName, storeCode, phoneNumber (, mainImageUrl)  u32 문자열 번호
+ * </pre>
+ * 정수 열의 NULL_INT, 문자열 열의 NULL_STRING은 값이 없음(JSON에서 필드 생략)을 뜻한다.
+ */
+public final class StoreListBinaryFormat {
+
+    /**
+     * 바이너리 상점 목록 콘텐츠 타입 (Accept로 요청)
+     */
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "vnd.market-map.store-list");
+
+    public static final int VERSION = 1;
+
+    public static final int FLAG_WIDE_IDS = 1;
+
+    public static final int FLAG_MAIN_IMAGE = 2;
+
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    public static final int NULL_STRING = -1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private static final byte[] MAGIC = {'M', 'M', 'S', 'L'};
+
+    // u32 범위를 넘는 ID가 있으면 f64 열 사용 (JavaScript 정수 정밀도 2^53까지)
+    private static final long MAX_NARROW_ID = 0xFFFFFFFFL;
+
+    private StoreListBinaryFormat() {
+    }
+
+    /**
+     * 상점 요약 목록 인코딩
+     * @param stores 상점 목록
+     * @param mainImageUrls 상점 ID -> 대표 이미지 URL (null이면 열 생략)
+     * @return 인코딩된 바이트
+     */
+    public static byte[] encode(List<Store> stores, Map<Long, String> mainImageUrls) {
+        int count = stores.size();
+        boolean includeMainImage = mainImageUrls != null;
+        int stringColumns = includeMainImage ? 4 : 3;
+
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int[] stringRefs = new int[count * stringColumns];
+        boolean wideIds = false;
+
+        for (int i = 0; i < count; i++) {
+            Store store = stores.get(i);
+            Long storeId = store.getStoreId();
+            if (storeId != null && (storeId < 0 || storeId > MAX_NARROW_ID)) {
+                wideIds = true;
+            }
+
+            int base = i * stringColumns;
+            String[] values = {
+                    store.getStoreName(), store.getStoreCode(), store.getPhoneNumber(),
+                    includeMainImage ? mainImageUrls.get(storeId) : null
+            };
+            for (int c = 0; c < stringColumns; c++) {
+                String value = values[c];
+                if (value == null) {
+                    stringRefs[base + c] = NULL_STRING;
+                    continue;
+                }
+                Integer index = stringIndex.get(value);
+                if (index == null) {
+                    index = strings.size();
+                    strings.add(value);
+                    stringIndex.put(value, index);
+                }
+                stringRefs[base + c] = index;
+            }
+        }
+
+        byte[] blob = String.join("", strings).getBytes(StandardCharsets.UTF_8);
+        int idWidth = wideIds ? 8 : 4;
+        int size = HEADER_SIZE + (strings.size() + 1) * 4 + blob.length
+                + count * (idWidth + 4 * 4 + stringColumns * 4);
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) ((wideIds ? FLAG_WIDE_IDS : 0) | (includeMainImage ? FLAG_MAIN_IMAGE : 0)));
+        buffer.putShort((short) 0);
+        buffer.putInt(count);
+        buffer.putInt(strings.size());
+        buffer.putInt(blob.length);
+
+        int offset = 0;
+        for (String value : strings) {
+            buffer.putInt(offset);
+            offset += value.length();
+        }
+        buffer.putInt(offset);
+        buffer.put(blob);
+
+        for (Store store : stores) {
+            long storeId = store.getStoreId() != null ? store.getStoreId() : 0L;
+            if (wideIds) {
+                buffer.putDouble(storeId);
+            } else {
+                buffer.putInt((int) storeId);
+            }
+        }
+        for (Store store : stores) {
+            buffer.putInt(intOrNull(store.getZoneNumber()));
+        }
+        for (Store store : stores) {
+            buffer.putInt(intOrNull(store.getXCoordinate()));
+        }
+        for (Store store : stores) {
+            buffer.putInt(intOrNull(store.getYCoordinate()));
+        }
+        for (Store store : stores) {
+            buffer.putInt(intOrNull(store.getMarkerRadius()));
+        }
+        for (int c = 0; c < stringColumns; c++) {
+            for (int i = 0; i < count; i++) {
+                buffer.putInt(stringRefs[i * stringColumns + c]);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int intOrNull(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+}
@@ -0,0 +1,37 @@
+package com.market_map.market_map.util;
+
+import com.market_map.market_map.entity.Store;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상점 요약 목록 응답 본문 생성 (/api/stores/list)
+ * 컨트롤러는 카탈로그 버전별로 한 번만 호출해 결과를 스냅샷에 보관하고, 벤치마크는 캐시 미스 비용을 재기 위해 직접 호출한다.
+ */
+public final class StoreListPayloads {
+
+    // 직렬화 버퍼 초기 크기 산정용 항목당 예상 바이트 수
+    private static final int STORE_JSON_SIZE_HINT = 400;
+
+    private StoreListPayloads() {
+    }
+
+    /**
+     * 상점 요약 목록 응답 본문 생성 (직렬화, gzip 압축, ETag 계산)
+     * @param stores 상점 목록
+     * @param mainImageUrls 상점 ID별 대표 이미지 URL (null이면 mainImageUrl 생략)
+     * @param binary true면 {@link StoreListBinaryFormat}, false면 JSON
+     * @return 응답 본문
+     */
+    public static PreparedPayload build(List<Store> stores, Map<Long, String> mainImageUrls, boolean binary) {
+        if (binary) {
+            return PreparedPayload.of(StoreListBinaryFormat.MEDIA_TYPE, StoreListBinaryFormat.encode(stores, mainImageUrls));
+        }
+        byte[] json = StoreJsonWriter.toByteArray(
+                writer -> writer.writeStoreSummaries(stores, mainImageUrls),
+                stores.size() * STORE_JSON_SIZE_HINT);
+        return PreparedPayload.of(MediaType.APPLICATION_JSON, json);
+    }
+}
@@ -2,7 +2,7 @@
 
 -- 기본 지도 이미지 설정
 INSERT IGNORE INTO market_maps (map_id, map_name, map_image_url, map_width, map_height) VALUES
-(1, '관문상가시장 안내도', '/static/images/map.png', 1920, 1080);
+(1, '관문상가시장 안내도', '/assets/images/map.png', 3000, 3679);
 
 -- 초기 관리자 계정 생성 (비밀번호: admin123!)
 INSERT IGNORE INTO admin_users (admin_id, username, password, email, name) VALUES 
@@ -55,6 +55,9 @@ CREATE TABLE IF NOT EXISTS store_images (
     image_id INT PRIMARY KEY AUTO_INCREMENT,
     store_id INT NOT NULL,
     image_url VARCHAR(500) NOT NULL,
+    thumbnail_url VARCHAR(500),
+    popup_url VARCHAR(500),
+    full_url VARCHAR(500),
     image_type ENUM('main', 'sub') DEFAULT 'sub',
     display_order INT DEFAULT 0,
     uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -62,6 +65,14 @@ CREATE TABLE IF NOT EXISTS store_images (
     INDEX idx_store_images (store_id)
 );
 
+-- 상점 삭제 기록 테이블 (변경분 동기화용, 물리 삭제된 상점도 남기므로 외래 키 없음)
+CREATE TABLE IF NOT EXISTS store_tombstones (
+    tombstone_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    store_id BIGINT NOT NULL,
+    deleted_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_store_tombstones_deleted_at (deleted_at)
+);
+
 -- 검색 로그 테이블
 CREATE TABLE IF NOT EXISTS search_logs (
     log_id INT PRIMARY KEY AUTO_INCREMENT,
@@ -73,11 +84,23 @@ CREATE TABLE IF NOT EXISTS search_logs (
     INDEX idx_searched_at (searched_at)
 );
 
+-- 검색어 집계 테이블 (분/시간/일 단위)
+CREATE TABLE IF NOT EXISTS search_keyword_rollups (
+    rollup_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    search_type VARCHAR(20) NOT NULL,
+    search_keyword VARCHAR(100) NOT NULL DEFAULT '',
+    search_count BIGINT NOT NULL,
+    UNIQUE KEY uk_search_rollup (granularity, bucket_start, search_type, search_keyword),
+    INDEX idx_search_rollup_bucket (granularity, bucket_start)
+);
+
 -- 초기 데이터 삽입
 
 -- 기본 지도 이미지 설정
 INSERT INTO market_maps (map_name, map_image_url, map_width, map_height) VALUES
-('관문상가시장 안내도', '/static/images/map.png', 1920, 1080);
+('관문상가시장 안내도', '/assets/images/map.png', 3000, 3679);
 
 -- 초기 관리자 계정 생성 (비밀번호: admin123)
 INSERT INTO admin_users (username, password, email, name) VALUES 
@@ -178,6 +178,6 @@
     <div class="alert-custom" id="alertMessage"></div>
 
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/js/bootstrap.bundle.min.js"></script>
-    <script src="/assets/js/admin.js?v=4"></script>
+    <script src="/assets/js/admin.js?v=8"></script>
 </body>
 </html>
\ No newline at end of file
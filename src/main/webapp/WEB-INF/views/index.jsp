@@ -22,6 +22,7 @@
                     <input type="text" id="searchInput" placeholder="상점명을 검색하세요..." autocomplete="off">
                     <button class="search-btn" onclick="searchStore()">검색</button>
                     <button class="search-reset-btn" onclick="resetSearch()">초기화</button>
+                    <ul id="searchSuggestions" class="search-suggestions"></ul>
                 </div>
             </div>
         </div>
@@ -96,6 +97,6 @@
     </div>
 
     <script src="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/js/bootstrap.bundle.min.js"></script>
-    <script src="/assets/js/map.js?v=13"></script>
+    <script src="/assets/js/map.js?v=24"></script>
 </body>
 </html>
\ No newline at end of file
@@ -16,6 +16,8 @@ let currentPage = 0;
 let pageSize = 10;
 let totalPages = 0;
 let totalElements = 0;
+let storeImageCache = new Map(); // storeId -> 이미지 목록 (현재 페이지 상점 일괄 조회)
+const IMAGE_UPLOAD_CONCURRENCY = 4; // 동시에 업로드할 이미지 파일 수
 
 /**
  * 페이지 로드 시 초기화
@@ -335,6 +337,10 @@ async function saveStore(e) {
     const formData = new FormData(document.getElementById('storeForm'));
     const storeId = document.getElementById('storeId').value;
     
+    // 이미지는 상점 저장 후 동시에 스트리밍 업로드한 뒤 한 번에 등록
+    const imageFiles = formData.getAll('images').filter(file => file && file.size > 0);
+    formData.delete('images');
+    
     // storeId가 있으면 수정, 없으면 등록
     const isEdit = storeId && storeId.trim() !== '';
     const url = isEdit ? `/api/admin/stores/${storeId}` : '/api/admin/stores';
@@ -349,7 +355,16 @@ async function saveStore(e) {
         const result = await response.json();
         
         if (result.success) {
-            showAlert(isEdit ? '상점이 수정되었습니다.' : '상점이 등록되었습니다.', 'success');
+            const savedStoreId = isEdit ? storeId : result.store && result.store.storeId;
+            const failedUploads = await uploadStoreImages(savedStoreId, imageFiles);
+            if (failedUploads > 0) {
+                showAlert(`상점은 저장되었지만 이미지 ${failedUploads}개 업로드에 실패했습니다.`, 'error');
+            } else {
+                showAlert(isEdit ? '상점이 수정되었습니다.' : '상점이 등록되었습니다.', 'success');
+            }
+            if (isEdit) {
+                storeImageCache.delete(String(storeId));
+            }
             loadStores(currentPage);
             resetForm();
         } else {
@@ -361,6 +376,69 @@ async function saveStore(e) {
     }
 }
 
+/**
+ * 상점 이미지 업로드 (파일 바이트를 요청 본문으로 그대로 전송, 첫 번째 이미지가 대표 이미지)
+ * 파일은 IMAGE_UPLOAD_CONCURRENCY개씩 동시에 저장하고, 모두 끝나면 저장된 이미지를 한 번에 등록한다.
+ * @returns 업로드에 실패한 이미지 수
+ */
+async function uploadStoreImages(storeId, files) {
+    if (files.length === 0) return 0;
+    
+    const imageUrls = new Array(files.length); // 선택한 순서 유지 (실패한 파일은 빈 칸)
+    let next = 0;
+    const worker = async () => {
+        while (next < files.length) {
+            const index = next++;
+            imageUrls[index] = await uploadStoreImageFile(storeId, files[index]);
+        }
+    };
+    await Promise.all(Array.from({ length: Math.min(IMAGE_UPLOAD_CONCURRENCY, files.length) }, worker));
+    
+    const storedUrls = imageUrls.filter(Boolean);
+    let failed = files.length - storedUrls.length;
+    if (storedUrls.length === 0) return failed;
+    
+    try {
+        const body = new URLSearchParams();
+        storedUrls.forEach(url => body.append('imageUrls', url));
+        const response = await fetch(`/api/admin/stores/${storeId}/images/batch`, {
+            method: 'POST',
+            body: body
+        });
+        const result = await response.json();
+        if (!result.success) {
+            console.error('이미지 등록 실패:', result.message);
+            failed = files.length;
+        }
+    } catch (error) {
+        console.error('이미지 등록 오류:', error);
+        failed = files.length;
+    }
+    return failed;
+}
+
+/**
+ * 이미지 파일 하나 저장
+ * @returns 저장된 이미지 URL (실패 시 null)
+ */
+async function uploadStoreImageFile(storeId, file) {
+    try {
+        const response = await fetch(`/api/admin/stores/${storeId}/images/files`, {
+            method: 'POST',
+            headers: { 'Content-Type': file.type || 'application/octet-stream' },
+            body: file
+        });
+        const result = await response.json();
+        if (result.success) {
+            return result.imageUrl;
+        }
+        console.error('이미지 업로드 실패:', file.name, result.message);
+    } catch (error) {
+        console.error('이미지 업로드 오류:', file.name, error);
+    }
+    return null;
+}
+
 /**
  * 폼 초기화
  */
@@ -438,6 +516,36 @@ async function loadStores(page = currentPage) {
     updateStoreTable();
     updatePaginationUI();
     drawAdminMap();
+    prefetchStoreImages(stores.map(store => store.storeId));
+}
+
+/**
+ * 여러 상점의 썸네일 이미지 목록을 한 번에 조회해 캐시
+ */
+async function prefetchStoreImages(storeIds) {
+    const ids = storeIds.filter(id => id != null);
+    if (ids.length === 0) return;
+    
+    try {
+        const response = await fetch(`/api/stores/images?size=thumb&storeIds=${ids.join(',')}`);
+        if (response.ok) {
+            const imagesByStore = await response.json();
+            ids.forEach(id => storeImageCache.set(String(id), imagesByStore[id] || []));
+        }
+    } catch (error) {
+        console.error('이미지 일괄 조회 오류:', error);
+    }
+}
+
+/**
+ * 상점 이미지 목록 조회 (캐시에 없으면 조회 후 캐시)
+ */
+async function getStoreImages(storeId) {
+    const key = String(storeId);
+    if (!storeImageCache.has(key)) {
+        await prefetchStoreImages([storeId]);
+    }
+    return storeImageCache.get(key) || null;
 }
 
 /**
@@ -697,14 +805,13 @@ async function loadExistingImages(storeId) {
 
     try {
         console.log('기존 이미지 로드 시작, storeId:', storeId);
-        const response = await fetch(`/api/stores/${storeId}/images`);
+        const images = await getStoreImages(storeId);
 
-        if (response.ok) {
-            const images = await response.json();
+        if (images) {
             console.log('기존 이미지 데이터:', images);
             console.log('이미지 개수:', images.length);
 
-            if (images && images.length > 0) {
+            if (images.length > 0) {
                 imagePreview.innerHTML = '';
                 images.forEach((image, index) => {
                     const imageDiv = document.createElement('div');
@@ -770,7 +877,6 @@ async function loadExistingImages(storeId) {
                 imagePreview.innerHTML = '<div style="padding: 10px; color: #999; font-style: italic;">등록된 이미지가 없습니다.</div>';
             }
         } else {
-            console.log('기존 이미지 로드 실패:', response.status);
             imagePreview.innerHTML = '<div style="padding: 10px; color: #f44336;">이미지를 불러올 수 없습니다.</div>';
         }
     } catch (error) {
@@ -798,7 +904,8 @@ async function deleteExistingImage(imageId) {
             // 현재 편집 중인 상점 ID 가져오기
             const storeId = document.getElementById('storeId').value;
             if (storeId) {
-                // 이미지 목록 다시 로드
+                // 캐시를 비우고 이미지 목록 다시 로드
+                storeImageCache.delete(String(storeId));
                 await loadExistingImages(storeId);
             }
         } else {
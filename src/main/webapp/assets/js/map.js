@@ -4,7 +4,10 @@
 
 // 전역 변수
 let canvas, ctx;
-let mapImage = new Image();
+let mapImage = new Image(); // 타일을 쓸 수 없을 때 사용하는 단일 지도 이미지
+let mapInfo = null; // 서버에서 받은 지도 타일 정보
+let mapWidth = 0, mapHeight = 0; // 지도 원본 크기 (상점 좌표 기준)
+const mapTiles = new Map(); // 타일 URL -> Image
 let stores = [];
 let allStores = []; // 모든 상점 데이터 (원본 보관용)
 let selectedZone = 0;
@@ -15,13 +18,28 @@ let isDragging = false;
 let dragStartX, dragStartY;
 let highlightedStores = []; // 하이라이트된 상점 ID 배열 (클릭/검색)
 let hoveredStoreId = null; // 마우스 호버 중인 상점 ID
+let hitGrid = null; // 서버에서 받은 마커 판정용 격자
+let storeLookup = new Map(); // 현재 표시 중인 상점 (storeId -> store)
+let storeLookupSource = null; // storeLookup을 만든 stores 배열
+let suggestTimer = null; // 자동완성 요청 지연 타이머
+let suggestController = null; // 진행 중인 자동완성 요청 (새 입력 시 취소)
+let suggestions = []; // 현재 표시 중인 자동완성 항목
+let activeSuggestion = -1; // 키보드로 선택된 자동완성 항목 위치
+const STORE_LIST_MEDIA_TYPE = 'application/vnd.market-map.store-list'; // 바이너리 상점 목록 (decodeStoreList)
+const STORE_CACHE_KEY = 'marketMap.stores.v1'; // 변경분 동기화용 상점 목록 저장 키 ({version, stores})
+let storeEvents = null; // 상점 변경 알림 연결 (EventSource)
+let storeEventsOpened = false; // 알림 연결이 한 번이라도 열렸는지 (재연결 시 놓친 변경분 동기화)
+let storeRefreshTimer = null; // 연속된 변경 알림을 한 번의 동기화로 묶는 타이머
+let storeImagesRequest = null; // 전체 상점 이미지 요청 (storeId -> 이미지 목록, 한 번만 요청)
+const changedStoreImages = new Map(); // 전체 요청 이후 바뀐 상점의 이미지 (storeId -> 상점별 이미지 요청, 아직 요청 전이면 null)
+const storeDetails = new Map(); // 상점 상세 정보 (storeId -> 상세 조회 요청, 목록은 요약 필드만 내려옴)
 
 /**
  * 페이지 로드 시 초기화
  */
 window.addEventListener('DOMContentLoaded', function() {
     initializeMap();
-    loadStores();
+    loadStores().then(connectStoreEvents);
 });
 
 /**
@@ -33,7 +51,58 @@ function initializeMap() {
     
     ctx = canvas.getContext('2d');
     
-    // 지도 이미지 로드 - 여러 경로 시도
+    // 타일 정보를 받지 못하면 단일 지도 이미지로 표시
+    loadMapTiles().catch(error => {
+        console.warn('지도 타일 정보 로드 실패, 단일 이미지 사용:', error);
+        loadMapImage();
+    });
+    
+    // 이벤트 리스너
+    canvas.addEventListener('click', handleMapClick);
+    canvas.addEventListener('mousedown', startDrag);
+    canvas.addEventListener('mousemove', handleMouseMove);
+    canvas.addEventListener('mouseup', endDrag);
+    canvas.addEventListener('mouseleave', handleMouseLeave);
+    canvas.addEventListener('wheel', handleZoom);
+    
+    // 모바일 터치 이벤트 - 확대/축소와 클릭 모두 지원
+    canvas.addEventListener('touchstart', handleTouchStart, { passive: false });
+    canvas.addEventListener('touchmove', handleTouchMove, { passive: false });
+    canvas.addEventListener('touchend', handleTouchEnd, { passive: false });
+    
+    // 리사이즈 이벤트
+    window.addEventListener('resize', fitCanvasToContainer);
+    
+    // 애니메이션 루프 시작
+    startAnimationLoop();
+}
+
+/**
+ * 지도 타일 정보 로드
+ * 화면에 보이는 영역의 타일만 현재 확대 비율에 맞는 레벨로 받아 그린다.
+ */
+async function loadMapTiles() {
+    const response = await fetch('/api/maps/active');
+    if (!response.ok) {
+        throw new Error('지도 정보 로드 실패: ' + response.status);
+    }
+    
+    mapInfo = await response.json();
+    mapWidth = mapInfo.width;
+    mapHeight = mapInfo.height;
+    console.log('지도 타일 정보 로드 성공:', mapWidth, 'x', mapHeight, '최대 줌', mapInfo.maxZoom);
+    
+    // 가장 작은 레벨은 바로 요청해 첫 화면을 빨리 채움
+    getMapTile(0, 0, 0);
+    
+    fitCanvasToContainer();
+    drawMap();
+}
+
+/**
+ * 단일 지도 이미지 로드 - 여러 경로 시도
+ */
+function loadMapImage() {
     const imagePaths = [
         '/assets/images/map.png',
         './assets/images/map.png',
@@ -55,6 +124,8 @@ function initializeMap() {
         console.log('이미지 크기:', mapImage.width, 'x', mapImage.height);
         
         // 캔버스 크기 설정
+        mapWidth = mapImage.width;
+        mapHeight = mapImage.height;
         canvas.width = mapImage.width;
         canvas.height = mapImage.height;
         
@@ -86,25 +157,6 @@ function initializeMap() {
             }
         }
     };
-    
-    // 이벤트 리스너
-    canvas.addEventListener('click', handleMapClick);
-    canvas.addEventListener('mousedown', startDrag);
-    canvas.addEventListener('mousemove', handleMouseMove);
-    canvas.addEventListener('mouseup', endDrag);
-    canvas.addEventListener('mouseleave', handleMouseLeave);
-    canvas.addEventListener('wheel', handleZoom);
-    
-    // 모바일 터치 이벤트 - 확대/축소와 클릭 모두 지원
-    canvas.addEventListener('touchstart', handleTouchStart, { passive: false });
-    canvas.addEventListener('touchmove', handleTouchMove, { passive: false });
-    canvas.addEventListener('touchend', handleTouchEnd, { passive: false });
-    
-    // 리사이즈 이벤트
-    window.addEventListener('resize', fitCanvasToContainer);
-    
-    // 애니메이션 루프 시작
-    startAnimationLoop();
 }
 
 /**
@@ -123,7 +175,7 @@ function startAnimationLoop() {
  */
 function fitCanvasToContainer() {
     const container = document.querySelector('.map-canvas-container');
-    if (!container) return;
+    if (!container || !mapWidth) return;
     
     // 고해상도 디스플레이 대응
     const devicePixelRatio = window.devicePixelRatio || 1;
@@ -132,7 +184,7 @@ function fitCanvasToContainer() {
     const containerWidth = container.clientWidth - 4; // 패딩 제외
     const containerHeight = window.innerHeight * 0.7;
     
-    const aspectRatio = mapImage.width / mapImage.height;
+    const aspectRatio = mapWidth / mapHeight;
     
     // 가로폭을 우선시하여 조정
     let newWidth = containerWidth;
@@ -142,7 +194,7 @@ function fitCanvasToContainer() {
     // 스크롤로 처리하도록 함
     
     // 기본 스케일 계산 (캔버스 크기에 맞추기 위한 스케일)
-    baseScale = newWidth / mapImage.width;
+    baseScale = newWidth / mapWidth;
     
     // 캔버스 표시 크기 설정
     canvas.style.width = newWidth + 'px';
@@ -168,7 +220,7 @@ function fitCanvasToContainer() {
  * 지도 그리기
  */
 function drawMap() {
-    if (!ctx || !mapImage) return;
+    if (!ctx || !mapWidth) return;
     
     ctx.clearRect(0, 0, canvas.width, canvas.height);
     ctx.save();
@@ -183,7 +235,11 @@ function drawMap() {
     ctx.imageSmoothingEnabled = true;
     ctx.imageSmoothingQuality = 'high';
     
-    ctx.drawImage(mapImage, 0, 0);
+    if (mapInfo) {
+        drawMapTiles(totalScale);
+    } else {
+        ctx.drawImage(mapImage, 0, 0);
+    }
     
     // 상점 마커 그리기
     drawStoreMarkers();
@@ -191,6 +247,81 @@ function drawMap() {
     ctx.restore();
 }
 
+/**
+ * 보이는 영역의 지도 타일 그리기
+ * 선명한 타일이 도착하기 전에는 가장 작은 레벨 타일을 확대해 빈 곳을 채운다.
+ */
+function drawMapTiles(totalScale) {
+    const pixelRatio = Math.min(window.devicePixelRatio || 1, 2);
+    const level = selectTileLevel(totalScale * pixelRatio);
+    
+    drawTileLevel(mapInfo.levels[0], totalScale);
+    if (level.zoom !== 0) {
+        drawTileLevel(level, totalScale);
+    }
+}
+
+/**
+ * 화면 배율보다 해상도가 낮지 않은 가장 작은 타일 레벨 선택
+ */
+function selectTileLevel(scale) {
+    for (const level of mapInfo.levels) {
+        if (level.width / mapWidth >= scale) {
+            return level;
+        }
+    }
+    return mapInfo.levels[mapInfo.levels.length - 1];
+}
+
+/**
+ * 한 레벨에서 화면에 보이는 타일만 그리기 (지도 원본 좌표계 기준)
+ */
+function drawTileLevel(level, totalScale) {
+    const tileSize = mapInfo.tileSize;
+    const ratio = level.width / mapWidth; // 레벨 픽셀 / 원본 픽셀
+    const viewWidth = canvas.width / (window.devicePixelRatio || 1);
+    const viewHeight = canvas.height / (window.devicePixelRatio || 1);
+    
+    const left = Math.max(0, -offsetX / totalScale) * ratio;
+    const top = Math.max(0, -offsetY / totalScale) * ratio;
+    const right = Math.min(mapWidth, (viewWidth - offsetX) / totalScale) * ratio;
+    const bottom = Math.min(mapHeight, (viewHeight - offsetY) / totalScale) * ratio;
+    if (right <= left || bottom <= top) return;
+    
+    const firstColumn = Math.floor(left / tileSize);
+    const lastColumn = Math.min(level.columns - 1, Math.floor(right / tileSize));
+    const firstRow = Math.floor(top / tileSize);
+    const lastRow = Math.min(level.rows - 1, Math.floor(bottom / tileSize));
+    
+    for (let row = firstRow; row <= lastRow; row++) {
+        for (let column = firstColumn; column <= lastColumn; column++) {
+            const tile = getMapTile(level.zoom, column, row);
+            if (tile.complete && tile.naturalWidth > 0) {
+                ctx.drawImage(tile, column * tileSize / ratio, row * tileSize / ratio,
+                    tile.naturalWidth / ratio, tile.naturalHeight / ratio);
+            }
+        }
+    }
+}
+
+/**
+ * 지도 타일 이미지 (처음 요청할 때 로드 시작, 로드되면 애니메이션 루프에서 다시 그림)
+ */
+function getMapTile(zoom, x, y) {
+    const url = mapInfo.tileUrlTemplate
+        .replace('{z}', zoom)
+        .replace('{x}', x)
+        .replace('{y}', y);
+    
+    let tile = mapTiles.get(url);
+    if (!tile) {
+        tile = new Image();
+        tile.src = url;
+        mapTiles.set(url, tile);
+    }
+    return tile;
+}
+
 /**
  * 상점 마커 그리기
  */
@@ -280,28 +411,333 @@ function drawMarker(x, y, categoryId, name, isHighlighted = false) {
 
 /**
  * 상점 데이터 로드
+ * 저장해 둔 목록이 있으면 마지막 버전 이후 변경분만 받아 반영하고, 서버에 연결할 수 없으면 저장해 둔 목록을 그대로 사용
  */
 async function loadStores() {
+    resetStoreImages();
     try {
-        const response = await fetch('/api/stores/list');
-        if (response.ok) {
-            allStores = await response.json();
-            stores = [...allStores]; // 복사본 생성
-        } else {
-            console.error('상점 데이터 로드 실패');
-            // 테스트용 더미 데이터
-            allStores = getDummyStores();
-            stores = [...allStores]; // 복사본 생성
+        allStores = await syncStores();
+    } catch (error) {
+        console.error('상점 데이터 로드 오류:', error);
+        const cached = readStoreCache();
+        // 저장된 목록이 없으면 테스트용 더미 데이터
+        allStores = cached ? cached.stores : getDummyStores();
+    }
+    stores = [...allStores]; // 복사본 생성
+    
+    updateStoreList();
+    drawMap();
+    loadHitGrid();
+}
+
+/**
+ * 상점 변경 알림 구독 (/api/stores/events)
+ * 알림을 받으면 변경분을 동기화하며, 끊기면 브라우저가 자동으로 재연결한다.
+ */
+function connectStoreEvents() {
+    if (!window.EventSource || storeEvents) return;
+    
+    storeEvents = new EventSource('/api/stores/events');
+    storeEvents.addEventListener('store-change', scheduleStoreRefresh);
+    storeEvents.onopen = function() {
+        // 연결이 끊긴 동안 놓친 변경분 반영
+        if (storeEventsOpened) {
+            scheduleStoreRefresh();
         }
+        storeEventsOpened = true;
+    };
+    storeEvents.onerror = function() {
+        // 서버가 연결을 거절하면(구독자 초과 등) 자동 재연결이 멈추므로 잠시 후 다시 연결
+        if (storeEvents.readyState === EventSource.CLOSED) {
+            storeEvents = null;
+            setTimeout(connectStoreEvents, 30000);
+        }
+    };
+}
+
+/**
+ * 변경분 동기화 예약 (연속된 알림은 한 번만 동기화)
+ */
+function scheduleStoreRefresh() {
+    clearTimeout(storeRefreshTimer);
+    storeRefreshTimer = setTimeout(refreshStores, 300);
+}
+
+/**
+ * 변경분을 받아 목록과 지도를 갱신
+ * 검색 결과를 보고 있으면 결과에 포함된 상점만 새 정보로 바꾼다.
+ */
+async function refreshStores() {
+    let updated;
+    try {
+        updated = await syncStores();
     } catch (error) {
-        console.error('Error:', error);
-        // 테스트용 더미 데이터
-        allStores = getDummyStores();
-        stores = [...allStores]; // 복사본 생성
+        console.error('상점 변경분 동기화 오류:', error);
+        return;
+    }
+    const showingAll = stores.length === allStores.length;
+    allStores = updated;
+    if (showingAll) {
+        stores = [...allStores];
+    } else {
+        const latest = new Map(allStores.map(store => [store.storeId, store]));
+        stores = stores.map(store => latest.get(store.storeId)).filter(Boolean);
     }
     
     updateStoreList();
     drawMap();
+    loadHitGrid();
+}
+
+/**
+ * 상점 목록 동기화 (/api/stores/changes)
+ * 서버가 full을 응답하거나 저장된 목록이 없으면 전체 목록을 다시 받는다.
+ */
+async function syncStores() {
+    const cached = readStoreCache();
+    const since = cached ? cached.version : '';
+    const response = await fetch(`/api/stores/changes?since=${since}`);
+    if (!response.ok) {
+        throw new Error('상점 변경분 조회 실패');
+    }
+    const changes = await response.json();
+    if (changes.full || !cached) {
+        resetStoreImages();
+    }
+    const result = changes.full || !cached
+        ? await fetchStoreList()
+        : applyStoreChanges(cached.stores, changes);
+    writeStoreCache(changes.version, result);
+    return result;
+}
+
+/**
+ * 전체 상점 요약 목록 조회 (바이너리 형식 우선)
+ */
+async function fetchStoreList() {
+    const response = await fetch('/api/stores/list', {
+        headers: { 'Accept': `${STORE_LIST_MEDIA_TYPE}, application/json;q=0.9` }
+    });
+    if (!response.ok) {
+        throw new Error('상점 데이터 로드 실패');
+    }
+    const contentType = response.headers.get('Content-Type') || '';
+    return contentType.startsWith(STORE_LIST_MEDIA_TYPE)
+        ? decodeStoreList(await response.arrayBuffer())
+        : await response.json();
+}
+
+/**
+ * 저장된 상점 목록에 변경분 반영 (상점 ID 기준 덮어쓰기/삭제 후 서버 목록 순서로 정렬)
+ */
+function applyStoreChanges(cachedStores, changes) {
+    const byId = new Map(cachedStores.map(store => [store.storeId, store]));
+    for (const storeId of changes.deletes) {
+        byId.delete(storeId);
+        storeDetails.delete(storeId);
+        invalidateStoreImages(storeId);
+    }
+    for (const store of changes.upserts) {
+        byId.set(store.storeId, store);
+        storeDetails.delete(store.storeId); // 상세 정보도 바뀌었을 수 있음
+        invalidateStoreImages(store.storeId); // 이미지 변경도 upsert로 내려옴
+    }
+    return [...byId.values()].sort(compareCatalogOrder);
+}
+
+/**
+ * 서버 카탈로그 순서 (구역 번호, 상점 코드, 상점 ID 순이며 값이 없으면 앞)
+ */
+function compareCatalogOrder(a, b) {
+    return compareNullsFirst(a.zoneNumber, b.zoneNumber)
+        || compareNullsFirst(a.storeCode, b.storeCode)
+        || compareNullsFirst(a.storeId, b.storeId);
+}
+
+function compareNullsFirst(a, b) {
+    if (a === b) return 0;
+    if (a === undefined || a === null) return -1;
+    if (b === undefined || b === null) return 1;
+    return a < b ? -1 : a > b ? 1 : 0;
+}
+
+/**
+ * 저장된 상점 목록 읽기 (없거나 형식이 맞지 않으면 null)
+ */
+function readStoreCache() {
+    try {
+        const cached = JSON.parse(localStorage.getItem(STORE_CACHE_KEY));
+        return cached && typeof cached.version === 'number' && Array.isArray(cached.stores) ? cached : null;
+    } catch (error) {
+        return null;
+    }
+}
+
+/**
+ * 상점 목록 저장 (저장 공간이 부족하면 저장된 목록을 지우고 다음에 전체 목록을 받음)
+ */
+function writeStoreCache(version, storeList) {
+    try {
+        localStorage.setItem(STORE_CACHE_KEY, JSON.stringify({ version: version, stores: storeList }));
+    } catch (error) {
+        try {
+            localStorage.removeItem(STORE_CACHE_KEY);
+        } catch (ignored) {
+            // 저장소를 사용할 수 없는 환경
+        }
+    }
+}
+
+/**
+ * 바이너리 상점 목록 디코딩 (StoreListBinaryFormat, 리틀 엔디언 열 단위 배열 + 문자열 테이블)
+ * JSON 목록과 같은 필드의 상점 객체 배열을 만든다. 값이 없는 필드는 JSON처럼 생략한다.
+ */
+function decodeStoreList(buffer) {
+    const view = new DataView(buffer);
+    const magic = String.fromCharCode(view.getUint8(0), view.getUint8(1), view.getUint8(2), view.getUint8(3));
+    if (magic !== 'MMSL' || view.getUint8(4) !== 1) {
+        throw new Error('지원하지 않는 상점 목록 형식');
+    }
+    const flags = view.getUint8(5);
+    const wideIds = (flags & 1) !== 0;
+    const hasMainImage = (flags & 2) !== 0;
+    const count = view.getUint32(8, true);
+    const stringCount = view.getUint32(12, true);
+    const blobLength = view.getUint32(16, true);
+    
+    // 문자열 테이블 (전체를 한 번에 디코딩하고 UTF-16 위치로 잘라 씀, 첫 문자열이 U+FEFF로 시작해도 지우지 않도록 ignoreBOM)
+    let pos = 20;
+    const blobStart = pos + (stringCount + 1) * 4;
+    const text = new TextDecoder('utf-8', {ignoreBOM: true}).decode(new Uint8Array(buffer, blobStart, blobLength));
+    const strings = new Array(stringCount);
+    for (let i = 0; i < stringCount; i++) {
+        strings[i] = text.substring(view.getUint32(pos + i * 4, true), view.getUint32(pos + (i + 1) * 4, true));
+    }
+    pos = blobStart + blobLength;
+    
+    const readIntColumn = () => {
+        const column = new Int32Array(count);
+        for (let i = 0; i < count; i++, pos += 4) {
+            column[i] = view.getInt32(pos, true);
+        }
+        return column;
+    };
+    const readStringColumn = () => {
+        const column = new Array(count);
+        for (let i = 0; i < count; i++, pos += 4) {
+            const index = view.getUint32(pos, true);
+            column[i] = index === 0xFFFFFFFF ? undefined : strings[index];
+        }
+        return column;
+    };
+    
+    const ids = new Array(count);
+    for (let i = 0; i < count; i++) {
+        ids[i] = wideIds ? view.getFloat64(pos, true) : view.getUint32(pos, true);
+        pos += wideIds ? 8 : 4;
+    }
+    const zones = readIntColumn();
+    const xs = readIntColumn();
+    const ys = readIntColumn();
+    const radii = readIntColumn();
+    const names = readStringColumn();
+    const codes = readStringColumn();
+    const phones = readStringColumn();
+    const mainImages = hasMainImage ? readStringColumn() : null;
+    
+    const NULL_INT = -2147483648;
+    const result = new Array(count);
+    for (let i = 0; i < count; i++) {
+        const store = { storeId: ids[i] };
+        if (names[i] !== undefined) store.storeName = names[i];
+        if (codes[i] !== undefined) store.storeCode = codes[i];
+        if (zones[i] !== NULL_INT) store.zoneNumber = zones[i];
+        if (phones[i] !== undefined) store.phoneNumber = phones[i];
+        if (xs[i] !== NULL_INT) store.xCoordinate = xs[i];
+        if (ys[i] !== NULL_INT) store.yCoordinate = ys[i];
+        if (radii[i] !== NULL_INT) store.markerRadius = radii[i];
+        if (mainImages && mainImages[i] !== undefined) store.mainImageUrl = mainImages[i];
+        result[i] = store;
+    }
+    return result;
+}
+
+/**
+ * 마커 판정용 격자 로드 (한 번 받아 클릭/호버 판정을 로컬에서 처리)
+ */
+async function loadHitGrid() {
+    try {
+        const response = await fetch('/api/stores/hit-grid');
+        if (response.ok) {
+            hitGrid = await response.json();
+        }
+    } catch (error) {
+        console.error('히트 격자 로드 오류:', error);
+        hitGrid = null;
+    }
+}
+
+/**
+ * 현재 표시 중인 상점 조회 맵 (stores 배열이 바뀔 때만 다시 생성)
+ */
+function getStoreLookup() {
+    if (storeLookupSource !== stores) {
+        storeLookup = new Map(stores.map(store => [store.storeId, store]));
+        storeLookupSource = stores;
+    }
+    return storeLookup;
+}
+
+/**
+ * 이미지 좌표에 놓인 상점 찾기
+ * 마커 반경과 hitRadius 중 큰 값으로 판정하며, 겹치면 가장 나중에 그려진 상점을 반환
+ */
+function findStoreAt(imageX, imageY, hitRadius, zone = 0) {
+    const lookup = getStoreLookup();
+    const matchesZone = store => zone === 0 || store.zoneNumber === zone;
+    
+    if (!hitGrid || hitGrid.columns === 0) {
+        // 격자를 아직 받지 못한 경우 전체 순회
+        let found = null;
+        stores.forEach(store => {
+            const radius = Math.max(store.markerRadius || 0, hitRadius);
+            const dx = store.xCoordinate - imageX;
+            const dy = store.yCoordinate - imageY;
+            if (matchesZone(store) && dx * dx + dy * dy <= radius * radius) {
+                found = store;
+            }
+        });
+        return found;
+    }
+    
+    const grid = hitGrid;
+    const reach = Math.max(grid.maxRadius, hitRadius);
+    const fromColumn = Math.max(0, Math.floor((imageX - reach - grid.originX) / grid.cellSize));
+    const toColumn = Math.min(grid.columns - 1, Math.floor((imageX + reach - grid.originX) / grid.cellSize));
+    const fromRow = Math.max(0, Math.floor((imageY - reach - grid.originY) / grid.cellSize));
+    const toRow = Math.min(grid.rows - 1, Math.floor((imageY + reach - grid.originY) / grid.cellSize));
+    
+    let found = null;
+    let foundIndex = -1;
+    for (let row = fromRow; row <= toRow; row++) {
+        for (let column = fromColumn; column <= toColumn; column++) {
+            const cell = row * grid.columns + column;
+            for (let k = grid.cellStart[cell]; k < grid.cellStart[cell + 1]; k++) {
+                const i = grid.cellItems[k];
+                if (i <= foundIndex) continue;
+                const radius = Math.max(grid.r[i], hitRadius);
+                const dx = grid.x[i] - imageX;
+                const dy = grid.y[i] - imageY;
+                if (dx * dx + dy * dy > radius * radius) continue;
+                const store = lookup.get(grid.ids[i]);
+                if (store && matchesZone(store)) {
+                    found = store;
+                    foundIndex = i;
+                }
+            }
+        }
+    }
+    return found;
 }
 
 /**
@@ -379,14 +815,8 @@ function handleMapClick(e) {
     const imageX = (displayX - offsetX) / totalScale;
     const imageY = (displayY - offsetY) / totalScale;
 
-    // 클릭된 상점 찾기
-    const clickedStore = stores.find(store => {
-        const distance = Math.sqrt(
-            Math.pow(store.xCoordinate - imageX, 2) +
-            Math.pow(store.yCoordinate - imageY, 2)
-        );
-        return distance <= 60; // 클릭 반경
-    });
+    // 클릭된 상점 찾기 (클릭 반경 60)
+    const clickedStore = findStoreAt(imageX, imageY, 60);
 
     if (clickedStore) {
         showStoreDetail(clickedStore);
@@ -409,6 +839,9 @@ function showStoreDetail(store) {
     document.getElementById('popupHours').textContent = store.businessHours || '정보 없음';
     document.getElementById('popupDescription').textContent = store.description || '설명 없음';
     
+    // 상세 정보(영업시간, 설명 등)는 목록에 없으므로 따로 로드
+    loadStoreDetail(store);
+    
     // 상점 이미지 로드
     loadStoreImages(store.storeId);
     
@@ -423,6 +856,120 @@ function showStoreDetail(store) {
     drawMap();
 }
 
+/**
+ * 상점 상세 정보 로드 (상점별로 한 번만 요청)
+ */
+async function loadStoreDetail(store) {
+    let request = storeDetails.get(store.storeId);
+    if (!request) {
+        request = fetch(`/api/stores/${store.storeId}`)
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error('상점 상세 정보 로드 실패: ' + response.status);
+                }
+                return response.json();
+            })
+            .catch(error => {
+                // 실패한 요청은 다음 호출에서 다시 시도
+                storeDetails.delete(store.storeId);
+                throw error;
+            });
+        storeDetails.set(store.storeId, request);
+    }
+    
+    try {
+        const detail = await request;
+        // 그 사이 다른 상점 팝업을 열었으면 무시
+        if (!highlightedStores.includes(store.storeId)) return;
+        document.getElementById('popupPhone').textContent = detail.phoneNumber || '정보 없음';
+        document.getElementById('popupHours').textContent = detail.businessHours || '정보 없음';
+        document.getElementById('popupDescription').textContent = detail.description || '설명 없음';
+    } catch (error) {
+        console.error('상점 상세 정보 로드 오류:', error);
+    }
+}
+
+/**
+ * 받아 둔 상점 이미지 전부 버리기 (전체 목록을 다시 받을 때)
+ */
+function resetStoreImages() {
+    storeImagesRequest = null;
+    changedStoreImages.clear();
+}
+
+/**
+ * 변경분 동기화로 바뀐 상점의 이미지 무효화 (다음 조회 때 그 상점만 다시 요청)
+ */
+function invalidateStoreImages(storeId) {
+    if (storeImagesRequest) {
+        changedStoreImages.set(storeId, null);
+    }
+}
+
+/**
+ * 상점 이미지 목록 조회
+ * 첫 호출 때 전체 상점의 팝업 크기 이미지를 한 번에 받아 두고 이후에는 메모리에서 응답한다.
+ * 그 뒤 변경분 동기화로 바뀐 상점은 상점별로 다시 받는다.
+ */
+async function getStoreImages(storeId) {
+    if (changedStoreImages.has(storeId)) {
+        return getChangedStoreImages(storeId);
+    }
+    if (!storeImagesRequest) {
+        storeImagesRequest = fetch('/api/stores/images?size=popup')
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error('이미지 목록 로드 실패: ' + response.status);
+                }
+                return response.json();
+            })
+            .catch(error => {
+                // 실패한 요청은 다음 호출에서 다시 시도
+                storeImagesRequest = null;
+                throw error;
+            });
+    }
+    
+    try {
+        const imagesByStore = await storeImagesRequest;
+        return imagesByStore[storeId] || [];
+    } catch (error) {
+        console.error('이미지 목록 로드 오류:', error);
+        return null;
+    }
+}
+
+/**
+ * 변경분 동기화로 바뀐 상점의 이미지 목록 조회 (/api/stores/{storeId}/images)
+ */
+async function getChangedStoreImages(storeId) {
+    let request = changedStoreImages.get(storeId);
+    if (!request) {
+        request = fetch(`/api/stores/${storeId}/images?size=popup`)
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error('이미지 목록 로드 실패: ' + response.status);
+                }
+                return response.json();
+            })
+            .catch(error => {
+                // 실패한 요청은 다음 호출에서 다시 시도
+                if (changedStoreImages.get(storeId) === request) {
+                    changedStoreImages.set(storeId, null);
+                }
+                throw error;
+            });
+        changedStoreImages.set(storeId, request);
+    }
+    
+    try {
+        return await request;
+    } catch (error) {
+        console.error('이미지 목록 로드 오류:', error);
+        return null;
+    }
+}
+
 /**
  * 상점 이미지 로드
  */
@@ -435,13 +982,12 @@ async function loadStoreImages(storeId) {
     
     try {
         console.log('상점 이미지 로드 시작, storeId:', storeId);
-        const response = await fetch(`/api/stores/${storeId}/images`);
+        const images = await getStoreImages(storeId);
         
-        if (response.ok) {
-            const images = await response.json();
+        if (images) {
             console.log('이미지 데이터:', images);
             
-            if (images && images.length > 0) {
+            if (images.length > 0) {
                 images.forEach(image => {
                     const imageDiv = document.createElement('div');
                     imageDiv.className = 'popup-image-item';
@@ -465,7 +1011,6 @@ async function loadStoreImages(storeId) {
                 popupImages.innerHTML = '<div class="no-images">등록된 이미지가 없습니다.</div>';
             }
         } else {
-            console.log('이미지 로드 실패:', response.status);
             popupImages.innerHTML = '<div class="no-images">이미지를 불러올 수 없습니다.</div>';
         }
     } catch (error) {
@@ -481,7 +1026,7 @@ function focusOnStore(store) {
     if (!canvas) return;
 
     const container = document.querySelector('.map-canvas-container');
-    if (!container) return;
+    if (!container || !mapWidth) return;
 
     // 줌 레벨을 2배로 설정 (더 확대해서 보기)
     const targetUserScale = 2.0;
@@ -637,6 +1182,128 @@ async function searchStore() {
     }
 }
 
+/**
+ * 검색어 자동완성 요청 (입력이 멈춘 뒤 한 번만 요청)
+ */
+function requestSuggestions(query) {
+    clearTimeout(suggestTimer);
+    
+    const keyword = query.trim();
+    if (!keyword) {
+        hideSuggestions();
+        return;
+    }
+    
+    suggestTimer = setTimeout(async () => {
+        if (suggestController) {
+            suggestController.abort();
+        }
+        suggestController = new AbortController();
+        
+        try {
+            const response = await fetch(`/api/stores/suggest?q=${encodeURIComponent(keyword)}&limit=8`, {
+                signal: suggestController.signal
+            });
+            if (response.ok) {
+                renderSuggestions(await response.json());
+            }
+        } catch (error) {
+            if (error.name !== 'AbortError') {
+                console.error('Suggest error:', error);
+            }
+        }
+    }, 80);
+}
+
+/**
+ * 자동완성 목록 표시
+ */
+function renderSuggestions(items) {
+    const list = document.getElementById('searchSuggestions');
+    if (!list) return;
+    
+    suggestions = items;
+    activeSuggestion = -1;
+    list.innerHTML = '';
+    
+    items.forEach((item, index) => {
+        const li = document.createElement('li');
+        li.className = 'search-suggestion-item';
+        
+        const name = document.createElement('span');
+        name.textContent = item.storeName;
+        const zone = document.createElement('span');
+        zone.className = 'suggestion-zone';
+        zone.textContent = `${item.zoneNumber || '?'}지구 ${item.storeCode || ''}`;
+        li.appendChild(name);
+        li.appendChild(zone);
+        
+        // blur보다 먼저 처리되도록 mousedown 사용
+        li.addEventListener('mousedown', function(e) {
+            e.preventDefault();
+            selectSuggestion(index);
+        });
+        list.appendChild(li);
+    });
+    
+    list.classList.toggle('show', items.length > 0);
+}
+
+/**
+ * 자동완성 목록 숨기기
+ */
+function hideSuggestions() {
+    clearTimeout(suggestTimer);
+    if (suggestController) {
+        suggestController.abort();
+        suggestController = null;
+    }
+    suggestions = [];
+    activeSuggestion = -1;
+    
+    const list = document.getElementById('searchSuggestions');
+    if (list) {
+        list.classList.remove('show');
+        list.innerHTML = '';
+    }
+}
+
+/**
+ * 키보드로 자동완성 항목 이동
+ */
+function moveSuggestion(step) {
+    const list = document.getElementById('searchSuggestions');
+    if (!list || suggestions.length === 0) return;
+    
+    activeSuggestion = (activeSuggestion + step + suggestions.length) % suggestions.length;
+    Array.from(list.children).forEach((li, index) => {
+        li.classList.toggle('active', index === activeSuggestion);
+    });
+}
+
+/**
+ * 자동완성 항목 선택 시 해당 상점 표시
+ */
+function selectSuggestion(index) {
+    const item = suggestions[index];
+    if (!item) return;
+    
+    const searchInput = document.getElementById('searchInput');
+    if (searchInput) {
+        searchInput.value = item.storeName;
+    }
+    hideSuggestions();
+    
+    const store = allStores.find(s => s.storeId === item.storeId);
+    if (store) {
+        stores = [...allStores];
+        updateStoreList();
+        showStoreDetail(store);
+    } else {
+        searchStore();
+    }
+}
+
 /**
  * 검색 초기화 기능
  */
@@ -645,6 +1312,7 @@ function resetSearch() {
     if (searchInput) {
         searchInput.value = '';
     }
+    hideSuggestions();
     
     // 하이라이트 초기화
     highlightedStores = [];
@@ -714,17 +1382,8 @@ function handleMouseMove(e) {
     const imageX = (displayX - offsetX) / totalScale;
     const imageY = (displayY - offsetY) / totalScale;
     
-    // 마우스 위치에 있는 상점 찾기
-    const hoveredStore = stores.find(store => {
-        if (selectedZone !== 0 && store.zoneNumber !== selectedZone) {
-            return false;
-        }
-        const distance = Math.sqrt(
-            Math.pow(store.xCoordinate - imageX, 2) +
-            Math.pow(store.yCoordinate - imageY, 2)
-        );
-        return distance <= 60; // 호버 반경
-    });
+    // 마우스 위치에 있는 상점 찾기 (호버 반경 60)
+    const hoveredStore = findStoreAt(imageX, imageY, 60, selectedZone);
     
     // 호버 상태 변경 확인
     const newHoveredId = hoveredStore ? hoveredStore.storeId : null;
@@ -899,15 +1558,8 @@ function handleTouchEnd(e) {
             offset: { x: offsetX, y: offsetY }
         });
 
-        // 클릭된 상점 찾기
-        const clickedStore = stores.find(store => {
-            const distance = Math.sqrt(
-                Math.pow(store.xCoordinate - imageX, 2) +
-                Math.pow(store.yCoordinate - imageY, 2)
-            );
-            console.log(`상점 ${store.storeName}: 거리=${distance.toFixed(2)}, 좌표=(${store.xCoordinate}, ${store.yCoordinate})`);
-            return distance <= 100; // 클릭 반경
-        });
+        // 클릭된 상점 찾기 (터치 반경 100)
+        const clickedStore = findStoreAt(imageX, imageY, 100);
 
         if (clickedStore) {
             console.log('✓ 모바일에서 상점 선택:', clickedStore.storeName);
@@ -928,8 +1580,29 @@ document.addEventListener('DOMContentLoaded', function() {
     if (searchInput) {
         searchInput.addEventListener('keypress', function(e) {
             if (e.key === 'Enter') {
+                hideSuggestions();
                 searchStore();
             }
         });
+        
+        // 검색어 자동완성 (초성, 입력 중인 음절 포함)
+        searchInput.addEventListener('input', function() {
+            requestSuggestions(searchInput.value);
+        });
+        searchInput.addEventListener('keydown', function(e) {
+            if (e.key === 'ArrowDown') {
+                e.preventDefault();
+                moveSuggestion(1);
+            } else if (e.key === 'ArrowUp') {
+                e.preventDefault();
+                moveSuggestion(-1);
+            } else if (e.key === 'Enter' && activeSuggestion >= 0) {
+                e.preventDefault();
+                selectSuggestion(activeSuggestion);
+            } else if (e.key === 'Escape') {
+                hideSuggestions();
+            }
+        });
+        searchInput.addEventListener('blur', hideSuggestions);
     }
 });
@@ -0,0 +1,94 @@
+package com.market_map.market_map;
+
+import com.market_map.market_map.entity.Store;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테스트용 상점 생성기
+ * 예: {@code TestStores.store(1L, "행복 김밥").code("A-01").at(10, 20).build()}
+ */
+public final class TestStores {
+
+	private final Store store = new Store();
+
+	private TestStores(long id, String name) {
+		store.setStoreId(id);
+		store.setStoreName(name);
+	}
+
+	/**
+	 * 상점 ID와 상점명만 채운 생성기 (나머지 필드는 null)
+	 */
+	public static TestStores store(long id, String name) {
+		return new TestStores(id, name);
+	}
+
+	/**
+	 * 카탈로그 필드가 모두 같은 새 Store 객체 (내용은 같고 객체만 바뀐 변경 재현용)
+	 */
+	public static Store copyOf(Store original) {
+		Store copy = new Store();
+		copy.setStoreId(original.getStoreId());
+		copy.setStoreName(original.getStoreName());
+		copy.setStoreCode(original.getStoreCode());
+		copy.setZoneNumber(original.getZoneNumber());
+		copy.setPhoneNumber(original.getPhoneNumber());
+		copy.setAddress(original.getAddress());
+		copy.setDetailAddress(original.getDetailAddress());
+		copy.setXCoordinate(original.getXCoordinate());
+		copy.setYCoordinate(original.getYCoordinate());
+		copy.setMarkerRadius(original.getMarkerRadius());
+		copy.setBusinessHours(original.getBusinessHours());
+		copy.setDescription(original.getDescription());
+		copy.setIsActive(original.getIsActive());
+		copy.setCreatedAt(original.getCreatedAt());
+		copy.setUpdatedAt(original.getUpdatedAt());
+		return copy;
+	}
+
+	public TestStores code(String code) {
+		store.setStoreCode(code);
+		return this;
+	}
+
+	public TestStores phone(String phone) {
+		store.setPhoneNumber(phone);
+		return this;
+	}
+
+	public TestStores zone(Integer zone) {
+		store.setZoneNumber(zone);
+		return this;
+	}
+
+	public TestStores at(Integer x, Integer y) {
+		store.setXCoordinate(x);
+		store.setYCoordinate(y);
+		return this;
+	}
+
+	public TestStores radius(Integer radius) {
+		store.setMarkerRadius(radius);
+		return this;
+	}
+
+	public TestStores description(String description) {
+		store.setDescription(description);
+		return this;
+	}
+
+	public TestStores createdAt(LocalDateTime createdAt) {
+		store.setCreatedAt(createdAt);
+		return this;
+	}
+
+	public TestStores updatedAt(LocalDateTime updatedAt) {
+		store.setUpdatedAt(updatedAt);
+		return this;
+	}
+
+	public Store build() {
+		return store;
+	}
+}
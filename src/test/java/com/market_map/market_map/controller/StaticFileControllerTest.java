@@ -0,0 +1,143 @@
+package com.market_map.market_map.controller;
+
+import com.market_map.market_map.service.StaticFileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StaticFileControllerTest {
+
+	private static final String BODY = "0123456789abcdef";
+
+	private static final String PATH = "/uploads/stores/notice.txt";
+
+	@TempDir
+	Path webRoot;
+
+	private MockMvc mockMvc;
+
+	private Path file;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		file = webRoot.resolve("uploads/stores/notice.txt");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, BODY, StandardCharsets.UTF_8);
+
+		StaticFileService staticFileService = new StaticFileService();
+		ReflectionTestUtils.setField(staticFileService, "servletContext",
+				new MockServletContext(webRoot.toUri().toString(), new DefaultResourceLoader()));
+		ReflectionTestUtils.setField(staticFileService, "roots", new String[] {"/uploads/", "/assets/images/"});
+		ReflectionTestUtils.setField(staticFileService, "handleCacheSize", 0);
+
+		StaticFileController controller = new StaticFileController();
+		ReflectionTestUtils.setField(controller, "staticFileService", staticFileService);
+		ReflectionTestUtils.setField(controller, "sendfileThreshold", Long.MAX_VALUE);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	private String eTag() throws Exception {
+		return mockMvc.perform(get(PATH)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	@Test
+	void openEndedRangeReturnsWholeFileAsPartialContent() throws Exception {
+		mockMvc.perform(get(PATH).header(HttpHeaders.RANGE, "bytes=0-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-15/16"))
+				.andExpect(content().string(BODY));
+	}
+
+	@Test
+	void suffixRangeReturnsLastBytes() throws Exception {
+		mockMvc.perform(get(PATH).header(HttpHeaders.RANGE, "bytes=-4"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 12-15/16"))
+				.andExpect(content().string("cdef"));
+	}
+
+	@Test
+	void rangeEndPastEofIsClamped() throws Exception {
+		mockMvc.perform(get(PATH).header(HttpHeaders.RANGE, "bytes=10-999"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-15/16"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+				.andExpect(content().string("abcdef"));
+	}
+
+	@Test
+	void rangeStartingPastEofIsUnsatisfiable() throws Exception {
+		mockMvc.perform(get(PATH).header(HttpHeaders.RANGE, "bytes=16-20"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */16"));
+	}
+
+	@Test
+	void staleIfRangeReturnsFullContent() throws Exception {
+		mockMvc.perform(get(PATH)
+						.header(HttpHeaders.RANGE, "bytes=0-3")
+						.header(HttpHeaders.IF_RANGE, "\"0-0\""))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+				.andExpect(content().string(BODY));
+
+		mockMvc.perform(get(PATH)
+						.header(HttpHeaders.RANGE, "bytes=0-3")
+						.header(HttpHeaders.IF_RANGE, eTag()))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().string("0123"));
+	}
+
+	@Test
+	void weakIfNoneMatchReturnsNotModified() throws Exception {
+		String eTag = eTag();
+
+		mockMvc.perform(get(PATH).header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		mockMvc.perform(get(PATH).header(HttpHeaders.IF_NONE_MATCH, "W/\"other\""))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void olderPrecompressedSiblingIsIgnored() throws Exception {
+		Path gzip = StaticFileService.variantPath(file, StaticFileService.Encoding.GZIP);
+		Files.write(gzip, new byte[] {0x1f, (byte) 0x8b});
+		Instant now = Instant.now();
+		Files.setLastModifiedTime(gzip, FileTime.from(now.minusSeconds(60)));
+		Files.setLastModifiedTime(file, FileTime.from(now));
+
+		mockMvc.perform(get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(content().string(BODY));
+
+		// 원본보다 새로 만든 압축 파일은 사용
+		Files.setLastModifiedTime(gzip, FileTime.from(now.plusSeconds(60)));
+		MvcResult result = mockMvc.perform(get(PATH).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+				.andReturn();
+		assertThat(result.getResponse().getContentAsByteArray()).containsExactly(0x1f, 0x8b);
+	}
+}
@@ -0,0 +1,47 @@
+package com.market_map.market_map.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulJamoTest {
+
+	@Test
+	void decomposeSplitsSyllablesIntoCompatibilityJamo() {
+		assertThat(HangulJamo.decompose("김밥")).isEqualTo("ㄱㅣㅁㅂㅏㅂ");
+		assertThat(HangulJamo.decompose("가")).isEqualTo("ㄱㅏ");
+		assertThat(HangulJamo.decompose("힣")).isEqualTo("ㅎㅣㅎ");
+	}
+
+	@Test
+	void decomposeSplitsCompoundVowelsAndFinals() {
+		// 겹받침과 이중 모음은 입력 순서대로 나뉘므로 입력 중인 "달", "고"가 접두어가 됨
+		assertThat(HangulJamo.decompose("닭")).isEqualTo("ㄷㅏㄹㄱ");
+		assertThat(HangulJamo.decompose("과")).isEqualTo("ㄱㅗㅏ");
+		assertThat(HangulJamo.decompose("닭")).startsWith(HangulJamo.decompose("달"));
+		assertThat(HangulJamo.decompose("과")).startsWith(HangulJamo.decompose("고"));
+
+		// 직접 입력한 겹자모도 같은 방식으로 분해
+		assertThat(HangulJamo.decompose("ㄳㅘ")).isEqualTo("ㄱㅅㅗㅏ");
+	}
+
+	@Test
+	void nonHangulIsKept() {
+		assertThat(HangulJamo.decompose("A1-김")).isEqualTo("A1-ㄱㅣㅁ");
+		assertThat(HangulJamo.chosung("A1-김")).isEqualTo("A1-ㄱ");
+	}
+
+	@Test
+	void chosungKeepsInitialConsonants() {
+		assertThat(HangulJamo.chosung("김밥천국")).isEqualTo("ㄱㅂㅊㄱ");
+		assertThat(HangulJamo.chosung("까치")).isEqualTo("ㄲㅊ");
+	}
+
+	@Test
+	void syllableRange() {
+		assertThat(HangulJamo.isSyllable('가')).isTrue();
+		assertThat(HangulJamo.isSyllable('힣')).isTrue();
+		assertThat(HangulJamo.isSyllable('ㄱ')).isFalse();
+		assertThat(HangulJamo.isSyllable('a')).isFalse();
+	}
+}
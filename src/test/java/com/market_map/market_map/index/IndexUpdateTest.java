@@ -0,0 +1,144 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static com.market_map.market_map.TestStores.copyOf;
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexUpdateTest {
+
+	private static final String[] NAMES = {"행복 김밥", "김밥천국", "천국 떡볶이", "Coffee Lab", "김씨네 분식", "바다 횟집", "국수 나라"};
+
+	private static final String[] QUERIES = {"김", "김밥", "ㄱㅂ", "천국", "기", "a-", "cof", "떡볶", "ㅂ", "나라"};
+
+	private static List<Long> ids(List<Store> stores) {
+		return stores.stream().map(Store::getStoreId).toList();
+	}
+
+	@Test
+	void imageOnlyChangeSharesIndexes() {
+		List<Store> catalog = new ArrayList<>();
+		for (int i = 0; i < NAMES.length; i++) {
+			catalog.add(store(i + 1, NAMES[i])
+					.code("A-" + i)
+					.phone("02-000-000" + i)
+					.description(NAMES[i] + " 설명")
+					.at(i * 40, i * 30)
+					.build());
+		}
+		StoreSlots slots = StoreSlots.of(catalog);
+		KeywordIndex keyword = KeywordIndex.build(slots);
+
+		// 이미지 변경은 같은 내용의 새 Store 객체로 들어옴
+		catalog.set(2, copyOf(catalog.get(2)));
+		StoreSlots next = slots.update(catalog);
+		KeywordIndex updated = keyword.update(next);
+
+		// 상점명 접두 일치(3) > 상점명 부분 일치(2)
+		assertThat(ids(updated.search("천국"))).containsExactly(3L, 2L);
+		assertThat(updated.searchByName("천국").get(0)).isSameAs(catalog.get(2));
+	}
+
+	@Test
+	void removedSlotIsReusedByNextStore() {
+		List<Store> catalog = new ArrayList<>(List.of(
+				store(1, "가").at(0, 0).build(), store(2, "나").at(0, 0).build(), store(3, "다").at(0, 0).build()));
+		StoreSlots slots = StoreSlots.of(catalog);
+
+		catalog.remove(1);
+		StoreSlots removed = slots.update(catalog);
+		assertThat(removed.get(1)).isNull();
+		assertThat(removed.size()).isEqualTo(2);
+
+		catalog.add(store(4, "라").at(0, 0).build());
+		StoreSlots added = removed.update(catalog);
+		assertThat(added.get(1).getStoreId()).isEqualTo(4L);
+		assertThat(added.order(1)).isEqualTo(2);
+		assertThat(added.capacity()).isEqualTo(3);
+	}
+
+	@Test
+	void incrementalUpdatesMatchFreshBuild() {
+		Random random = new Random(42);
+		List<Store> catalog = new ArrayList<>();
+		long nextId = 1;
+		for (; nextId <= 30; nextId++) {
+			catalog.add(randomStore(random, nextId));
+		}
+
+		StoreSlots slots = StoreSlots.of(catalog);
+		KeywordIndex keyword = KeywordIndex.build(slots);
+		SpatialGridIndex spatial = SpatialGridIndex.build(slots, 32);
+		TypeaheadIndex typeahead = TypeaheadIndex.build(slots);
+
+		for (int step = 0; step < 200; step++) {
+			int operation = random.nextInt(4);
+			if (operation == 0 || catalog.isEmpty()) {
+				catalog.add(randomStore(random, nextId++));
+			} else if (operation == 1) {
+				catalog.remove(random.nextInt(catalog.size()));
+			} else if (operation == 2) {
+				int position = random.nextInt(catalog.size());
+				catalog.set(position, randomStore(random, catalog.get(position).getStoreId()));
+			} else {
+				int position = random.nextInt(catalog.size());
+				catalog.set(position, copyOf(catalog.get(position)));
+			}
+			catalog.sort(Comparator.comparing(Store::getStoreId));
+
+			slots = slots.update(catalog);
+			keyword = keyword.update(slots);
+			spatial = spatial.update(slots);
+			typeahead = typeahead.update(slots);
+
+			KeywordIndex freshKeyword = KeywordIndex.build(catalog);
+			SpatialGridIndex freshSpatial = SpatialGridIndex.build(catalog, 32);
+			TypeaheadIndex freshTypeahead = TypeaheadIndex.build(catalog);
+
+			assertThat(keyword.size()).isEqualTo(catalog.size());
+			assertThat(spatial.size()).isEqualTo(freshSpatial.size());
+			for (String query : QUERIES) {
+				assertThat(keyword.search(query)).containsExactlyElementsOf(freshKeyword.search(query));
+				assertThat(keyword.searchByPhone(query.replaceAll("\\D", "") + "1"))
+						.containsExactlyElementsOf(freshKeyword.searchByPhone(query.replaceAll("\\D", "") + "1"));
+				// 같은 순위의 순서는 번호를 따르므로 한도 안에 모두 들어오는 경우 추천 집합만 비교
+				List<Store> suggested = typeahead.suggest(query, TypeaheadIndex.MAX_SUGGESTIONS);
+				List<Store> freshSuggested = freshTypeahead.suggest(query, TypeaheadIndex.MAX_SUGGESTIONS);
+				if (freshSuggested.size() < TypeaheadIndex.MAX_SUGGESTIONS) {
+					assertThat(suggested).containsExactlyInAnyOrderElementsOf(freshSuggested);
+				} else {
+					assertThat(suggested).hasSize(TypeaheadIndex.MAX_SUGGESTIONS);
+				}
+			}
+			for (int probe = 0; probe < 5; probe++) {
+				int x = random.nextInt(600) - 50;
+				int y = random.nextInt(600) - 50;
+				assertThat(spatial.findNearest(x, y, 3)).containsExactlyElementsOf(freshSpatial.findNearest(x, y, 3));
+				assertThat(spatial.findWithinBox(x, y, 80)).containsExactlyElementsOf(freshSpatial.findWithinBox(x, y, 80));
+				assertThat(spatial.hitTest(x, y, 40)).isEqualTo(freshSpatial.hitTest(x, y, 40));
+			}
+			assertThat((long[]) spatial.toHitGrid().get("ids")).containsExactly((long[]) freshSpatial.toHitGrid().get("ids"));
+		}
+	}
+
+	private static Store randomStore(Random random, long id) {
+		String name = NAMES[random.nextInt(NAMES.length)];
+		// 일부 상점은 좌표 없음, 일부는 격자 밖으로 이동
+		Integer x = random.nextInt(10) == 0 ? null : random.nextInt(random.nextInt(8) == 0 ? 900 : 500);
+		Integer y = x == null ? null : random.nextInt(500);
+		return store(id, name)
+				.code("A-" + random.nextInt(20))
+				.phone("010-1" + random.nextInt(1000))
+				.description(name + " 설명")
+				.at(x, y)
+				.radius(5 + random.nextInt(20))
+				.build();
+	}
+}
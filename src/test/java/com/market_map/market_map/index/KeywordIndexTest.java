@@ -0,0 +1,66 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordIndexTest {
+
+	private static final List<Store> CATALOG = List.of(
+			store(1L, "행복 김밥").code("A-01").phone("02-123-4567").description("김밥 전문점").build(),
+			store(2L, "김밥천국").code("A-02").phone("02-555-0000").description("분식").build(),
+			store(3L, "천국 떡볶이").code("B-01").description("김밥도 판매").build(),
+			store(4L, "Coffee Lab").code("C-10").phone("010-9876-5432").build());
+
+	private static List<Long> ids(List<Store> stores) {
+		return stores.stream().map(Store::getStoreId).toList();
+	}
+
+	@Test
+	void searchRanksNameOverCodeOverDescription() {
+		KeywordIndex index = KeywordIndex.build(CATALOG);
+
+		// 상점명 접두 일치(2) > 상점명 부분 일치(1) > 설명 일치(3)
+		assertThat(ids(index.search("김밥"))).containsExactly(2L, 1L, 3L);
+	}
+
+	@Test
+	void searchIgnoresWhitespaceAndCase() {
+		KeywordIndex index = KeywordIndex.build(CATALOG);
+
+		assertThat(ids(index.searchByName("김밥 천국"))).containsExactly(2L);
+		assertThat(ids(index.searchByName("coffee"))).containsExactly(4L);
+		assertThat(ids(index.search("c-1"))).containsExactly(4L);
+	}
+
+	@Test
+	void longQueryIsVerifiedAgainstText() {
+		KeywordIndex index = KeywordIndex.build(CATALOG);
+
+		// 3-gram "행복김", "복김밥"은 모두 1번 상점에만 있지만 원문과 대조해 확인
+		assertThat(ids(index.searchByName("행복김밥"))).containsExactly(1L);
+		assertThat(index.searchByName("김밥천국떡")).isEmpty();
+	}
+
+	@Test
+	void phoneSearchComparesDigitsOnly() {
+		KeywordIndex index = KeywordIndex.build(CATALOG);
+
+		assertThat(ids(index.searchByPhone("1234567"))).containsExactly(1L);
+		assertThat(ids(index.searchByPhone("555"))).containsExactly(2L);
+		assertThat(index.searchByPhone("--")).isEmpty();
+	}
+
+	@Test
+	void blankQueryMatchesNothing() {
+		KeywordIndex index = KeywordIndex.build(CATALOG);
+
+		assertThat(index.searchByName(" ")).isEmpty();
+		assertThat(index.searchByName("　")).isEmpty();
+		assertThat(index.search(" ")).isEmpty();
+	}
+}
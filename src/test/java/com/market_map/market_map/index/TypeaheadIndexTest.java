@@ -0,0 +1,110 @@
+package com.market_map.market_map.index;
+
+import com.market_map.market_map.entity.Store;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeaheadIndexTest {
+
+	private static final List<Store> CATALOG = List.of(
+			store(1L, "김밥천국").code("A-01").build(),
+			store(2L, "행복 김밥").code("A-02").build(),
+			store(3L, "과일나라").code("B-01").build(),
+			store(4L, "김밥").code("G-01").build(),
+			store(5L, "고봉 민김밥").code("C-01").build());
+
+	private static List<Long> ids(List<Store> stores) {
+		return stores.stream().map(Store::getStoreId).toList();
+	}
+
+	@Test
+	void completeSyllablesMatchNamePrefixThenWordStart() {
+		TypeaheadIndex index = TypeaheadIndex.build(CATALOG);
+
+		// 상점명 시작 일치는 짧은 이름 순(4, 1), 그다음 단어 시작 일치(2)
+		assertThat(ids(index.suggest("김밥", 10))).containsExactly(4L, 1L, 2L);
+	}
+
+	@Test
+	void partialSyllableMatchesAsPrefix() {
+		TypeaheadIndex index = TypeaheadIndex.build(CATALOG);
+
+		// "김바"는 "김밥"을 입력하는 중
+		assertThat(ids(index.suggest("김바", 10))).containsExactly(4L, 1L, 2L);
+		// "고"는 "과"의 앞부분
+		assertThat(ids(index.suggest("고", 10))).containsExactly(3L, 5L);
+	}
+
+	@Test
+	void chosungMatchesAfterSyllableMatches() {
+		TypeaheadIndex index = TypeaheadIndex.build(CATALOG);
+
+		// 상점명 초성 일치(4, 1, 5: 짧은 이름 순) > 단어 초성 일치(2)
+		assertThat(ids(index.suggest("ㄱㅂ", 10))).containsExactly(4L, 1L, 5L, 2L);
+		assertThat(ids(index.suggest("ㅁㄱ", 10))).containsExactly(5L);
+		// 초성 뒤에 완성형 음절이 오면 초성 키와 일치하지 않음
+		assertThat(index.suggest("ㄱ밥", 10)).isEmpty();
+	}
+
+	@Test
+	void storeCodeMatchesLast() {
+		TypeaheadIndex index = TypeaheadIndex.build(CATALOG);
+
+		assertThat(ids(index.suggest("a-0", 10))).containsExactly(1L, 2L);
+		// 영문 "g"는 상점 코드 키에만 일치
+		assertThat(ids(index.suggest("g", 10))).containsExactly(4L);
+	}
+
+	@Test
+	void blankOrUnknownQueryReturnsNothing() {
+		TypeaheadIndex index = TypeaheadIndex.build(CATALOG);
+
+		assertThat(index.suggest(" ", 10)).isEmpty();
+		assertThat(index.suggest(null, 10)).isEmpty();
+		assertThat(index.suggest("없는상점", 10)).isEmpty();
+		assertThat(index.suggest("김밥", 0)).isEmpty();
+	}
+
+	@Test
+	void eachNodeKeepsTopTwentyByRank() {
+		// "김밥0"~"김밥9"는 3글자, "김밥10"~"김밥24"는 4글자
+		List<Store> catalog = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			catalog.add(store(i + 1, "김밥" + i).build());
+		}
+		TypeaheadIndex index = TypeaheadIndex.build(catalog);
+
+		List<Store> top = index.suggest("김", 50);
+		assertThat(top).hasSize(TypeaheadIndex.MAX_SUGGESTIONS);
+		assertThat(ids(top)).containsExactlyElementsOf(LongStream.rangeClosed(1, 20).boxed().toList());
+
+		// 더 깊은 노드는 그 아래 키만 보관 ("김밥2", "김밥20"~"김밥24")
+		assertThat(ids(index.suggest("김밥2", 50))).containsExactly(3L, 21L, 22L, 23L, 24L, 25L);
+		assertThat(ids(index.suggest("김", 5))).containsExactly(1L, 2L, 3L, 4L, 5L);
+	}
+
+	@Test
+	void removingTopStoreBackfillsFromChildren() {
+		List<Store> catalog = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			catalog.add(store(i + 1, "김밥" + i).build());
+		}
+		StoreSlots slots = StoreSlots.of(catalog);
+		TypeaheadIndex index = TypeaheadIndex.build(slots);
+
+		// 상위 20개에 있던 상점을 빼면 21번째가 올라옴
+		catalog.remove(0);
+		TypeaheadIndex updated = index.update(slots.update(catalog));
+
+		assertThat(ids(updated.suggest("김", 50))).containsExactlyElementsOf(LongStream.rangeClosed(2, 21).boxed().toList());
+		assertThat(updated.suggest("김밥0", 10)).isEmpty();
+		// 원래 인덱스는 그대로
+		assertThat(ids(index.suggest("김밥0", 10))).containsExactly(1L);
+	}
+}
@@ -0,0 +1,154 @@
+package com.market_map.market_map.service;
+
+import com.market_map.market_map.entity.Store;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.market_map.market_map.TestStores.copyOf;
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoreChangeLogTest {
+
+	private StoreCatalogSnapshot current;
+
+	private StoreService storeService;
+
+	private static StoreCatalogSnapshot next(StoreCatalogSnapshot previous, long version, List<Store> stores,
+											 long retainFrom) {
+		return StoreCatalogSnapshot.of(version, stores, Map.of(), Map.of(), previous,
+				previous.getChangeLog().advance(previous, stores, version, retainFrom));
+	}
+
+	private static List<Long> ids(List<Store> stores) {
+		return stores.stream().map(Store::getStoreId).toList();
+	}
+
+	private static long epochMilli(LocalDateTime dateTime) {
+		return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	@BeforeEach
+	void setUp() {
+		List<Store> stores = List.of(
+				store(1, "행복 김밥").code("A-1").build(),
+				store(2, "김밥천국").code("A-2").build(),
+				store(3, "바다 횟집").code("B-1").build());
+		current = StoreCatalogSnapshot.of(1_000, stores, Map.of(), Map.of());
+		StoreCatalogCache cache = new StoreCatalogCache() {
+			@Override
+			public StoreCatalogSnapshot getSnapshot() {
+				return current;
+			}
+		};
+		storeService = new StoreService();
+		ReflectionTestUtils.setField(storeService, "storeCatalogCache", cache);
+	}
+
+	@Test
+	void fullWhenSinceIsMissingOrOutsideLog() {
+		assertThat(storeService.getStoreChanges(null).isFull()).isTrue();
+		// floor(최초 버전)보다 오래된 버전
+		assertThat(storeService.getStoreChanges(999L).isFull()).isTrue();
+		// 이 서버가 만든 적 없는 버전
+		assertThat(storeService.getStoreChanges(1_001L).isFull()).isTrue();
+
+		StoreService.StoreChanges changes = storeService.getStoreChanges(1_000L);
+		assertThat(changes.isFull()).isFalse();
+		assertThat(changes.getVersion()).isEqualTo(1_000L);
+		assertThat(changes.getUpserts()).isEmpty();
+		assertThat(changes.getDeletes()).isEmpty();
+	}
+
+	@Test
+	void sinceReturnsOnlyStoresChangedAfterIt() {
+		List<Store> stores = new ArrayList<>(current.getStores());
+		stores.set(1, copyOf(stores.get(1)));
+		current = next(current, 2_000, stores, 0);
+
+		StoreService.StoreChanges changes = storeService.getStoreChanges(1_000L);
+		assertThat(changes.getVersion()).isEqualTo(2_000L);
+		assertThat(ids(changes.getUpserts())).containsExactly(2L);
+
+		// 버전은 스냅샷에서 가져오므로 받은 버전 이후에 반영된 변경은 다음 동기화에 포함됨
+		stores = new ArrayList<>(current.getStores());
+		stores.add(store(4, "국수 나라").build());
+		current = next(current, 3_000, stores, 0);
+		assertThat(ids(storeService.getStoreChanges(2_000L).getUpserts())).containsExactly(4L);
+		assertThat(ids(storeService.getStoreChanges(1_000L).getUpserts())).containsExactlyInAnyOrder(2L, 4L);
+		assertThat(storeService.getStoreChanges(3_000L).getUpserts()).isEmpty();
+	}
+
+	@Test
+	void deletedStoreIsKeptAsTombstoneUntilRecreated() {
+		List<Store> stores = new ArrayList<>(current.getStores());
+		Store removed = stores.remove(2);
+		current = next(current, 2_000, stores, 0);
+
+		StoreService.StoreChanges changes = storeService.getStoreChanges(1_000L);
+		assertThat(changes.getUpserts()).isEmpty();
+		assertThat(changes.getDeletes()).containsExactly(3L);
+		assertThat(storeService.getStoreChanges(2_000L).getDeletes()).isEmpty();
+
+		stores = new ArrayList<>(current.getStores());
+		stores.add(copyOf(removed));
+		current = next(current, 3_000, stores, 0);
+
+		changes = storeService.getStoreChanges(1_000L);
+		assertThat(ids(changes.getUpserts())).containsExactly(3L);
+		assertThat(changes.getDeletes()).isEmpty();
+		assertThat(current.getChangeLog().getTombstoneCount()).isZero();
+	}
+
+	@Test
+	void expiredTombstoneRaisesFloor() {
+		List<Store> stores = new ArrayList<>(current.getStores());
+		stores.remove(0);
+		current = next(current, 2_000, stores, 0);
+		assertThat(current.getChangeLog().getTombstoneCount()).isEqualTo(1);
+
+		// 삭제 기록이 보관 기간을 지나면 버리고, 그 이전 버전은 전체 목록을 받게 함
+		current = next(current, 5_000, new ArrayList<>(current.getStores()), 3_000);
+		assertThat(current.getChangeLog().getTombstoneCount()).isZero();
+		assertThat(current.getChangeLog().getFloor()).isEqualTo(2_000L);
+		assertThat(storeService.getStoreChanges(1_000L).isFull()).isTrue();
+		assertThat(storeService.getStoreChanges(2_000L).isFull()).isFalse();
+	}
+
+	@Test
+	void initialLoadAddsOverlapToDatabaseTimestamps() {
+		LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 2, 10, 0);
+		LocalDateTime deletedAt = LocalDateTime.of(2026, 3, 2, 11, 0);
+		long updated = epochMilli(updatedAt);
+		long deleted = epochMilli(deletedAt);
+
+		Store changed = store(1, "행복 김밥").createdAt(updatedAt.minusDays(1)).updatedAt(updatedAt).build();
+		Store created = store(2, "김밥천국").createdAt(updatedAt).build();
+		Store unknown = store(3, "바다 횟집").build();
+		List<Store> stores = List.of(changed, created, unknown);
+
+		long version = deleted + 60_000;
+		long floor = updated - 60_000;
+		StoreChangeLog log = StoreChangeLog.fromTimestamps(version, stores, Map.of(4L, deletedAt, 1L, deletedAt),
+				30_000, floor);
+		current = StoreCatalogSnapshot.of(version, stores, Map.of(), Map.of(), null, log);
+
+		// 수정 시각 이후 overlap 안에 받은 버전에도 다시 포함 (커밋이 늦게 끝난 변경 보정)
+		assertThat(ids(storeService.getStoreChanges(updated + 29_999).getUpserts())).containsExactlyInAnyOrder(1L, 2L, 3L);
+		// 시각을 모르는 상점은 적재 버전 전까지 포함
+		assertThat(ids(storeService.getStoreChanges(updated + 30_000).getUpserts())).containsExactly(3L);
+
+		// 활성 상점의 오래된 삭제 기록은 무시
+		assertThat(storeService.getStoreChanges(deleted + 29_999).getDeletes()).containsExactly(4L);
+		assertThat(storeService.getStoreChanges(deleted + 30_000).getDeletes()).isEmpty();
+		assertThat(storeService.getStoreChanges(version).getUpserts()).isEmpty();
+		assertThat(storeService.getStoreChanges(floor - 1).isFull()).isTrue();
+	}
+}
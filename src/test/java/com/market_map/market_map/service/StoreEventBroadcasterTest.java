@@ -0,0 +1,160 @@
+package com.market_map.market_map.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoreEventBroadcasterTest {
+
+	private static final Pattern STORE_ID = Pattern.compile("\"storeId\":(\\d+)");
+
+	private StoreEventBroadcaster broadcaster;
+
+	/**
+	 * 전송한 이벤트를 기록하는 응답 (release 전까지 전송을 멈추거나, broken이면 전송 실패)
+	 */
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final List<String> received = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final boolean broken;
+
+		private volatile boolean completed;
+
+		private RecordingEmitter(boolean blocked, boolean broken) {
+			this.broken = broken;
+			if (!blocked) {
+				release.countDown();
+			}
+		}
+
+		@Override
+		public void send(Set<DataWithMediaType> items) throws IOException {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			if (broken) {
+				throw new IOException("Broken pipe");
+			}
+			received.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		private List<Long> storeIds() {
+			return received.stream()
+					.map(STORE_ID::matcher)
+					.filter(Matcher::find)
+					.map(matcher -> Long.parseLong(matcher.group(1)))
+					.toList();
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("대기 시간 초과").isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private static StoreChangeEvent updated(long storeId) {
+		return new StoreChangeEvent(storeId, StoreChangeEvent.Type.UPDATED);
+	}
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new StoreEventBroadcaster();
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 10);
+		ReflectionTestUtils.setField(broadcaster, "timeoutMs", 60_000L);
+		ReflectionTestUtils.setField(broadcaster, "queueCapacity", 4);
+		ReflectionTestUtils.setField(broadcaster, "reconnectMs", 5_000L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void eventsAreDeliveredInPublishOrder() throws InterruptedException {
+		RecordingEmitter emitter = new RecordingEmitter(false, false);
+		broadcaster.register(emitter);
+		await(() -> emitter.received.size() == 1);
+		assertThat(emitter.received.get(0)).contains("retry:5000").contains(":connected");
+
+		for (long storeId = 1; storeId <= 50; storeId++) {
+			broadcaster.publish(updated(storeId));
+			// 대기열 한도(4) 안에서 최대한 몰아서 보냄
+			if (storeId % 3 == 0) {
+				long sent = storeId;
+				await(() -> emitter.storeIds().size() == sent);
+			}
+		}
+		await(() -> emitter.storeIds().size() == 50);
+
+		assertThat(emitter.storeIds()).isSorted().hasSize(50).doesNotHaveDuplicates();
+		assertThat(emitter.received.get(1)).contains("event:store-change").contains("\"type\":\"UPDATED\"");
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+		assertThat(broadcaster.getDroppedCount()).isZero();
+	}
+
+	@Test
+	void slowSubscriberIsDroppedWithoutDelayingOthers() throws InterruptedException {
+		RecordingEmitter slow = new RecordingEmitter(true, false);
+		RecordingEmitter fast = new RecordingEmitter(false, false);
+		broadcaster.register(slow);
+		broadcaster.register(fast);
+		await(() -> fast.received.size() == 1);
+
+		for (long storeId = 1; storeId <= 10; storeId++) {
+			broadcaster.publish(updated(storeId));
+			long sent = storeId;
+			await(() -> fast.storeIds().size() == sent);
+		}
+
+		assertThat(slow.completed).isTrue();
+		assertThat(fast.completed).isFalse();
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+		assertThat(broadcaster.getDroppedCount()).isEqualTo(1);
+		assertThat(fast.storeIds()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+	}
+
+	@Test
+	void brokenEmitterIsRemoved() throws InterruptedException {
+		RecordingEmitter broken = new RecordingEmitter(false, true);
+		RecordingEmitter healthy = new RecordingEmitter(false, false);
+		broadcaster.register(broken);
+		broadcaster.register(healthy);
+
+		// 연결 확인 주석 전송이 실패하면 구독 해제
+		await(() -> broadcaster.getSubscriberCount() == 1);
+
+		broadcaster.publish(updated(7));
+		await(() -> healthy.storeIds().size() == 1);
+		assertThat(healthy.storeIds()).containsExactly(7L);
+		assertThat(broken.received).isEmpty();
+		assertThat(broadcaster.getDroppedCount()).isZero();
+	}
+}
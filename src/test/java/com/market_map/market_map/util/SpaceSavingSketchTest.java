@@ -0,0 +1,83 @@
+package com.market_map.market_map.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceSavingSketchTest {
+
+	private static List<String> items(List<SpaceSavingSketch.Entry> entries) {
+		return entries.stream().map(SpaceSavingSketch.Entry::getItem).toList();
+	}
+
+	@Test
+	void countsAreExactBelowCapacity() {
+		SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+		sketch.add("김밥", 3);
+		sketch.add("떡볶이", 5);
+		sketch.add("김밥", 1);
+		sketch.add("순대", 4);
+
+		List<SpaceSavingSketch.Entry> top = sketch.top(10);
+		assertThat(items(top)).containsExactly("떡볶이", "김밥", "순대");
+		assertThat(top).extracting(SpaceSavingSketch.Entry::getCount).containsExactly(5L, 4L, 4L);
+		assertThat(top).extracting(SpaceSavingSketch.Entry::getError).containsOnly(0L);
+		assertThat(sketch.getTotal()).isEqualTo(13);
+	}
+
+	@Test
+	void newItemTakesOverSmallestCounter() {
+		SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+		sketch.add("a", 5);
+		sketch.add("b", 3);
+		sketch.add("c", 1);
+
+		// c는 b의 카운터(3)를 넘겨받아 4로 추정되고, 최대 3만큼 과대 추정
+		List<SpaceSavingSketch.Entry> top = sketch.top(5);
+		assertThat(items(top)).containsExactly("a", "c");
+		assertThat(top.get(1).getCount()).isEqualTo(4);
+		assertThat(top.get(1).getError()).isEqualTo(3);
+	}
+
+	@Test
+	void frequentItemsSurviveEviction() {
+		SpaceSavingSketch sketch = new SpaceSavingSketch(20);
+		Random random = new Random(7);
+		long hot = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (random.nextInt(10) == 0) {
+				sketch.add("인기", 1);
+				hot++;
+			} else {
+				sketch.add("검색어" + random.nextInt(500), 1);
+			}
+		}
+
+		// 전체의 1/capacity를 넘는 항목은 반드시 남고, 추정치 - error <= 실제 <= 추정치
+		SpaceSavingSketch.Entry first = sketch.top(1).get(0);
+		assertThat(first.getItem()).isEqualTo("인기");
+		assertThat(first.getCount()).isGreaterThanOrEqualTo(hot);
+		assertThat(first.getCount() - first.getError()).isLessThanOrEqualTo(hot);
+	}
+
+	@Test
+	void ignoresNullAndNonPositiveWeights() {
+		SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+		sketch.add(null, 1);
+		sketch.add("a", 0);
+		sketch.add("a", -3);
+
+		assertThat(sketch.top(5)).isEmpty();
+		assertThat(sketch.getTotal()).isZero();
+		assertThat(sketch.top(-1)).isEmpty();
+	}
+
+	@Test
+	void rejectsNonPositiveCapacity() {
+		assertThatThrownBy(() -> new SpaceSavingSketch(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,155 @@
+package com.market_map.market_map.util;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.Expose;
+import com.market_map.market_map.entity.Store;
+import com.market_map.market_map.entity.StoreImage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoreJsonWriterTest {
+
+	// 특수 문자: HTML 문자, 따옴표/역슬래시, 제어 문자, U+2028/U+2029, 보충 평면 문자, 짝 없는 서로게이트
+	private static final String TRICKY = "<b>\"Tom & Jerry's\"</b> a=b \\ / \u0000\u0001\u001f\u007f\n\r\t\b\f"
+			+ " \u2028\u2029 한글 😀𠀀 \uD800x \uDC00";
+
+	/**
+	 * StoreController와 같은 설정의 Gson (직렬화기가 쓰지 않는 @Expose(serialize = false) 필드는 제외)
+	 */
+	private static final Gson GSON = new GsonBuilder()
+			.setDateFormat("yyyy-MM-dd HH:mm:ss")
+			.registerTypeAdapter(LocalDateTime.class, (JsonSerializer<LocalDateTime>) (src, typeOfSrc, context) ->
+					new JsonPrimitive(src.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))))
+			.addSerializationExclusionStrategy(new ExclusionStrategy() {
+				@Override
+				public boolean shouldSkipField(FieldAttributes field) {
+					Expose expose = field.getAnnotation(Expose.class);
+					return expose != null && !expose.serialize();
+				}
+
+				@Override
+				public boolean shouldSkipClass(Class<?> type) {
+					return false;
+				}
+			})
+			.create();
+
+	private static byte[] gsonBytes(Object value) {
+		return GSON.toJson(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Store fullStore(long id, String text) {
+		Store store = store(id, text).code("A-" + id).zone(3).phone(text).at(120, 340).radius(12).description(text)
+				.createdAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5))
+				.updatedAt(LocalDateTime.of(2026, 12, 31, 23, 59, 9))
+				.build();
+		store.setAddress(text);
+		store.setDetailAddress(text);
+		store.setBusinessHours(text);
+		return store;
+	}
+
+	private static Map<String, Object> summary(Store store, String mainImageUrl) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("storeId", store.getStoreId());
+		summary.put("storeName", store.getStoreName());
+		summary.put("storeCode", store.getStoreCode());
+		summary.put("zoneNumber", store.getZoneNumber());
+		summary.put("phoneNumber", store.getPhoneNumber());
+		summary.put("xCoordinate", store.getXCoordinate());
+		summary.put("yCoordinate", store.getYCoordinate());
+		summary.put("markerRadius", store.getMarkerRadius());
+		summary.put("mainImageUrl", mainImageUrl);
+		return summary;
+	}
+
+	@Test
+	void storeMatchesGsonWithSpecialCharacters() {
+		Store store = fullStore(1L, TRICKY);
+
+		byte[] json = StoreJsonWriter.toByteArray(writer -> writer.writeStore(store), 0);
+
+		// Gson 기본 설정과 같은 이스케이프
+		assertThat(new String(json, StandardCharsets.UTF_8)).contains("\\u003cb\\u003e", "\\u0026", "\\u0027",
+				"\\u003d", "\\u0000", "\\n", "\\u2028", "😀");
+		assertThat(json).isEqualTo(gsonBytes(store));
+	}
+
+	@Test
+	void nullFieldsAreOmittedLikeGson() {
+		Store store = store(2L, "이름만").build();
+		store.setMarkerRadius(null);
+		store.setIsActive(null);
+		Store empty = store(3L, "").build();
+
+		assertThat(StoreJsonWriter.toByteArray(writer -> writer.writeStore(store), 0)).isEqualTo(gsonBytes(store));
+		assertThat(new String(StoreJsonWriter.toByteArray(writer -> writer.writeStore(store), 0), StandardCharsets.UTF_8))
+				.isEqualTo("{\"storeId\":2,\"storeName\":\"이름만\"}");
+		assertThat(StoreJsonWriter.toByteArray(writer -> writer.writeStore(empty), 0)).isEqualTo(gsonBytes(empty));
+	}
+
+	@Test
+	void payloadLargerThanBufferMatchesGson() {
+		// 멀티바이트 문자와 이스케이프가 8KB 버퍼 경계에 걸치도록 긴 문자열
+		StringBuilder text = new StringBuilder();
+		while (text.length() < 40_000) {
+			text.append(TRICKY).append("가나다");
+		}
+		Store large = fullStore(4L, text.toString());
+		assertThat(StoreJsonWriter.toByteArray(writer -> writer.writeStore(large), 0)).isEqualTo(gsonBytes(large));
+
+		List<Store> stores = new ArrayList<>();
+		Map<Long, String> mainImageUrls = new HashMap<>();
+		List<Map<String, Object>> expected = new ArrayList<>();
+		for (long id = 1; id <= 2_000; id++) {
+			Store store = id % 7 == 0 ? store(id, "이름만").build() : fullStore(id, "상점 " + id + " <" + TRICKY + ">");
+			String mainImageUrl = id % 3 == 0 ? "/uploads/stores/" + id + "/a&b.jpg" : null;
+			stores.add(store);
+			if (mainImageUrl != null) {
+				mainImageUrls.put(id, mainImageUrl);
+			}
+			expected.add(summary(store, mainImageUrl));
+		}
+
+		byte[] json = StoreJsonWriter.toByteArray(writer -> writer.writeStoreSummaries(stores, mainImageUrls), 0);
+		assertThat(json.length).isGreaterThan(8192 * 10);
+		assertThat(json).isEqualTo(gsonBytes(expected));
+	}
+
+	@Test
+	void imagesMatchGson() {
+		Map<String, Object> image = new LinkedHashMap<>();
+		image.put("storeId", 5L);
+		image.put("imageId", 9L);
+		image.put("imageUrl", "/uploads/stores/5/" + TRICKY + ".jpg");
+		image.put("thumbnailUrl", null);
+		image.put("popupUrl", "/uploads/stores/5/popup.jpg?a=1&b=2");
+		image.put("fullUrl", null);
+		image.put("imageType", StoreImage.ImageType.values()[0]);
+		image.put("displayOrder", 1);
+		image.put("isActive", true);
+		image.put("uploadedAt", LocalDateTime.of(2026, 5, 6, 7, 8, 9));
+		Map<Long, List<Map<String, Object>>> imagesByStore = new LinkedHashMap<>();
+		imagesByStore.put(5L, List.of(image, image));
+		imagesByStore.put(6L, List.of());
+
+		assertThat(StoreJsonWriter.toByteArray(writer -> writer.writeImagesByStore(imagesByStore), 0))
+				.isEqualTo(gsonBytes(imagesByStore));
+	}
+}
@@ -0,0 +1,165 @@
+package com.market_map.market_map.util;
+
+import com.market_map.market_map.entity.Store;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.market_map.market_map.TestStores.store;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoreListBinaryFormatTest {
+
+	/**
+	 * map.js decodeStoreList와 같은 방식으로 읽은 결과 (blob 전체를 BOM을 지우지 않고 디코딩한 뒤 UTF-16 위치로 자름)
+	 */
+	private static final class Decoded {
+
+		int flags;
+
+		int count;
+
+		String[] strings;
+
+		double[] ids;
+
+		int[][] ints;
+
+		int[][] stringRefs;
+
+		String string(int column, int row) {
+			int ref = stringRefs[column][row];
+			return ref == StoreListBinaryFormat.NULL_STRING ? null : strings[ref];
+		}
+	}
+
+	private static Decoded decode(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		byte[] magic = new byte[4];
+		buffer.get(magic);
+		assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("MMSL");
+		assertThat(buffer.get()).isEqualTo((byte) StoreListBinaryFormat.VERSION);
+
+		Decoded decoded = new Decoded();
+		decoded.flags = buffer.get();
+		buffer.getShort();
+		decoded.count = buffer.getInt();
+		int stringCount = buffer.getInt();
+		int blobLength = buffer.getInt();
+
+		int[] offsets = new int[stringCount + 1];
+		for (int i = 0; i <= stringCount; i++) {
+			offsets[i] = buffer.getInt();
+		}
+		byte[] blob = new byte[blobLength];
+		buffer.get(blob);
+		String text = new String(blob, StandardCharsets.UTF_8);
+		assertThat(offsets[stringCount]).isEqualTo(text.length());
+		decoded.strings = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			decoded.strings[i] = text.substring(offsets[i], offsets[i + 1]);
+		}
+
+		boolean wide = (decoded.flags & StoreListBinaryFormat.FLAG_WIDE_IDS) != 0;
+		decoded.ids = new double[decoded.count];
+		for (int i = 0; i < decoded.count; i++) {
+			decoded.ids[i] = wide ? buffer.getDouble() : Integer.toUnsignedLong(buffer.getInt());
+		}
+		decoded.ints = new int[4][decoded.count];
+		for (int[] column : decoded.ints) {
+			for (int i = 0; i < decoded.count; i++) {
+				column[i] = buffer.getInt();
+			}
+		}
+		int stringColumns = (decoded.flags & StoreListBinaryFormat.FLAG_MAIN_IMAGE) != 0 ? 4 : 3;
+		decoded.stringRefs = new int[stringColumns][decoded.count];
+		for (int[] column : decoded.stringRefs) {
+			for (int i = 0; i < decoded.count; i++) {
+				column[i] = buffer.getInt();
+			}
+		}
+		assertThat(buffer.remaining()).isZero();
+		return decoded;
+	}
+
+	@Test
+	void narrowIdsUseFourBytes() {
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(
+				store(1L, "가게").code("A-01").zone(1).at(10, 20).build(),
+				store(0xFFFFFFFFL, "상점").code("A-02").zone(2).at(30, 40).build()), null));
+
+		assertThat(decoded.flags & StoreListBinaryFormat.FLAG_WIDE_IDS).isZero();
+		assertThat(decoded.flags & StoreListBinaryFormat.FLAG_MAIN_IMAGE).isZero();
+		assertThat(decoded.ids).containsExactly(1d, 4294967295d);
+		assertThat(decoded.stringRefs).hasNumberOfRows(3);
+	}
+
+	@Test
+	void idAboveU32SwitchesToWideIds() {
+		long wideId = (1L << 40) + 7;
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(
+				store(1L, "가게").zone(1).at(10, 20).build(),
+				store(wideId, "상점").zone(1).at(10, 20).build()), null));
+
+		assertThat(decoded.flags & StoreListBinaryFormat.FLAG_WIDE_IDS).isEqualTo(StoreListBinaryFormat.FLAG_WIDE_IDS);
+		assertThat(decoded.ids).containsExactly(1d, (double) wideId);
+	}
+
+	@Test
+	void missingValuesUseSentinels() {
+		Store store = store(3L, "이름만").build();
+		store.setMarkerRadius(null);
+		Map<Long, String> mainImageUrls = new HashMap<>();
+
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(store), mainImageUrls));
+
+		assertThat(decoded.flags & StoreListBinaryFormat.FLAG_MAIN_IMAGE).isEqualTo(StoreListBinaryFormat.FLAG_MAIN_IMAGE);
+		for (int[] column : decoded.ints) {
+			assertThat(column[0]).isEqualTo(StoreListBinaryFormat.NULL_INT);
+		}
+		assertThat(decoded.string(0, 0)).isEqualTo("이름만");
+		assertThat(decoded.stringRefs[1][0]).isEqualTo(StoreListBinaryFormat.NULL_STRING);
+		assertThat(decoded.stringRefs[2][0]).isEqualTo(StoreListBinaryFormat.NULL_STRING);
+		assertThat(decoded.stringRefs[3][0]).isEqualTo(StoreListBinaryFormat.NULL_STRING);
+	}
+
+	@Test
+	void offsetsCountUtf16UnitsForNonBmpStrings() {
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(
+				store(1L, "커피😀하우스").code("B-1").phone("010-0000-0000").zone(1).at(0, 0).build()), null));
+
+		// 이모지는 UTF-8 4바이트, UTF-16 2단위이므로 오프셋이 바이트 기준이면 뒤 문자열이 어긋남
+		assertThat(decoded.string(0, 0)).isEqualTo("커피😀하우스");
+		assertThat(decoded.string(1, 0)).isEqualTo("B-1");
+		assertThat(decoded.string(2, 0)).isEqualTo("010-0000-0000");
+	}
+
+	@Test
+	void repeatedStringsAreStoredOnce() {
+		Map<Long, String> mainImageUrls = Map.of(1L, "/uploads/a.jpg", 2L, "/uploads/a.jpg");
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(
+				store(1L, "김밥").code("A-01").phone("02-111-1111").zone(1).at(0, 0).build(),
+				store(2L, "김밥").code("A-02").phone("02-111-1111").zone(1).at(0, 0).build()), mainImageUrls));
+
+		assertThat(decoded.strings).containsExactly("김밥", "A-01", "02-111-1111", "/uploads/a.jpg", "A-02");
+		assertThat(decoded.stringRefs[0][0]).isEqualTo(decoded.stringRefs[0][1]);
+		assertThat(decoded.stringRefs[2][0]).isEqualTo(decoded.stringRefs[2][1]);
+		assertThat(decoded.stringRefs[3][0]).isEqualTo(decoded.stringRefs[3][1]);
+		assertThat(decoded.string(1, 1)).isEqualTo("A-02");
+	}
+
+	@Test
+	void leadingByteOrderMarkIsKept() {
+		Decoded decoded = decode(StoreListBinaryFormat.encode(List.of(
+				store(1L, "\uFEFF상점").code("C-1").zone(1).at(0, 0).build()), null));
+
+		// 디코더가 BOM을 지우면 첫 문자열이 한 단위 짧아지고 이후 오프셋이 모두 밀림
+		assertThat(decoded.string(0, 0)).isEqualTo("\uFEFF상점");
+		assertThat(decoded.string(1, 0)).isEqualTo("C-1");
+	}
+}